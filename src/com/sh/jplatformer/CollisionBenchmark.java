@@ -0,0 +1,146 @@
+package com.sh.jplatformer;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.sh.jplatformer.world.map.Map;
+import com.sh.jplatformer.world.map.MapObject;
+import com.sh.jplatformer.world.map.collision.CollisionHelper;
+
+/**
+ * The {@code CollisionBenchmark} compares the swept tile test of the {@code CollisionHelper} with
+ * the former test that probed three points on the leading edge of a moving object. Both tests are
+ * run on the bounds of the objects of a loaded world with the same random movements, which are
+ * limited to half a cell because the former test was not valid beyond that.
+ * @author Stefan Hsemann
+ */
+
+class CollisionBenchmark
+{
+	// Constants
+	//==========
+	private static final int MOVES  = 1 << 16;
+	private static final int ROUNDS = 20;
+	
+	// Fields
+	//=======
+	private Map map;
+	private Rectangle[] bounds;
+	private float[] deltas;
+	private int sink;
+	
+	// Constructor
+	//============
+	/**
+	 * Creates a new {@code CollisionBenchmark}.
+	 * @param map the {@code Map} to test against.
+	 * @param mapObjects the objects whose bounds are moved.
+	 */
+	CollisionBenchmark( Map map, ArrayList<MapObject> mapObjects )
+	{
+		// Bounds
+		//=======
+		this.map = map;
+		bounds = new Rectangle[Math.max( 1, mapObjects.size() )];
+		
+		for ( int i = 0; i < bounds.length; i++ )
+		{
+			bounds[i] = i < mapObjects.size() ? new Rectangle( mapObjects.get( i ).getBounds() ) : new Rectangle( 0f, 0f, 1f, 1f );
+		}
+		
+		// Movements
+		//==========
+		Random random = new Random( 0L );
+		deltas = new float[MOVES];
+		
+		for ( int i = 0; i < MOVES; i++ )
+		{
+			deltas[i] = ( random.nextFloat() * 2f - 1f ) * Map.CELL_SIZE / 2f;
+		}
+	}
+	
+	// run
+	//====
+	/**
+	 * Runs both tests several times.
+	 * @return the best time per movement in nanoseconds of the probe test and the swept test.
+	 */
+	double[] run()
+	{
+		long probeTime = Long.MAX_VALUE;
+		long sweepTime = Long.MAX_VALUE;
+		
+		for ( int round = 0; round < ROUNDS; round++ )
+		{
+			long time = System.nanoTime();
+			this.runProbes();
+			probeTime = Math.min( probeTime, System.nanoTime() - time );
+			
+			time = System.nanoTime();
+			this.runSweeps();
+			sweepTime = Math.min( sweepTime, System.nanoTime() - time );
+		}
+		return ( new double[] { probeTime / (double) MOVES, sweepTime / (double) MOVES } );
+	}
+	
+	// getSink
+	//========
+	/**
+	 * @return the number of blocked movements, so the tests can not be optimized away.
+	 */
+	int getSink()
+	{
+		return ( sink );
+	}
+	
+	// runProbes
+	//==========
+	private void runProbes()
+	{
+		for ( int i = 0; i < MOVES; i++ )
+		{
+			Rectangle r = bounds[i % bounds.length];
+			float d = deltas[i];
+			boolean isBlocked;
+			
+			if ( ( i & 1 ) == 0 )
+			{
+				float y = d > 0f ? r.y + r.height + d : r.y + d;
+				isBlocked = map.isBlocked( r.x, y ) ||
+				            map.isBlocked( r.x + r.width - 0.001f, y ) ||
+				            map.isBlocked( r.x + r.width / 2f, y );
+			}
+			else
+			{
+				float x = d > 0f ? r.x + r.width + d : r.x + d;
+				isBlocked = map.isBlocked( x, r.y ) ||
+				            map.isBlocked( x, r.y + r.height - 0.001f ) ||
+				            map.isBlocked( x, r.y + r.height / 2f );
+			}
+			if ( isBlocked ) sink++;
+		}
+	}
+	
+	// runSweeps
+	//==========
+	private void runSweeps()
+	{
+		for ( int i = 0; i < MOVES; i++ )
+		{
+			Rectangle r = bounds[i % bounds.length];
+			float d = deltas[i];
+			int hit;
+			
+			if ( ( i & 1 ) == 0 )
+			{
+				hit = d > 0f ? CollisionHelper.sweepRowsUp( map, r, d ) : CollisionHelper.sweepRowsDown( map, r, d );
+			}
+			else
+			{
+				hit = d > 0f ? CollisionHelper.sweepColumnsEast( map, r, d ) : CollisionHelper.sweepColumnsWest( map, r, d );
+			}
+			if ( hit >= 0 ) sink++;
+		}
+	}
+}
@@ -25,8 +25,10 @@ public class Config
 	public boolean enableFullscreen;
 	public boolean enableVSync;
 	public boolean enableFixedViewport;
+	public boolean showRenderStats;
 	public boolean editor_showFps;
 	public boolean editor_showPowerInfo;
+	public boolean enableParallelUpdate;
 	public String  tmp_worldPath;
 	
 	// get
@@ -54,8 +56,10 @@ public class Config
 		enableFullscreen     = true;
 		enableVSync          = true;
 		enableFixedViewport  = true;
+		showRenderStats      = false;
 		editor_showFps       = true;
 		editor_showPowerInfo = true;
+		enableParallelUpdate = false;
 		
 		Lang.get().init( FileUtils.getRoot() + "resources/lang", "lang" );
 	}
@@ -85,11 +89,16 @@ public class Config
 			out.println( "enableFullscreen = "    + enableFullscreen );
 			out.println( "enableVSync = "         + enableVSync );
 			out.println( "enableFixedViewport = " + enableFixedViewport );
+			out.println( "showRenderStats = "     + showRenderStats );
 			out.println();
 
 			out.println( "# Editor" );
 			out.println( "editor_showFps = "       + editor_showFps );
 			out.println( "editor_showPowerInfo = " + editor_showPowerInfo );
+			out.println();
+			
+			out.println( "# Simulation" );
+			out.println( "enableParallelUpdate = " + enableParallelUpdate );
 		}
 		catch ( Exception e )
 		{
@@ -122,8 +131,10 @@ public class Config
 			enableFullscreen     = Boolean.parseBoolean( p.getProperty( "enableFullscreen" ) );
 			enableVSync          = Boolean.parseBoolean( p.getProperty( "enableVSync" ) );
 			enableFixedViewport  = Boolean.parseBoolean( p.getProperty( "enableFixedViewport" ) );
+			showRenderStats      = Boolean.parseBoolean( p.getProperty( "showRenderStats" ) );
 			editor_showFps       = Boolean.parseBoolean( p.getProperty( "editor_showFps" ) );
 			editor_showPowerInfo = Boolean.parseBoolean( p.getProperty( "editor_showPowerInfo" ) );
+			enableParallelUpdate = Boolean.parseBoolean( p.getProperty( "enableParallelUpdate" ) );
 			
 			// Apply locale
 			//=============
@@ -0,0 +1,401 @@
+package com.sh.jplatformer;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Random;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.sh.jplatformer.resources.World;
+import com.sh.jplatformer.util.FileUtils;
+import com.sh.jplatformer.util.Randomizer;
+import com.sh.jplatformer.world.TimerWheel;
+import com.sh.jplatformer.world.WorldController;
+import com.sh.jplatformer.world.WorldFile;
+import com.sh.jplatformer.world.WorldProfiler;
+import com.sh.jplatformer.world.WorldProfiler.Phase;
+import com.sh.jplatformer.world.map.Map;
+import com.sh.jplatformer.world.map.MapObject;
+import com.sh.jplatformer.world.map.MapObjectPool;
+
+/**
+ * This is the launching class of the headless simulation runner. It loads world files without a
+ * window, textures or audio, advances each world by a fixed number of simulation steps and prints
+ * a throughput report. Usage: {@code HeadlessLauncher [-ticks N] [-parallel] [-collision] [world files...]}.
+ * The {@code -collision} option adds a microbenchmark of the tile collision test to the report.
+ * If no world file is specified, all worlds in {@code WorldFile.FILE_DIR} are simulated, and the
+ * runner exits with a non-zero code if there are none. The report ends with a checksum of the
+ * final object states, which can be compared between runs.
+ * The area and line of sight queries of the collision layer are compared with the blocked cells
+ * of each world, and the runner exits with a non-zero code if they disagree. The same holds for a
+ * world atlas that was packed from other sources than the current ones.
+ * @author Stefan Hsemann
+ */
+
+public class HeadlessLauncher
+{
+	// Constants
+	//==========
+	private static final int DEFAULT_TICKS = 7200;
+	private static final int COLLISION_QUERIES = 2000;
+	private static final java.lang.management.ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+	
+	// main
+	//=====
+	public static void main( String[] args )
+	{
+		// Read arguments
+		//===============
+		int ticks = DEFAULT_TICKS;
+		boolean isParallel = false;
+		boolean isCollisionBenchmark = false;
+		ArrayList<String> paths = new ArrayList<String>();
+		
+		for ( int i = 0; i < args.length; i++ )
+		{
+			if ( args[i].equals( "-ticks" ) && i + 1 < args.length )
+			{
+				ticks = Integer.parseInt( args[++i] );
+			}
+			else if ( args[i].equals( "-parallel" ) )
+			{
+				isParallel = true;
+			}
+			else if ( args[i].equals( "-collision" ) )
+			{
+				isCollisionBenchmark = true;
+			}
+			else
+			{
+				paths.add( args[i] );
+			}
+		}
+		
+		// Default worlds
+		//===============
+		if ( paths.isEmpty() )
+		{
+			File[] files = FileUtils.listFiles( FileUtils.getRoot() + WorldFile.FILE_DIR, WorldFile.FILE_EXTENSION );
+			
+			if ( files != null )
+			{
+				for ( File f : files )
+				{
+					paths.add( f.getPath() );
+				}
+			}
+		}
+		if ( paths.isEmpty() )
+		{
+			System.err.println( "No world files found in " + new File( FileUtils.getRoot() + WorldFile.FILE_DIR ).getAbsolutePath() + "!" );
+			System.exit( 1 );
+		}
+		
+		// Headless environment
+		//=====================
+		GdxNativesLoader.load();
+		Gdx.files = new LwjglFiles();
+		
+		// World atlas
+		//============
+		boolean success = true;
+		
+		if ( Gdx.files.internal( World.WORLD_ATLAS ).exists() && World.isWorldAtlasValid() == false )
+		{
+			success = false;
+		}
+		
+		// Run worlds
+		//===========
+		for ( String path : paths )
+		{
+			success &= run( path, ticks, isParallel, isCollisionBenchmark );
+		}
+		System.exit( success ? 0 : 1 );
+	}
+	
+	// run
+	//====
+	/**
+	 * Loads and simulates a single world file and prints the report.
+	 * @param path the path of the world file.
+	 * @param ticks the number of simulation steps.
+	 * @param isParallel {@code true} to enable the parallel update.
+	 * @param isCollisionBenchmark {@code true} to run the collision benchmark after the simulation.
+	 * @return {@code false} if the world could not be loaded or a check failed.
+	 */
+	private static boolean run( String path, int ticks, boolean isParallel, boolean isCollisionBenchmark )
+	{
+		// Load world
+		//===========
+		WorldController worldController = new WorldController();
+		worldController.setParallel( isParallel );
+		Randomizer.setSeed( 0L );
+		
+		if ( WorldFile.loadWorld( path, worldController ) == false )
+		{
+			return ( false );
+		}
+		worldController.setLive( true );
+		
+		// Simulate
+		//=========
+		WorldProfiler profiler = worldController.getProfiler();
+		int objects = worldController.getMapObjects().size();
+		Map map = worldController.getMap();
+		
+		profiler.reset();
+		worldController.getTimerWheel().resetStatistics();
+		profiler.setEnabled( true );
+		long startBytes = getAllocatedBytes();
+		long startTime  = System.nanoTime();
+		
+		for ( int i = 0; i < ticks; i++ )
+		{
+			worldController.update( WorldController.STEP_TIME );
+		}
+		long time  = System.nanoTime() - startTime;
+		long bytes = getAllocatedBytes() - startBytes;
+		profiler.setEnabled( false );
+		
+		// Print report
+		//=============
+		double seconds = time / 1e9;
+		double total   = Math.max( 1L, profiler.getTotalTime() );
+		
+		System.out.println( new File( path ).getName() );
+		System.out.println( String.format( Locale.US, "  %-16s %d (%d simulated)", "Ticks", ticks, profiler.getSteps() ) );
+		System.out.println( String.format( Locale.US, "  %-16s %d -> %d (%d sleeping)", "Objects", objects, worldController.getMapObjects().size(), getSleepingObjects( worldController ) ) );
+		System.out.println( String.format( Locale.US, "  %-16s %d of %d allocated", "Map chunks", map.getAllocatedChunks(), map.getChunkColumns() * map.getChunkRows() ) );
+		System.out.println( String.format( Locale.US, "  %-16s %d for %d blocked cells", "Collision rects", map.getCollisionLayer().getRectangleCount(), getBlockedCells( map ) ) );
+		System.out.println( String.format( Locale.US, "  %-16s %.3f s", "Simulated time", worldController.getTime() / 1000.0 ) );
+		System.out.println( String.format( Locale.US, "  %-16s %.3f s", "Wall time", seconds ) );
+		System.out.println( String.format( Locale.US, "  %-16s %.1f", "Ticks/sec", ticks / seconds ) );
+		System.out.println( String.format( Locale.US, "  %-16s %d bytes (%.1f per tick)", "Allocated", bytes, bytes / (double) Math.max( 1, ticks ) ) );
+		
+		for ( Phase phase : Phase.values() )
+		{
+			long t = profiler.getTime( phase );
+			System.out.println( String.format( Locale.US, "  %-16s %9.3f ms %6.1f %%", phase.getTitle(), t / 1e6, t * 100.0 / total ) );
+		}
+		TimerWheel timerWheel = worldController.getTimerWheel();
+		System.out.println( String.format( Locale.US, "  %-16s %d (%.3f per tick, max %d)", "Timer events", timerWheel.getFiredTotal(), timerWheel.getFiredTotal() / (double) Math.max( 1, ticks ), timerWheel.getMaxFiredPerTick() ) );
+		
+		for ( MapObjectPool<?> pool : worldController.getMapObjectPools().values() )
+		{
+			String title = "Pool " + pool.getType().getSimpleName();
+			System.out.println( String.format( Locale.US, "  %-16s %d hits, %d misses", title, pool.getHits(), pool.getMisses() ) );
+		}
+		System.out.println( String.format( Locale.US, "  %-16s %08x", "Checksum", getChecksum( worldController ) ) );
+		
+		// Collision layer
+		//================
+		int mismatches = getCollisionLayerMismatches( map );
+		System.out.println( String.format( Locale.US, "  %-16s %d queries, %d mismatches", "Collision layer", COLLISION_QUERIES * 2, mismatches ) );
+		
+		// Collision benchmark
+		//====================
+		if ( isCollisionBenchmark == true )
+		{
+			CollisionBenchmark benchmark = new CollisionBenchmark( map, worldController.getMapObjects() );
+			double[] result = benchmark.run();
+			
+			System.out.println( String.format( Locale.US, "  %-16s %.1f ns/move (3 probes), %.1f ns/move (swept)", "Tile collision", result[0], result[1] ) );
+		}
+		System.out.println();
+		
+		return ( mismatches == 0 );
+	}
+	
+	// getCollisionLayerMismatches
+	//============================
+	/**
+	 * Compares the results of random area and line of sight queries of the collision layer with
+	 * the same tests against each blocked cell.
+	 * @return the number of queries with a different result.
+	 */
+	private static int getCollisionLayerMismatches( Map map )
+	{
+		Random random = new Random( 0L );
+		Rectangle area = new Rectangle();
+		Rectangle bounds = map.getMapBounds();
+		int mismatches = 0;
+		
+		for ( int i = 0; i < COLLISION_QUERIES; i++ )
+		{
+			// Area
+			//=====
+			area.width  = random.nextFloat() * Map.CELL_SIZE * 4f;
+			area.height = random.nextFloat() * Map.CELL_SIZE * 4f;
+			area.x = random.nextFloat() * ( bounds.width  - area.width  );
+			area.y = random.nextFloat() * ( bounds.height - area.height );
+			
+			if ( map.getCollisionLayer().overlaps( area ) != isAreaBlocked( map, area ) )
+			{
+				mismatches++;
+			}
+			
+			// Segment (every fourth one axis-aligned)
+			//========================================
+			float x1 = random.nextFloat() * bounds.width;
+			float y1 = random.nextFloat() * bounds.height;
+			float x2 = Math.max( 0f, Math.min( bounds.width  - 1f, x1 + ( random.nextFloat() - 0.5f ) * Map.CELL_SIZE * 16f ) );
+			float y2 = Math.max( 0f, Math.min( bounds.height - 1f, y1 + ( random.nextFloat() - 0.5f ) * Map.CELL_SIZE * 16f ) );
+			
+			if ( i % 4 == 1 ) x2 = x1;
+			if ( i % 4 == 3 ) y2 = y1;
+			
+			if ( map.getCollisionLayer().isSegmentBlocked( x1, y1, x2, y2 ) != isSegmentBlocked( map, x1, y1, x2, y2 ) )
+			{
+				mismatches++;
+			}
+		}
+		return ( mismatches );
+	}
+	
+	// isAreaBlocked
+	//==============
+	private static boolean isAreaBlocked( Map map, Rectangle area )
+	{
+		for ( int row = 0; row < map.getRows(); row++ )
+		{
+			for ( int col = 0; col < map.getColumns(); col++ )
+			{
+				float x = col * Map.CELL_SIZE;
+				float y = row * Map.CELL_SIZE;
+				
+				if ( map.isBlocked( col, row ) && x < area.x + area.width && x + Map.CELL_SIZE > area.x &&
+				                                  y < area.y + area.height && y + Map.CELL_SIZE > area.y )
+				{
+					return ( true );
+				}
+			}
+		}
+		return ( false );
+	}
+	
+	// isSegmentBlocked
+	//=================
+	/**
+	 * Clips the segment against every blocked cell.
+	 */
+	private static boolean isSegmentBlocked( Map map, float x1, float y1, float x2, float y2 )
+	{
+		float dx = x2 - x1;
+		float dy = y2 - y1;
+		
+		for ( int row = 0; row < map.getRows(); row++ )
+		{
+			for ( int col = 0; col < map.getColumns(); col++ )
+			{
+				if ( map.isBlocked( col, row ) == false )
+				{
+					continue;
+				}
+				float cx1 = col * Map.CELL_SIZE;
+				float cy1 = row * Map.CELL_SIZE;
+				float cx2 = cx1 + Map.CELL_SIZE;
+				float cy2 = cy1 + Map.CELL_SIZE;
+				float t1  = 0f;
+				float t2  = 1f;
+				
+				if ( dx == 0f )
+				{
+					if ( x1 < cx1 || x1 >= cx2 ) continue;
+				}
+				else
+				{
+					t1 = Math.max( t1, Math.min( ( cx1 - x1 ) / dx, ( cx2 - x1 ) / dx ) );
+					t2 = Math.min( t2, Math.max( ( cx1 - x1 ) / dx, ( cx2 - x1 ) / dx ) );
+				}
+				if ( dy == 0f )
+				{
+					if ( y1 < cy1 || y1 >= cy2 ) continue;
+				}
+				else
+				{
+					t1 = Math.max( t1, Math.min( ( cy1 - y1 ) / dy, ( cy2 - y1 ) / dy ) );
+					t2 = Math.min( t2, Math.max( ( cy1 - y1 ) / dy, ( cy2 - y1 ) / dy ) );
+				}
+				if ( t1 < t2 )
+				{
+					return ( true );
+				}
+			}
+		}
+		return ( false );
+	}
+	
+	// getChecksum
+	//============
+	/**
+	 * @return a hash of the positions and states of all objects.
+	 */
+	private static int getChecksum( WorldController worldController )
+	{
+		int hash = 1;
+		
+		for ( MapObject o : worldController.getMapObjects() )
+		{
+			hash = 31 * hash + Float.floatToIntBits( o.getBounds().x );
+			hash = 31 * hash + Float.floatToIntBits( o.getBounds().y );
+			hash = 31 * hash + ( o.isAlive() ? 1 : 0 );
+		}
+		return ( hash );
+	}
+	
+	// getAllocatedBytes
+	//==================
+	/**
+	 * @return the number of bytes allocated by the current thread so far, or {@code 0} if the
+	 * virtual machine does not count allocations. Allocations of parallel workers are not included.
+	 * The bean is looked up once, because the lookup itself allocates.
+	 */
+	private static long getAllocatedBytes()
+	{
+		if ( THREAD_BEAN instanceof com.sun.management.ThreadMXBean )
+		{
+			return ( Math.max( 0L, ( (com.sun.management.ThreadMXBean) THREAD_BEAN ).getThreadAllocatedBytes( Thread.currentThread().getId() ) ) );
+		}
+		return ( 0L );
+	}
+	
+	// getBlockedCells
+	//================
+	private static int getBlockedCells( Map map )
+	{
+		int count = 0;
+		
+		for ( int row = 0; row < map.getRows(); row++ )
+		{
+			for ( int col = 0; col < map.getColumns(); col++ )
+			{
+				if ( map.isBlocked( col, row ) )
+				{
+					count++;
+				}
+			}
+		}
+		return ( count );
+	}
+	
+	// getSleepingObjects
+	//===================
+	private static int getSleepingObjects( WorldController worldController )
+	{
+		int count = 0;
+		
+		for ( MapObject o : worldController.getMapObjects() )
+		{
+			if ( o.isSleeping() )
+			{
+				count++;
+			}
+		}
+		return ( count );
+	}
+}
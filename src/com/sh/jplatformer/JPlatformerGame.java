@@ -8,6 +8,8 @@ import com.sh.jplatformer.resources.Resources;
 import com.sh.jplatformer.screens.EditorScreen;
 import com.sh.jplatformer.screens.GameScreen;
 import com.sh.jplatformer.screens.MenuScreen;
+import com.sh.jplatformer.util.RenderBatch;
+import com.sh.jplatformer.util.RenderStats;
 import com.sh.jplatformer.util.Task;
 import com.sh.jplatformer.util.Transition;
 
@@ -39,10 +41,8 @@ public class JPlatformerGame extends Game
 	// Rendering
 	//==========
 	private SpriteBatch batch;
+	private RenderStats renderStats;
 	private Transition transition;
-	private float[] deltaTimes;
-	private int deltaIndex;
-	private float averageDelta;
 	
 	// Constructor
 	//============
@@ -51,8 +51,6 @@ public class JPlatformerGame extends Game
 		menuScreen   = new MenuScreen();
 		editorScreen = new EditorScreen();
 		gameScreen   = new GameScreen();
-		
-		deltaTimes = new float[16];
 	}
 	
 	// get
@@ -74,10 +72,6 @@ public class JPlatformerGame extends Game
 	@Override
 	public void render()
 	{
-		// Update delta times
-		//===================
-		updateDelta();
-		
 		// Render game and transition
 		//===========================
 		Gdx.gl20.glClearColor( 0.07f, 0.075f, 0.08f, 1f );
@@ -85,6 +79,11 @@ public class JPlatformerGame extends Game
 		super.render();
 		transition.update();
 		transition.draw();
+		
+		// Render statistics
+		//==================
+		renderStats.setLogging( Config.get().showRenderStats );
+		renderStats.endFrame();
 	}
 	
 	// create
@@ -104,7 +103,8 @@ public class JPlatformerGame extends Game
 		
 		// Batch and screen
 		//=================
-		batch = new SpriteBatch();
+		renderStats = new RenderStats();
+		batch = new RenderBatch( renderStats, RenderStats.Layer.UI );
 		transition = new Transition();
 		transition.transition( new Task()
 		{
@@ -131,56 +131,10 @@ public class JPlatformerGame extends Game
 		editorScreen.dispose();
 		gameScreen.dispose();
 		batch.dispose();
+		renderStats.setLogging( false );
 		Resources.dispose();
 	}
 	
-	// updateDelta
-	//============
-	private void updateDelta()
-	{
-		// Save previous frame times
-		//==========================
-		deltaIndex++;
-		if ( deltaIndex > deltaTimes.length - 1 )
-		{
-			deltaIndex = 0;
-		}
-		deltaTimes[deltaIndex] = Gdx.graphics.getDeltaTime();
-		
-		// Calculate average delta
-		//========================
-		float sum = 0f;
-		int index;
-		
-		for ( index = 0; index < deltaTimes.length; index++ )
-		{
-			sum += deltaTimes[index];
-		}
-		averageDelta = ( sum / index );
-	}
-	
-	// resetDelta
-	//===========
-	public void resetDelta()
-	{
-		deltaTimes = new float[16];
-		deltaIndex = 0;
-		averageDelta = 0f;
-	}
-	
-	// getAverageDelta
-	//================
-	public float getAverageDelta()
-	{
-		// Return actual delta during fade in
-		//===================================
-		if ( transition.getState() == Transition.State.FADE_IN )
-		{
-			averageDelta = Gdx.graphics.getDeltaTime();
-		}
-		return ( averageDelta );
-	}
-	
 	// getBatch
 	//=========
 	public SpriteBatch getBatch()
@@ -188,6 +142,16 @@ public class JPlatformerGame extends Game
 		return ( batch );
 	}
 	
+	// getRenderStats
+	//===============
+	/**
+	 * @return the {@code RenderStats} of the game batch and the game stage.
+	 */
+	public RenderStats getRenderStats()
+	{
+		return ( renderStats );
+	}
+	
 	// getTransition
 	//==============
 	public Transition getTransition()
@@ -114,6 +114,13 @@ public class Ui
 	//============
 	public Ui()
 	{
+		// Skip in headless mode
+		//======================
+		if ( Gdx.gl == null )
+		{
+			return;
+		}
+		
 		// Load atlas files
 		//=================
 		atlas_ui = new TextureAtlas( Gdx.files.internal( "resources/images/ui/ui.atlas" ) );
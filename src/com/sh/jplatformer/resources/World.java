@@ -1,6 +1,9 @@
 package com.sh.jplatformer.resources;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.TreeMap;
+import java.util.zip.CRC32;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
@@ -10,6 +13,10 @@ import com.badlogic.gdx.graphics.Texture.TextureFilter;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Page;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Region;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.sh.jplatformer.util.FileUtils;
 import com.sh.jplatformer.world.map.Map;
 
@@ -26,14 +33,27 @@ public class World
 	private static final String FOREGROUNDS_PATH = FileUtils.getRoot() + "resources/images/world/foreground/";
 	private static final String ENVR_SOUNDS_PATH = FileUtils.getRoot() + "resources/audio/environment/";
 	
+	// Constants: World atlas
+	//=======================
+	public static final String WORLD_ATLAS  = "resources/images/world/world.atlas";
+	public static final String ATLAS_HASH   = "resources/images/world/world.atlas.crc";
+	public static final String[] ATLAS_SOURCES = { "world_tiles.png", "world_water.png", "world_objects.atlas" };
+	public static final String TILE_REGION  = "tile";
+	public static final String WATER_REGION = "water";
+	public static final int TILES_PER_SET   = 20;
+	private static final Sprite[] NO_FRAMES = new Sprite[0];
+	
 	// Images: Map + objects
 	//======================
 	public Texture texture_water;
 	public Texture texture_tiles;
 	public TextureAtlas atlas_objects;
 	public Sprite[] water;
+	public TextureRegion[] waterStrips;
 	public Sprite[][] tiles;
 	public TreeMap<String, Sprite> objectSprites;
+	private ArrayList<Sprite[]> frameSets;
+	private HashMap<String, Integer> frameSetIds;
 	
 	// Images: Back- and foregrounds
 	//==============================
@@ -95,17 +115,40 @@ public class World
 	
 	// Constructor
 	//============
+	/**
+	 * Loads all world resources. The tiles, water strips and object frames are read from the world
+	 * atlas built by the {@code WorldAtlasPacker}. If the world atlas does not exist or was packed
+	 * from other sources than the current ones, they are read from their separate textures instead,
+	 * so an edited source is never hidden by an old atlas. If there is no graphics context (headless mode), no
+	 * textures are loaded and the object sprites are empty placeholders that only provide the frame
+	 * names. If there is no audio device, all sounds remain {@code null}.
+	 */
 	public World()
 	{
 		// Init sprites
 		//=============
-		this.initWater();
-		this.initTiles();
-		this.initObjectSprites();
+		if ( Gdx.gl != null && isWorldAtlasValid() )
+		{
+			this.initWorldAtlas();
+		}
+		else if ( Gdx.gl != null )
+		{
+			this.initWater();
+			this.initTiles();
+			this.initObjectSprites();
+		}
+		else
+		{
+			this.initHeadlessSprites();
+		}
+		this.initFrameSets();
 		
 		// Init audio
 		//===========
-		this.initSoundEffects();
+		if ( Gdx.audio != null )
+		{
+			this.initSoundEffects();
+		}
 		
 		// Update available environment files
 		//===================================
@@ -127,13 +170,15 @@ public class World
 		//=================
 		int size = Map.CELL_SIZE;
 		int max  = texture_water.getHeight() / ( size + 10 ) + 1;
-		water = new Sprite[max];
+		water       = new Sprite[max];
+		waterStrips = new TextureRegion[max];
 		
 		// Create array
 		//=============
 		for ( int i = 0; i < max; i++ )
 		{
-			water[i] = new Sprite( texture_water, 0, i * ( size + 10 ), size, size );
+			water[i]       = new Sprite( texture_water, 0, i * ( size + 10 ), size, size );
+			waterStrips[i] = new TextureRegion( texture_water, 0, i * ( size + 10 ), texture_water.getWidth(), size );
 		}
 	}
 	
@@ -150,13 +195,13 @@ public class World
 		//=================
 		int size = Map.CELL_SIZE;
 		int max  = texture_tiles.getHeight() / ( size + 10 ) + 1;
-		tiles    = new Sprite[max][20];
+		tiles    = new Sprite[max][TILES_PER_SET];
 		
 		// Create array
 		//=============
 		for ( int i = 0; i < max; i++ )
 		{
-			for ( int j = 0; j < 20; j++ )
+			for ( int j = 0; j < TILES_PER_SET; j++ )
 			{
 				tiles[i][j] = new Sprite( texture_tiles, j * ( size + 10 ), i * ( size + 10 ) + 2, size, size );
 			}
@@ -180,6 +225,193 @@ public class World
 		}
 	}
 	
+	// isWorldAtlasValid
+	//==================
+	/**
+	 * Compares the hash of the sources stored by the {@code WorldAtlasPacker} with the hash of the
+	 * current sources. An error is printed if the world atlas exists but is out of date.
+	 * @return {@code true} if the world atlas exists and is up to date, {@code false} otherwise.
+	 */
+	public static boolean isWorldAtlasValid()
+	{
+		FileHandle atlas = Gdx.files.internal( WORLD_ATLAS );
+		FileHandle hash  = Gdx.files.internal( ATLAS_HASH );
+		
+		if ( atlas.exists() == false )
+		{
+			return ( false );
+		}
+		if ( hash.exists() == false || hash.readString( "UTF-8" ).trim().equals( getAtlasSourceHash( atlas.parent() ) ) == false )
+		{
+			System.err.println( "World atlas is out of date, using the separate textures! Run 'mvn -Patlas process-classes' to pack it again." );
+			return ( false );
+		}
+		return ( true );
+	}
+	
+	// getAtlasSourceHash
+	//===================
+	/**
+	 * @param dir the directory of the world images.
+	 * @return a hash of the contents of all files the world atlas is packed from, i.e. the
+	 * {@code ATLAS_SOURCES} and the pages of the object atlas.
+	 */
+	public static String getAtlasSourceHash( FileHandle dir )
+	{
+		CRC32 crc = new CRC32();
+		
+		for ( String name : ATLAS_SOURCES )
+		{
+			crc.update( dir.child( name ).readBytes() );
+		}
+		TextureAtlasData data = new TextureAtlasData( dir.child( "world_objects.atlas" ), dir, false );
+		
+		for ( Page p : data.getPages() )
+		{
+			crc.update( p.textureFile.readBytes() );
+		}
+		return ( String.format( "%08x", crc.getValue() ) );
+	}
+	
+	// initWorldAtlas
+	//===============
+	/**
+	 * Reads the tiles, water strips and object frames from the pages of the world atlas. The tiles
+	 * and water strips are identified by their region name and index.
+	 */
+	private void initWorldAtlas()
+	{
+		// Read atlas
+		//===========
+		atlas_objects = new TextureAtlas( Gdx.files.internal( WORLD_ATLAS ) );
+		
+		// Count tile sets and water strips
+		//=================================
+		int tileSets = 0;
+		int strips   = 0;
+		
+		for ( AtlasRegion r : atlas_objects.getRegions() )
+		{
+			if ( r.name.equals( TILE_REGION  ) ) tileSets = Math.max( tileSets, r.index / TILES_PER_SET + 1 );
+			if ( r.name.equals( WATER_REGION ) ) strips   = Math.max( strips, r.index + 1 );
+		}
+		tiles       = new Sprite[tileSets][TILES_PER_SET];
+		water       = new Sprite[strips];
+		waterStrips = new TextureRegion[strips];
+		
+		// Read regions
+		//=============
+		objectSprites = new TreeMap<String, Sprite>();
+		
+		for ( AtlasRegion r : atlas_objects.getRegions() )
+		{
+			if ( r.name.equals( TILE_REGION ) )
+			{
+				tiles[r.index / TILES_PER_SET][r.index % TILES_PER_SET] = new Sprite( r );
+			}
+			else if ( r.name.equals( WATER_REGION ) )
+			{
+				water[r.index]       = new Sprite( r, 0, 0, Map.CELL_SIZE, Map.CELL_SIZE );
+				waterStrips[r.index] = r;
+			}
+			else
+			{
+				objectSprites.put( r.name, atlas_objects.createSprite( r.name ) );
+			}
+		}
+	}
+	
+	// initHeadlessSprites
+	//====================
+	/**
+	 * Reads the region names of the object atlas without loading any textures. Each region is
+	 * mapped to an empty {@code Sprite}, so {@code MapObjects} get the correct number of frames.
+	 */
+	private void initHeadlessSprites()
+	{
+		// Empty map sprites
+		//==================
+		water       = new Sprite[0];
+		waterStrips = new TextureRegion[0];
+		tiles       = new Sprite[0][TILES_PER_SET];
+		
+		// Read atlas data
+		//================
+		FileHandle atlasFile = Gdx.files.internal( "resources/images/world/world_objects.atlas" );
+		TextureAtlasData data = new TextureAtlasData( atlasFile, atlasFile.parent(), false );
+		
+		// Read regions
+		//=============
+		objectSprites = new TreeMap<String, Sprite>();
+		for ( Region r : data.getRegions() )
+		{
+			objectSprites.put( r.name, new Sprite() );
+		}
+	}
+	
+	// initFrameSets
+	//==============
+	/**
+	 * Groups the object sprites by the name in front of each underscore of their keys, so the
+	 * frames of a {@code MapObject} type can be looked up by a compact ID. The frames of each group
+	 * are sorted by their keys.
+	 */
+	private void initFrameSets()
+	{
+		// Group keys
+		//===========
+		TreeMap<String, ArrayList<Sprite>> groups = new TreeMap<String, ArrayList<Sprite>>();
+		
+		for ( String key : objectSprites.keySet() )
+		{
+			for ( int i = key.indexOf( '_' ); i >= 0; i = key.indexOf( '_', i + 1 ) )
+			{
+				String name = key.substring( 0, i );
+				
+				if ( groups.containsKey( name ) == false )
+				{
+					groups.put( name, new ArrayList<Sprite>() );
+				}
+				groups.get( name ).add( objectSprites.get( key ) );
+			}
+		}
+		
+		// Store frame sets
+		//=================
+		frameSets   = new ArrayList<Sprite[]>();
+		frameSetIds = new HashMap<String, Integer>();
+		
+		for ( String name : groups.keySet() )
+		{
+			frameSetIds.put( name, frameSets.size() );
+			frameSets.add( groups.get( name ).toArray( new Sprite[0] ) );
+		}
+	}
+	
+	// getFrameSetId
+	//==============
+	/**
+	 * @param name the name of a {@code MapObject} type.
+	 * @return the ID of the frames of the type or {@code -1} if there are no frames for the name.
+	 */
+	public int getFrameSetId( String name )
+	{
+		Integer id = frameSetIds.get( name );
+		return ( id != null ? id.intValue() : -1 );
+	}
+	
+	// getFrameSet
+	//============
+	/**
+	 * @param id the ID returned by {@link #getFrameSetId(String)}.
+	 * @return the frames of the ID. The array is shared by all objects of the type and must not
+	 * be modified. An empty array is returned for the ID {@code -1}.
+	 */
+	public Sprite[] getFrameSet( int id )
+	{
+		return ( id >= 0 ? frameSets.get( id ) : NO_FRAMES );
+	}
+	
 	// initSoundEffects
 	//=================
 	private void initSoundEffects()
@@ -467,9 +699,9 @@ public class World
 		
 		// Map textures + objects
 		//=======================
-		texture_water.dispose();
-		texture_tiles.dispose();
-		atlas_objects.dispose();
+		if ( texture_water != null ) texture_water.dispose();
+		if ( texture_tiles != null ) texture_tiles.dispose();
+		if ( atlas_objects != null ) atlas_objects.dispose();
 		
 		// Dispose audio
 		//==============
@@ -0,0 +1,349 @@
+package com.sh.jplatformer.resources;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+
+import javax.imageio.ImageIO;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Region;
+import com.sh.jplatformer.world.map.Map;
+
+/**
+ * The {@code WorldAtlasPacker} merges the tiles, the water strips and the object frames into the
+ * pages of a single texture atlas, so the world can be drawn without switching textures. It is
+ * run by the {@code atlas} profile of the Maven build, e.g. {@code mvn -Patlas process-classes}.
+ * Usage: {@code WorldAtlasPacker [directory]}. The directory defaults to the world image
+ * directory and must contain {@code world_tiles.png}, {@code world_water.png} and
+ * {@code world_objects.atlas}. The result is written to {@code world.atlas} and {@code world.png}
+ * (plus {@code world2.png} etc. if more than one page is needed). Tiles are identified by the
+ * region name {@code World.TILE_REGION} and the index {@code tileSetId * TILES_PER_SET + tileId},
+ * water strips by {@code World.WATER_REGION} and the water ID. All object regions keep their names.
+ * A hash of the sources is written to {@code world.atlas.crc}. The game only uses the atlas if
+ * the hash matches the current sources, so the packer must run again after a source was edited.
+ * @author Stefan Hsemann
+ */
+
+public class WorldAtlasPacker
+{
+	// Constants
+	//==========
+	private static final String DEFAULT_DIR = "resources/images/world";
+	private static final int PAGE_SIZE      = 2048;
+	private static final int PADDING        = 4;
+	
+	// Fields
+	//=======
+	private ArrayList<Item> items;
+	private ArrayList<BufferedImage> pages;
+	
+	// Item
+	//=====
+	/**
+	 * A region to pack, with the attributes of the source atlas that are written unchanged.
+	 */
+	private static class Item
+	{
+		private String name;
+		private int index;
+		private BufferedImage image;
+		private Region source;
+		private int page;
+		private int x;
+		private int y;
+	}
+	
+	// main
+	//=====
+	public static void main( String[] args ) throws IOException
+	{
+		File dir = new File( args.length > 0 ? args[0] : DEFAULT_DIR );
+		WorldAtlasPacker packer = new WorldAtlasPacker();
+		
+		packer.addTiles( ImageIO.read( new File( dir, "world_tiles.png" ) ) );
+		packer.addWater( ImageIO.read( new File( dir, "world_water.png" ) ) );
+		packer.addObjects( new File( dir, "world_objects.atlas" ) );
+		packer.pack();
+		packer.write( dir );
+		packer.writeSourceHash( dir );
+	}
+	
+	// Constructor
+	//============
+	public WorldAtlasPacker()
+	{
+		items = new ArrayList<Item>();
+		pages = new ArrayList<BufferedImage>();
+	}
+	
+	// addTiles
+	//=========
+	/**
+	 * Cuts the tiles from the tile texture the same way {@code World.initTiles()} does.
+	 * @param image the tile texture.
+	 */
+	public void addTiles( BufferedImage image )
+	{
+		int size = Map.CELL_SIZE;
+		int max  = image.getHeight() / ( size + 10 ) + 1;
+		
+		for ( int i = 0; i < max; i++ )
+		{
+			for ( int j = 0; j < World.TILES_PER_SET; j++ )
+			{
+				this.add( World.TILE_REGION, i * World.TILES_PER_SET + j, this.crop( image, j * ( size + 10 ), i * ( size + 10 ) + 2, size, size ), null );
+			}
+		}
+	}
+	
+	// addWater
+	//=========
+	/**
+	 * Cuts the water strips from the water texture. Each strip covers the full width of the
+	 * texture, so the surface can still be scrolled within the strip.
+	 * @param image the water texture.
+	 */
+	public void addWater( BufferedImage image )
+	{
+		int size = Map.CELL_SIZE;
+		int max  = image.getHeight() / ( size + 10 ) + 1;
+		
+		for ( int i = 0; i < max; i++ )
+		{
+			this.add( World.WATER_REGION, i, this.crop( image, 0, i * ( size + 10 ), image.getWidth(), size ), null );
+		}
+	}
+	
+	// addObjects
+	//===========
+	/**
+	 * Adds all regions of the object atlas.
+	 * @param atlasFile the object atlas.
+	 */
+	public void addObjects( File atlasFile ) throws IOException
+	{
+		FileHandle file = new FileHandle( atlasFile );
+		TextureAtlasData data = new TextureAtlasData( file, file.parent(), false );
+		HashMap<FileHandle, BufferedImage> images = new HashMap<FileHandle, BufferedImage>();
+		
+		for ( Region r : data.getRegions() )
+		{
+			BufferedImage image = images.get( r.page.textureFile );
+			
+			if ( image == null )
+			{
+				image = ImageIO.read( r.page.textureFile.file() );
+				images.put( r.page.textureFile, image );
+			}
+			int w = r.rotate ? r.height : r.width;
+			int h = r.rotate ? r.width  : r.height;
+			this.add( r.name, r.index, this.crop( image, r.left, r.top, w, h ), r );
+		}
+	}
+	
+	// pack
+	//=====
+	/**
+	 * Places all regions in rows of equal height, starting with the highest regions. A new page is
+	 * started when a page is full. All tiles must end up on the same page, because the
+	 * {@code TileCache} submits them with a single texture.
+	 */
+	public void pack()
+	{
+		// Sort by height
+		//===============
+		ArrayList<Item> sorted = new ArrayList<Item>( items );
+		Collections.sort( sorted, new Comparator<Item>()
+		{
+			@Override
+			public int compare( Item a, Item b )
+			{
+				return ( b.image.getHeight() - a.image.getHeight() );
+			}
+		} );
+		
+		// Place rows
+		//===========
+		int page = 0;
+		int x    = 0;
+		int y    = 0;
+		int rowHeight = 0;
+		
+		for ( Item item : sorted )
+		{
+			int w = item.image.getWidth();
+			int h = item.image.getHeight();
+			
+			if ( w > PAGE_SIZE || h > PAGE_SIZE )
+			{
+				throw new IllegalStateException( "Region too large: " + item.name );
+			}
+			if ( x + w > PAGE_SIZE )
+			{
+				x = 0;
+				y += rowHeight + PADDING;
+				rowHeight = 0;
+			}
+			if ( y + h > PAGE_SIZE )
+			{
+				page++;
+				x = 0;
+				y = 0;
+				rowHeight = 0;
+			}
+			item.page = page;
+			item.x    = x;
+			item.y    = y;
+			x += w + PADDING;
+			rowHeight = Math.max( rowHeight, h );
+		}
+		
+		// Check tiles
+		//============
+		int tilePage = -1;
+		
+		for ( Item item : items )
+		{
+			if ( item.name.equals( World.TILE_REGION ) )
+			{
+				if ( tilePage >= 0 && item.page != tilePage )
+				{
+					throw new IllegalStateException( "Tiles do not fit on a single page!" );
+				}
+				tilePage = item.page;
+			}
+		}
+		
+		// Draw pages
+		//===========
+		pages.clear();
+		
+		for ( Item item : items )
+		{
+			while ( pages.size() <= item.page )
+			{
+				pages.add( new BufferedImage( PAGE_SIZE, PAGE_SIZE, BufferedImage.TYPE_INT_ARGB ) );
+			}
+			pages.get( item.page ).getRaster().setRect( item.x, item.y, item.image.getRaster() );
+		}
+	}
+	
+	// write
+	//======
+	/**
+	 * Writes the atlas file and the page images.
+	 * @param dir the output directory.
+	 */
+	public void write( File dir ) throws IOException
+	{
+		try ( PrintStream out = new PrintStream( new File( dir, "world.atlas" ), "UTF-8" ) )
+		{
+			for ( int p = 0; p < pages.size(); p++ )
+			{
+				// Page
+				//=====
+				String pageName = p == 0 ? "world.png" : "world" + ( p + 1 ) + ".png";
+				ImageIO.write( pages.get( p ), "png", new File( dir, pageName ) );
+				
+				out.println();
+				out.println( pageName );
+				out.println( "size: " + PAGE_SIZE + "," + PAGE_SIZE );
+				out.println( "format: RGBA8888" );
+				out.println( "filter: Linear,Linear" );
+				out.println( "repeat: none" );
+				
+				// Regions
+				//========
+				for ( Item item : items )
+				{
+					if ( item.page == p )
+					{
+						this.writeRegion( out, item );
+					}
+				}
+			}
+		}
+	}
+	
+	// writeSourceHash
+	//================
+	/**
+	 * Writes the hash of the sources (see {@code World.getAtlasSourceHash}) next to the atlas.
+	 * @param dir the source and output directory.
+	 */
+	public void writeSourceHash( File dir ) throws IOException
+	{
+		try ( PrintStream out = new PrintStream( new File( dir, new File( World.ATLAS_HASH ).getName() ), "UTF-8" ) )
+		{
+			out.println( World.getAtlasSourceHash( new FileHandle( dir ) ) );
+		}
+	}
+	
+	// writeRegion
+	//============
+	private void writeRegion( PrintStream out, Item item )
+	{
+		Region r = item.source;
+		int w = r != null ? r.width  : item.image.getWidth();
+		int h = r != null ? r.height : item.image.getHeight();
+		
+		out.println( item.name );
+		out.println( "  rotate: " + ( r != null && r.rotate ) );
+		out.println( "  xy: " + item.x + ", " + item.y );
+		out.println( "  size: " + w + ", " + h );
+		
+		if ( r != null && r.splits != null )
+		{
+			out.println( "  split: " + r.splits[0] + ", " + r.splits[1] + ", " + r.splits[2] + ", " + r.splits[3] );
+			
+			if ( r.pads != null )
+			{
+				out.println( "  pad: " + r.pads[0] + ", " + r.pads[1] + ", " + r.pads[2] + ", " + r.pads[3] );
+			}
+		}
+		out.println( "  orig: " + ( r != null ? r.originalWidth : w ) + ", " + ( r != null ? r.originalHeight : h ) );
+		out.println( "  offset: " + ( r != null ? (int) r.offsetX : 0 ) + ", " + ( r != null ? (int) r.offsetY : 0 ) );
+		out.println( "  index: " + item.index );
+	}
+	
+	// add
+	//====
+	private void add( String name, int index, BufferedImage image, Region source )
+	{
+		Item item   = new Item();
+		item.name   = name;
+		item.index  = index;
+		item.image  = image;
+		item.source = source;
+		items.add( item );
+	}
+	
+	// crop
+	//=====
+	/**
+	 * Copies an area of an image. Pixels outside of the image remain transparent.
+	 */
+	private BufferedImage crop( BufferedImage image, int x, int y, int w, int h )
+	{
+		BufferedImage result = new BufferedImage( w, h, BufferedImage.TYPE_INT_ARGB );
+		
+		for ( int py = 0; py < h; py++ )
+		{
+			for ( int px = 0; px < w; px++ )
+			{
+				if ( x + px < image.getWidth() && y + py < image.getHeight() )
+				{
+					result.setRGB( px, py, image.getRGB( x + px, y + py ) );
+				}
+			}
+		}
+		return ( result );
+	}
+}
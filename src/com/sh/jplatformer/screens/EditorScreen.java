@@ -4,11 +4,13 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.sh.jplatformer.Config;
 import com.sh.jplatformer.JPlatformerGame;
 import com.sh.jplatformer.resources.Resources;
 import com.sh.jplatformer.ui.input.EditorInput;
 import com.sh.jplatformer.ui.input.PlayerInput;
 import com.sh.jplatformer.ui.stages.EditorStage;
+import com.sh.jplatformer.util.Task;
 import com.sh.jplatformer.world.WorldController;
 import com.sh.jplatformer.world.WorldRenderer;
 
@@ -39,7 +41,6 @@ public class EditorScreen implements Screen
 		// Update world
 		//=============
 		worldController.update();
-		playerInput.update();
 		
 		// Render world
 		//=============
@@ -100,15 +101,27 @@ public class EditorScreen implements Screen
 		// World
 		//======
 		worldController = new WorldController();
+		worldController.setParallel( Config.get().enableParallelUpdate );
 		worldRenderer = new WorldRenderer( worldController );
 		
 		// UI / input
 		//===========
-		editorStage      = new EditorStage( worldController );
+		editorStage      = new EditorStage( worldController, worldRenderer );
 		editorInput      = new EditorInput( editorStage );
 		playerInput      = new PlayerInput( worldController );
 		inputMultiplexer = new InputMultiplexer();
 		
+		// Apply player input once per simulation step
+		//============================================
+		worldController.setStepTask( new Task()
+		{
+			@Override
+			public void perform()
+			{
+				playerInput.update();
+			}
+		} );
+		
 		// Multiplexer setup
 		//==================
 		inputMultiplexer.addProcessor( editorStage );
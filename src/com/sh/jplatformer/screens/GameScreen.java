@@ -43,7 +43,6 @@ public class GameScreen implements Screen
 		// Update game
 		//============
 		worldController.update();
-		playerInput.update();
 		
 		// Process state
 		//==============
@@ -136,7 +135,6 @@ public class GameScreen implements Screen
 		{
 			worldController.setLive( true );
 			worldController.resetTimer();
-			JPlatformerGame.get().resetDelta();
 			JPlatformerGame.get().setPaused( false );
 		}
 		else
@@ -169,6 +167,7 @@ public class GameScreen implements Screen
 		// World
 		//======
 		worldController = new WorldController();
+		worldController.setParallel( Config.get().enableParallelUpdate );
 		worldRenderer = new WorldRenderer( worldController );
 		
 		// UI / input
@@ -178,6 +177,17 @@ public class GameScreen implements Screen
 		playerInput      = new PlayerInput( worldController );
 		inputMultiplexer = new InputMultiplexer();
 		
+		// Apply player input once per simulation step
+		//============================================
+		worldController.setStepTask( new Task()
+		{
+			@Override
+			public void perform()
+			{
+				playerInput.update();
+			}
+		} );
+		
 		// Multiplexer setup
 		//==================
 		inputMultiplexer.addProcessor( gameStage );
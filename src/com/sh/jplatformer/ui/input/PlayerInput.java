@@ -76,13 +76,6 @@ public class PlayerInput extends InputAdapter
 			player.setRunningAnimDirection( Direction.NEGATIVE );
 		}
 		
-		// Initialize jump
-		//================
-		if ( Gdx.input.isKeyJustPressed( Keys.SPACE ) )
-		{
-			jumpInitiated = true;
-		}
-		
 		// Perform initial jump
 		//=====================
 		if ( jumpInitiated )
@@ -91,7 +84,7 @@ public class PlayerInput extends InputAdapter
 			{
 				jumpInitiated = false;
 				jumpKeyDown = true;
-				jumpTimer = System.currentTimeMillis();
+				jumpTimer = worldController.getTime();
 				player.getAgility().jump();
 			}
 		}
@@ -100,7 +93,7 @@ public class PlayerInput extends InputAdapter
 		//============
 		if ( jumpKeyDown && player.getAgility().isJumping() )
 		{
-			player.getAgility().extendJump( System.currentTimeMillis() - jumpTimer, false );
+			player.getAgility().extendJump( worldController.getTime() - jumpTimer, false );
 		}
 		else if ( player.getAgility().isFalling() )
 		{
@@ -154,6 +147,13 @@ public class PlayerInput extends InputAdapter
 			return ( false );
 		}
 		
+		// Initialize jump
+		//================
+		if ( key == Keys.SPACE )
+		{
+			jumpInitiated = true;
+		}
+		
 		// Use
 		//====
 		if ( !useKeyDown && Gdx.input.isKeyPressed( Keys.UP ) )
@@ -12,6 +12,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.ScrollPane;
 import com.badlogic.gdx.scenes.scene2d.ui.TextField;
 import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import com.sh.jplatformer.Config;
 import com.sh.jplatformer.JPlatformerGame;
@@ -22,8 +23,9 @@ import com.sh.jplatformer.ui.input.EditorInput;
 import com.sh.jplatformer.util.Lang;
 import com.sh.jplatformer.world.WorldCamera;
 import com.sh.jplatformer.world.WorldController;
+import com.sh.jplatformer.world.WorldRenderer;
+import com.sh.jplatformer.world.map.CellRange;
 import com.sh.jplatformer.world.map.Map;
-import com.sh.jplatformer.world.map.MapCell;
 import com.sh.jplatformer.world.map.MapObject;
 
 /**
@@ -44,10 +46,11 @@ public class EditorStage extends Stage
 	{
 		NONE, ENVIRONMENT, CELLS, TRIGGERS, OBJECTS, ATTRIBUTES
 	}
-
+	
 	// World
 	//======
 	private WorldController worldController;
+	private WorldRenderer worldRenderer;
 	private WorldCamera worldCamera;
 	
 	// UI components
@@ -70,13 +73,14 @@ public class EditorStage extends Stage
 	//========
 	private Vector3 helperVector3;
 	private Rectangle helperRectangle;
-
+	
 	// Constructor
 	//============
 	/**
 	 * @param newWorldController the {@code WorldController} to modify.
+	 * @param newWorldRenderer the {@code WorldRenderer} that draws the world.
 	 */
-	public EditorStage( WorldController newWorldController )
+	public EditorStage( WorldController newWorldController, WorldRenderer newWorldRenderer )
 	{
 		// Viewport / camera
 		//==================
@@ -87,6 +91,7 @@ public class EditorStage extends Stage
 		//=================
 		worldController = newWorldController;
 		worldController.setLive( false );
+		worldRenderer   = newWorldRenderer;
 		
 		// Mouse drag
 		//===========
@@ -107,7 +112,7 @@ public class EditorStage extends Stage
 		sidebarWindow  = new SidebarWindow( Resources.UI.skin, worldController );
 		
 		this.addActor( sidebarWindow );		
-
+		
 		// Unselect text fields when mouse clicks
 		//=======================================
 		this.getRoot().addCaptureListener( new InputListener()
@@ -208,13 +213,16 @@ public class EditorStage extends Stage
 		//=========
 		if ( Config.get().editor_showFps == true )
 		{
+			String objects = worldRenderer.getDrawnObjects()  + " drawn, " +
+			                 worldRenderer.getCulledObjects() + " culled";
+			
 			if ( JPlatformerGame.get().isPaused() )
 			{
-				infoText.insert( 0, Gdx.graphics.getFramesPerSecond() + " FPS" + "\n" );
+				infoText.insert( 0, Gdx.graphics.getFramesPerSecond() + " FPS" + "\n" + objects + "\n" );
 			}
 			else
 			{
-				infoText.insert( 0, Gdx.graphics.getFramesPerSecond() + " FPS" );
+				infoText.insert( 0, Gdx.graphics.getFramesPerSecond() + " FPS" + "\n" + objects );
 			}
 		}
 		
@@ -271,58 +279,63 @@ public class EditorStage extends Stage
 			//========================
 			if ( ctrlPressed == false )
 			{
-				for ( MapCell cell : worldController.getVisibleCells() )
+				CellRange range = worldController.getVisibleCells();
+				
+				for ( int y = range.y1; y < range.y2; y++ )
 				{
-					// Get hovered cell position
-					//==========================
-					mouseArea.x      = Map.CELL_SIZE * cell.x;
-					mouseArea.y      = Map.CELL_SIZE * cell.y;
-					mouseArea.width  = Map.CELL_SIZE;
-					mouseArea.height = Map.CELL_SIZE;
-					
-					// Hover highlight
-					//================
-					if ( dragMode == DragMode.NONE && mouseArea.contains( mouse ) )
+					for ( int x = range.x1; x < range.x2; x++ )
 					{
-						this.drawDragArea( mouseArea, DragMode.HOVER );
-					}
-					
-					// Drag highlights
-					//================
-					if ( ( dragMode == DragMode.PLACE ||
-					       dragMode == DragMode.REMOVE ) && dragArea.overlaps( mouseArea ) )
-					{
-						// Placement highlight
-						//====================
-						if ( dragMode == DragMode.PLACE )
+						// Get hovered cell position
+						//==========================
+						mouseArea.x      = Map.CELL_SIZE * x;
+						mouseArea.y      = Map.CELL_SIZE * y;
+						mouseArea.width  = Map.CELL_SIZE;
+						mouseArea.height = Map.CELL_SIZE;
+						
+						// Hover highlight
+						//================
+						if ( dragMode == DragMode.NONE && mouseArea.contains( mouse ) )
 						{
-							this.drawDragArea( mouseArea, dragMode );
+							this.drawDragArea( mouseArea, DragMode.HOVER );
 						}
 						
-						// Removement highlight
-						//=====================
-						if ( dragMode == DragMode.REMOVE )
+						// Drag highlights
+						//================
+						if ( ( dragMode == DragMode.PLACE ||
+						       dragMode == DragMode.REMOVE ) && dragArea.overlaps( mouseArea ) )
 						{
-							if ( cell.tileSetId > -1 )
+							// Placement highlight
+							//====================
+							if ( dragMode == DragMode.PLACE )
 							{
 								this.drawDragArea( mouseArea, dragMode );
 							}
-						}
-					}	
+							
+							// Removement highlight
+							//=====================
+							if ( dragMode == DragMode.REMOVE )
+							{
+								if ( map.getTileSetId( x, y ) > -1 )
+								{
+									this.drawDragArea( mouseArea, dragMode );
+								}
+							}
+						}	
+					}
 				}
-
+				
 				// Mouse label setup
 				//==================
 				if ( dragMode != DragMode.NONE )
 				{
-					int x1 = map.getCellAt( dragArea.x, dragArea.y ).x;
-					int y1 = map.getCellAt( dragArea.x, dragArea.y ).y;
+					int x1 = map.getColumn( dragArea.x );
+					int y1 = map.getRow( dragArea.y );
 					
-					int x2 = map.getCellAt( mouse.x, mouse.y ).x;
-					int y2 = map.getCellAt( mouse.x, mouse.y ).y;
-			
-					if ( x2 == x1 ) x2 = map.getCellAt( dragArea.x + dragArea.width, dragArea.y + dragArea.height ).x;
-					if ( y2 == y1 ) y2 = map.getCellAt( dragArea.x + dragArea.width, dragArea.y + dragArea.height ).y;
+					int x2 = map.getColumn( mouse.x );
+					int y2 = map.getRow( mouse.y );
+					
+					if ( x2 == x1 ) x2 = map.getColumn( dragArea.x + dragArea.width );
+					if ( y2 == y1 ) y2 = map.getRow( dragArea.y + dragArea.height );
 					
 					int w = -( x1 - x2 ) + 1;
 					int h = -( y1 - y2 ) + 1;
@@ -391,16 +404,19 @@ public class EditorStage extends Stage
 			
 			// Highlight marked objects
 			//=========================
-			if ( worldController.getMarkedMapObjects().contains( o ) )
+			if ( worldController.isMarkedMapObject( o ) )
 			{	
 				this.drawDragArea( o.getBounds(), DragMode.HOVER );
 			}
-			
-			// Draw object power label
-			//========================
-			if ( Config.get().editor_showPowerInfo )
+		}
+		
+		// Draw object power labels (only power supported objects are visited)
+		//===================================================================
+		if ( Config.get().editor_showPowerInfo )
+		{
+			for ( Array<MapObject> channel : worldController.getPowerNetwork().getChannels().values() )
 			{
-				if ( o.isPowerSupported() == true )
+				for ( MapObject o : channel )
 				{
 					// Init text
 					//==========
@@ -529,7 +545,7 @@ public class EditorStage extends Stage
 			}
 		}
 	}
-
+	
 	// drawTriggerAreas
 	//=================
 	/**
@@ -551,7 +567,7 @@ public class EditorStage extends Stage
 		lbl_info.setX   ( drawArea.x + 5f );
 		lbl_info.setY   ( drawArea.y - 5f + drawArea.height - lbl_info.getHeight() );
 		lbl_info.draw   ( this.getBatch(), 1f );
-
+		
 		// Finish area
 		//============
 		this.drawDragArea( finish, DragMode.TRIGGER );
@@ -721,7 +737,7 @@ public class EditorStage extends Stage
 	{
 		return ( worldController );
 	}
-
+	
 	// getSidebarWindow
 	//=================
 	public SidebarWindow getSidebarWindow()
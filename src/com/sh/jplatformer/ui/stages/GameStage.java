@@ -7,11 +7,14 @@ import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Stack;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
+import com.sh.jplatformer.Config;
 import com.sh.jplatformer.JPlatformerGame;
 import com.sh.jplatformer.resources.Resources;
 import com.sh.jplatformer.ui.components.UiConstants;
 import com.sh.jplatformer.ui.menus.PauseMenu;
 import com.sh.jplatformer.ui.menus.RecordsMenu;
+import com.sh.jplatformer.util.RenderBatch;
+import com.sh.jplatformer.util.RenderStats;
 import com.sh.jplatformer.util.Time;
 import com.sh.jplatformer.world.WorldCamera;
 import com.sh.jplatformer.world.WorldController;
@@ -41,7 +44,9 @@ public class GameStage extends Stage
 	//=============
 	private Label lbl_popup;
 	private Label lbl_time;
+	private Label lbl_stats;
 	private Vector2 origin;
+	private StringBuilder statsText;
 	
 	// Score board
 	//============
@@ -57,7 +62,7 @@ public class GameStage extends Stage
 	{
 		// Viewport
 		//=========
-		super( new ScreenViewport() );
+		super( new ScreenViewport(), new RenderBatch( JPlatformerGame.get().getRenderStats(), RenderStats.Layer.UI ) );
 
 		// Menu setup
 		//===========
@@ -86,7 +91,9 @@ public class GameStage extends Stage
 		//=============
 		lbl_popup = new Label( "", Resources.UI.skin, "popup" );
 		lbl_time  = new Label( "", Resources.UI.skin, "popup_big" );
+		lbl_stats = new Label( "", Resources.UI.skin, "popup" );
 		origin    = new Vector2();
+		statsText = new StringBuilder();
 		
 		// World
 		//======
@@ -112,6 +119,13 @@ public class GameStage extends Stage
 				drawScoreBoard();
 				drawTime();
 			}
+			
+			// Render statistics
+			//==================
+			if ( Config.get().showRenderStats == true )
+			{
+				drawRenderStats();
+			}
 		}
 		this.getBatch().end();
 		super.draw();
@@ -214,6 +228,23 @@ public class GameStage extends Stage
 		lbl_time.draw( this.getBatch(), 1f );
 	}
 	
+	// drawRenderStats
+	//================
+	/**
+	 * Draws the flushes, texture binds, sprites and draw calls of each layer in the last frame.
+	 */
+	private void drawRenderStats()
+	{
+		statsText.delete( 0, statsText.length() );
+		JPlatformerGame.get().getRenderStats().appendText( statsText );
+		
+		lbl_stats.setText( statsText );
+		lbl_stats.pack();
+		lbl_stats.setX( UiConstants.BORDER_BIG );
+		lbl_stats.setY( UiConstants.BORDER_BIG );
+		lbl_stats.draw( this.getBatch(), 1f );
+	}
+	
 	// hideAllMenus
 	//=============
 	private void hideAllMenus()
@@ -293,4 +324,13 @@ public class GameStage extends Stage
 	{
 		this.getViewport().update( width, height, true );
 	}
-}
\ No newline at end of file
+	
+	// dispose
+	//========
+	@Override
+	public void dispose()
+	{
+		super.dispose();
+		this.getBatch().dispose();
+	}
+}
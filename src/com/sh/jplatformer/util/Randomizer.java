@@ -1,5 +1,7 @@
 package com.sh.jplatformer.util;
 
+import java.util.Random;
+
 /**
  * The {@code Randomizer} class provides static utility methods to generate random numbers of
  * several types within a specified range.
@@ -8,12 +10,27 @@ package com.sh.jplatformer.util;
 
 public class Randomizer
 {
+	// Generator
+	//==========
+	private static Random random = new Random();
+	
 	// Constructor
 	//============
 	private Randomizer()
 	{
 	}
 	
+	// setSeed
+	//========
+	/**
+	 * Sets the seed of the random number generator, so the following numbers are reproducible.
+	 * @param seed the new seed.
+	 */
+	public static void setSeed( long seed )
+	{
+		random.setSeed( seed );
+	}
+	
 	// getInt
 	//=======
 	/**
@@ -24,7 +41,7 @@ public class Randomizer
 	 */
 	public static int getInt( int min, int max )
 	{
-		return ( int ) ( min + Math.round( ( max - min ) * Math.random() ) );
+		return ( int ) ( min + Math.round( ( max - min ) * random.nextDouble() ) );
 	}
 	
 	// getLong
@@ -37,7 +54,7 @@ public class Randomizer
 	 */
 	public static long getLong( long min, long max )
 	{
-		return ( min + Math.round( ( max - min ) * Math.random() ) );
+		return ( min + Math.round( ( max - min ) * random.nextDouble() ) );
 	}
 	
 	// getFloat
@@ -50,7 +67,7 @@ public class Randomizer
 	 */
 	public static float getFloat( float min, float max )
 	{
-		return ( float ) ( min + ( max - min ) * Math.random() );
+		return ( float ) ( min + ( max - min ) * random.nextDouble() );
 	}
 	
 	// getDouble
@@ -63,6 +80,6 @@ public class Randomizer
 	 */
 	public static double getDouble( double min, double max )
 	{
-		return ( min + ( max - min ) * Math.random() );
+		return ( min + ( max - min ) * random.nextDouble() );
 	}
 }
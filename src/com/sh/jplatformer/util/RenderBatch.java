@@ -0,0 +1,197 @@
+package com.sh.jplatformer.util;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Affine2;
+import com.sh.jplatformer.util.RenderStats.Layer;
+
+/**
+ * The {@code RenderBatch} is a {@code SpriteBatch} that reports its flushes, texture switches and
+ * draw calls to a {@code RenderStats} instance. All counts are assigned to the current layer,
+ * which is set by the code that draws. Draw methods of the {@code SpriteBatch} that call other
+ * draw methods are only counted once.
+ * @author Stefan Hsemann
+ */
+
+public class RenderBatch extends SpriteBatch
+{
+	// Fields
+	//=======
+	private RenderStats renderStats;
+	private Layer layer;
+	private int depth;
+	
+	// Constructor
+	//============
+	/**
+	 * @param renderStats the {@code RenderStats} to report to.
+	 * @param layer the initial layer.
+	 */
+	public RenderBatch( RenderStats renderStats, Layer layer )
+	{
+		this.renderStats = renderStats;
+		this.layer       = layer;
+	}
+	
+	// setLayer
+	//=========
+	/**
+	 * Sets the layer of the following draw calls. The sprites that are still pending are counted
+	 * for the layer that submits them to the GPU.
+	 * @param layer the layer.
+	 */
+	public void setLayer( Layer layer )
+	{
+		this.layer = layer;
+	}
+	
+	// getLayer
+	//=========
+	public Layer getLayer()
+	{
+		return ( layer );
+	}
+	
+	// getRenderStats
+	//===============
+	public RenderStats getRenderStats()
+	{
+		return ( renderStats );
+	}
+	
+	// flush
+	//======
+	@Override
+	public void flush()
+	{
+		int calls = renderCalls;
+		super.flush();
+		
+		if ( renderCalls != calls )
+		{
+			renderStats.countFlush( layer );
+		}
+	}
+	
+	// switchTexture
+	//==============
+	@Override
+	protected void switchTexture( Texture texture )
+	{
+		renderStats.countBind( layer );
+		super.switchTexture( texture );
+	}
+	
+	// draw
+	//=====
+	@Override
+	public void draw( Texture texture, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY )
+	{
+		this.enter( 1 );
+		super.draw( texture, x, y, originX, originY, width, height, scaleX, scaleY, rotation, srcX, srcY, srcWidth, srcHeight, flipX, flipY );
+		depth--;
+	}
+	
+	@Override
+	public void draw( Texture texture, float x, float y, float width, float height, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY )
+	{
+		this.enter( 1 );
+		super.draw( texture, x, y, width, height, srcX, srcY, srcWidth, srcHeight, flipX, flipY );
+		depth--;
+	}
+	
+	@Override
+	public void draw( Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight )
+	{
+		this.enter( 1 );
+		super.draw( texture, x, y, srcX, srcY, srcWidth, srcHeight );
+		depth--;
+	}
+	
+	@Override
+	public void draw( Texture texture, float x, float y, float width, float height, float u, float v, float u2, float v2 )
+	{
+		this.enter( 1 );
+		super.draw( texture, x, y, width, height, u, v, u2, v2 );
+		depth--;
+	}
+	
+	@Override
+	public void draw( Texture texture, float x, float y )
+	{
+		this.enter( 1 );
+		super.draw( texture, x, y );
+		depth--;
+	}
+	
+	@Override
+	public void draw( Texture texture, float x, float y, float width, float height )
+	{
+		this.enter( 1 );
+		super.draw( texture, x, y, width, height );
+		depth--;
+	}
+	
+	@Override
+	public void draw( Texture texture, float[] spriteVertices, int offset, int count )
+	{
+		this.enter( count / 20 );
+		super.draw( texture, spriteVertices, offset, count );
+		depth--;
+	}
+	
+	@Override
+	public void draw( TextureRegion region, float x, float y )
+	{
+		this.enter( 1 );
+		super.draw( region, x, y );
+		depth--;
+	}
+	
+	@Override
+	public void draw( TextureRegion region, float x, float y, float width, float height )
+	{
+		this.enter( 1 );
+		super.draw( region, x, y, width, height );
+		depth--;
+	}
+	
+	@Override
+	public void draw( TextureRegion region, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation )
+	{
+		this.enter( 1 );
+		super.draw( region, x, y, originX, originY, width, height, scaleX, scaleY, rotation );
+		depth--;
+	}
+	
+	@Override
+	public void draw( TextureRegion region, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation, boolean clockwise )
+	{
+		this.enter( 1 );
+		super.draw( region, x, y, originX, originY, width, height, scaleX, scaleY, rotation, clockwise );
+		depth--;
+	}
+	
+	@Override
+	public void draw( TextureRegion region, float width, float height, Affine2 transform )
+	{
+		this.enter( 1 );
+		super.draw( region, width, height, transform );
+		depth--;
+	}
+	
+	// enter
+	//======
+	/**
+	 * Counts a draw call unless it was made by another draw method of this batch.
+	 * @param sprites the number of sprites of the call.
+	 */
+	private void enter( int sprites )
+	{
+		if ( depth++ == 0 )
+		{
+			renderStats.countCall( layer, sprites );
+		}
+	}
+}
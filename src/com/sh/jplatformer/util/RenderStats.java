@@ -0,0 +1,322 @@
+package com.sh.jplatformer.util;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * The {@code RenderStats} count the flushes, texture binds, sprites and render calls of the
+ * {@code RenderBatch} instances per render layer. The counts of the current frame are kept until
+ * {@link #endFrame()} is called, which makes them available as the counts of the last frame. If
+ * logging is enabled, the average counts per frame are written to a CSV file once per second. The
+ * file is moved to a backup file when it reaches {@code MAX_ROWS} rows, so the log never holds
+ * more than the two most recent hours.
+ * @author Stefan Hsemann
+ */
+
+public class RenderStats
+{
+	// Layers
+	//=======
+	public enum Layer
+	{
+		BACKGROUND ( "Background" ),
+		FOREGROUND ( "Foreground" ),
+		TILES      ( "Tiles"      ),
+		OBJECTS    ( "Objects"    ),
+		WATER      ( "Water"      ),
+		UI         ( "UI"         );
+		
+		private final String title;
+		
+		private Layer( String title )
+		{
+			this.title = title;
+		}
+		
+		public String getTitle()
+		{
+			return ( title );
+		}
+	}
+	
+	// Constants
+	//==========
+	public static final String logPath    = FileUtils.getRoot() + "logs/render_stats.csv";
+	public static final String backupPath = FileUtils.getRoot() + "logs/render_stats.old.csv";
+	private static final int MAX_ROWS     = 3600;
+	private static final int FLUSHES      = 0;
+	private static final int BINDS        = 1;
+	private static final int SPRITES      = 2;
+	private static final int CALLS        = 3;
+	private static final int COUNTERS     = 4;
+	
+	// Fields
+	//=======
+	private int[] frameCounts;
+	private int[] lastCounts;
+	private long[] intervalCounts;
+	private int intervalFrames;
+	private long intervalStart;
+	
+	// Log
+	//====
+	private boolean isLogging;
+	private PrintStream log;
+	private int logRows;
+	private boolean hasLogError;
+	
+	// Constructor
+	//============
+	public RenderStats()
+	{
+		frameCounts    = new int[Layer.values().length * COUNTERS];
+		lastCounts     = new int[Layer.values().length * COUNTERS];
+		intervalCounts = new long[Layer.values().length * COUNTERS];
+		intervalStart  = System.nanoTime();
+	}
+	
+	// countFlush
+	//===========
+	/**
+	 * Counts a flush that sent vertices to the GPU.
+	 * @param layer the layer that was drawn during the flush.
+	 */
+	public void countFlush( Layer layer )
+	{
+		frameCounts[layer.ordinal() * COUNTERS + FLUSHES]++;
+	}
+	
+	// countBind
+	//==========
+	/**
+	 * Counts a texture switch of the batch.
+	 * @param layer the layer that was drawn during the switch.
+	 */
+	public void countBind( Layer layer )
+	{
+		frameCounts[layer.ordinal() * COUNTERS + BINDS]++;
+	}
+	
+	// countCall
+	//==========
+	/**
+	 * Counts a single draw call and the sprites it submitted.
+	 * @param layer the layer that was drawn.
+	 * @param sprites the number of sprites.
+	 */
+	public void countCall( Layer layer, int sprites )
+	{
+		frameCounts[layer.ordinal() * COUNTERS + CALLS]++;
+		frameCounts[layer.ordinal() * COUNTERS + SPRITES] += sprites;
+	}
+	
+	// endFrame
+	//=========
+	/**
+	 * Stores the counts of the current frame as the counts of the last frame and resets them. If
+	 * logging is enabled and a second has passed, a row is written to the log.
+	 */
+	public void endFrame()
+	{
+		// Store frame
+		//============
+		for ( int i = 0; i < frameCounts.length; i++ )
+		{
+			lastCounts[i]      = frameCounts[i];
+			intervalCounts[i] += frameCounts[i];
+			frameCounts[i]     = 0;
+		}
+		intervalFrames++;
+		
+		// Write log
+		//==========
+		long time = System.nanoTime();
+		
+		if ( time - intervalStart >= 1000000000L )
+		{
+			if ( isLogging == true )
+			{
+				this.writeRow( time );
+			}
+			for ( int i = 0; i < intervalCounts.length; i++ )
+			{
+				intervalCounts[i] = 0L;
+			}
+			intervalFrames = 0;
+			intervalStart  = time;
+		}
+	}
+	
+	// setLogging
+	//===========
+	/**
+	 * Enables or disables the CSV log. The log file is closed when logging is disabled.
+	 * @param isLogging {@code true} to write the log.
+	 */
+	public void setLogging( boolean isLogging )
+	{
+		this.isLogging = isLogging;
+		
+		if ( isLogging == false && log != null )
+		{
+			log.close();
+			log = null;
+		}
+	}
+	
+	// isLogging
+	//==========
+	public boolean isLogging()
+	{
+		return ( isLogging );
+	}
+	
+	// getFlushes
+	//===========
+	/**
+	 * @param layer the layer.
+	 * @return the number of flushes of the layer in the last frame.
+	 */
+	public int getFlushes( Layer layer )
+	{
+		return ( lastCounts[layer.ordinal() * COUNTERS + FLUSHES] );
+	}
+	
+	// getBinds
+	//=========
+	/**
+	 * @param layer the layer.
+	 * @return the number of texture binds of the layer in the last frame.
+	 */
+	public int getBinds( Layer layer )
+	{
+		return ( lastCounts[layer.ordinal() * COUNTERS + BINDS] );
+	}
+	
+	// getSprites
+	//===========
+	/**
+	 * @param layer the layer.
+	 * @return the number of sprites of the layer in the last frame.
+	 */
+	public int getSprites( Layer layer )
+	{
+		return ( lastCounts[layer.ordinal() * COUNTERS + SPRITES] );
+	}
+	
+	// getCalls
+	//=========
+	/**
+	 * @param layer the layer.
+	 * @return the number of draw calls of the layer in the last frame.
+	 */
+	public int getCalls( Layer layer )
+	{
+		return ( lastCounts[layer.ordinal() * COUNTERS + CALLS] );
+	}
+	
+	// appendText
+	//===========
+	/**
+	 * Appends one line per layer with the counts of the last frame.
+	 * @param text the text to append to.
+	 */
+	public void appendText( StringBuilder text )
+	{
+		for ( Layer layer : Layer.values() )
+		{
+			text.append( layer.getTitle()         ).append( ": " );
+			text.append( this.getFlushes( layer ) ).append( " flushes, " );
+			text.append( this.getBinds( layer )   ).append( " binds, " );
+			text.append( this.getSprites( layer ) ).append( " sprites, " );
+			text.append( this.getCalls( layer )   ).append( " calls\n" );
+		}
+	}
+	
+	// writeRow
+	//=========
+	private void writeRow( long time )
+	{
+		// Open log
+		//=========
+		if ( hasLogError == true )
+		{
+			return;
+		}
+		if ( log == null || logRows >= MAX_ROWS )
+		{
+			if ( this.openLog() == false )
+			{
+				return;
+			}
+		}
+		
+		// Write averages
+		//===============
+		StringBuilder row = new StringBuilder();
+		row.append( System.currentTimeMillis() ).append( ',' );
+		row.append( String.format( Locale.US, "%.1f", intervalFrames * 1e9 / ( time - intervalStart ) ) );
+		
+		for ( int i = 0; i < intervalCounts.length; i++ )
+		{
+			row.append( ',' ).append( String.format( Locale.US, "%.1f", intervalCounts[i] / (double) intervalFrames ) );
+		}
+		log.println( row );
+		log.flush();
+		logRows++;
+	}
+	
+	// openLog
+	//========
+	/**
+	 * Moves the current log to the backup file if it is full and starts a new log with a header.
+	 * @return {@code true} if the log was opened, {@code false} otherwise.
+	 */
+	private boolean openLog()
+	{
+		// Roll file
+		//==========
+		if ( log != null )
+		{
+			log.close();
+			log = null;
+		}
+		File file = new File( logPath );
+		File backup = new File( backupPath );
+		
+		if ( file.exists() )
+		{
+			backup.delete();
+			file.renameTo( backup );
+		}
+		
+		// Write header
+		//=============
+		try
+		{
+			FileUtils.createDir( logPath );
+			log = new PrintStream( file );
+			logRows = 0;
+			
+			StringBuilder header = new StringBuilder( "time,fps" );
+			
+			for ( Layer layer : Layer.values() )
+			{
+				String name = layer.name().toLowerCase( Locale.US );
+				header.append( ',' ).append( name ).append( "_flushes" );
+				header.append( ',' ).append( name ).append( "_binds" );
+				header.append( ',' ).append( name ).append( "_sprites" );
+				header.append( ',' ).append( name ).append( "_calls" );
+			}
+			log.println( header );
+		}
+		catch ( Exception e )
+		{
+			System.err.println( "Error writing render stats log!" );
+			hasLogError = true;
+			return ( false );
+		}
+		return ( true );
+	}
+}
@@ -0,0 +1,194 @@
+package com.sh.jplatformer.world;
+
+import java.util.ArrayList;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.IntMap;
+import com.sh.jplatformer.world.map.MapObject;
+
+/**
+ * The {@code PowerNetwork} indexes all power supported {@code MapObjects} of a world by their
+ * power ID (channel). The index is maintained when objects are added, removed or loaded and when
+ * their power ID changes, so toggling a channel and querying its state only visits the members of
+ * that channel. Every member is notified by {@code MapObject.onPowerChanged()} when its power
+ * state changes, so machines do not have to poll their power state in every step.
+ * @author Stefan Hsemann
+ */
+
+public class PowerNetwork
+{
+	// Fields
+	//=======
+	private IntMap<Array<MapObject>> channels;
+	private IdentityMap<MapObject, Integer> members;
+	
+	// Constructor
+	//============
+	public PowerNetwork()
+	{
+		channels = new IntMap<Array<MapObject>>();
+		members  = new IdentityMap<MapObject, Integer>();
+	}
+	
+	// clear
+	//======
+	/**
+	 * Removes all objects from all channels.
+	 */
+	public void clear()
+	{
+		channels.clear();
+		members.clear();
+	}
+	
+	// rebuild
+	//========
+	/**
+	 * Clears this network and adds all power supported objects of the specified list.
+	 * @param mapObjects the objects to add.
+	 */
+	public void rebuild( ArrayList<MapObject> mapObjects )
+	{
+		clear();
+		
+		for ( int i = 0; i < mapObjects.size(); i++ )
+		{
+			add( mapObjects.get( i ) );
+		}
+	}
+	
+	// add
+	//====
+	/**
+	 * Adds a {@code MapObject} to the channel of its power ID. Objects without power support
+	 * are ignored.
+	 * @param o the object to add.
+	 */
+	public void add( MapObject o )
+	{
+		if ( o.isPowerSupported() == false || members.containsKey( o ) )
+		{
+			return;
+		}
+		
+		Array<MapObject> channel = channels.get( o.getPowerId() );
+		
+		if ( channel == null )
+		{
+			channel = new Array<MapObject>( false, 8 );
+			channels.put( o.getPowerId(), channel );
+		}
+		channel.add( o );
+		members.put( o, o.getPowerId() );
+	}
+	
+	// remove
+	//=======
+	/**
+	 * Removes a {@code MapObject} from its channel.
+	 * @param o the object to remove.
+	 */
+	public void remove( MapObject o )
+	{
+		Integer powerId = members.remove( o );
+		
+		if ( powerId == null )
+		{
+			return;
+		}
+		
+		Array<MapObject> channel = channels.get( powerId );
+		channel.removeValue( o, true );
+		
+		if ( channel.size == 0 )
+		{
+			channels.remove( powerId );
+		}
+	}
+	
+	// update
+	//=======
+	/**
+	 * Moves a registered {@code MapObject} to the channel of its current power ID. Nothing happens
+	 * if the object is not registered.
+	 * @param o the object to update.
+	 */
+	public void update( MapObject o )
+	{
+		Integer powerId = members.get( o );
+		
+		if ( powerId != null && powerId.intValue() != o.getPowerId() )
+		{
+			remove( o );
+			add( o );
+		}
+	}
+	
+	// toggle
+	//=======
+	/**
+	 * Toggles the power state of all objects on a channel.
+	 * @param powerId the channel to toggle.
+	 */
+	public void toggle( int powerId )
+	{
+		Array<MapObject> channel = channels.get( powerId );
+		
+		if ( channel == null )
+		{
+			return;
+		}
+		
+		for ( int i = 0; i < channel.size; i++ )
+		{
+			MapObject o = channel.get( i );
+			o.setPowerOn( !o.isPowerOn() );
+		}
+	}
+	
+	// getChannel
+	//===========
+	/**
+	 * @param powerId the channel.
+	 * @return all objects on the channel or {@code null} if the channel is empty.
+	 */
+	public Array<MapObject> getChannel( int powerId )
+	{
+		return ( channels.get( powerId ) );
+	}
+	
+	// getChannels
+	//============
+	/**
+	 * @return all channels by power ID.
+	 */
+	public IntMap<Array<MapObject>> getChannels()
+	{
+		return ( channels );
+	}
+	
+	// getPoweredCount
+	//================
+	/**
+	 * @param powerId the channel.
+	 * @return the number of powered objects on the channel.
+	 */
+	public int getPoweredCount( int powerId )
+	{
+		Array<MapObject> channel = channels.get( powerId );
+		int count = 0;
+		
+		if ( channel != null )
+		{
+			for ( int i = 0; i < channel.size; i++ )
+			{
+				if ( channel.get( i ).isPowerOn() )
+				{
+					count++;
+				}
+			}
+		}
+		return ( count );
+	}
+}
@@ -0,0 +1,251 @@
+package com.sh.jplatformer.world;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.sh.jplatformer.world.map.CellRange;
+import com.sh.jplatformer.world.map.Map;
+import com.sh.jplatformer.world.map.TileTable;
+
+/**
+ * The {@code TileCache} keeps the vertices of all tiles and inner corners of each {@code Map}
+ * chunk, so the terrain is not computed sprite by sprite in every frame. The vertices of a chunk
+ * are stored row by row in the same order as the cells were drawn before, and each row of a
+ * visible chunk is submitted to the {@code SpriteBatch} in a single call. A chunk is only built
+ * again if its revision in the {@code Map} changed, which happens when a cell of the chunk is
+ * edited.
+ * @author Stefan Hsemann
+ */
+
+public class TileCache
+{
+	// Constants
+	//==========
+	private static final int SPRITE_SIZE = 20;
+	private static final float COLOR     = Color.WHITE.toFloatBits();
+	
+	// Fields
+	//=======
+	private TextureRegion[][] tiles;
+	private Map map;
+	private float[][] chunkVertices;
+	private int[][] chunkRowOffsets;
+	private int[] chunkRevisions;
+	private float[] buffer;
+	private int buildCount;
+	
+	// Constructor
+	//============
+	/**
+	 * @param tiles the regions of all tile sets, indexed by tile set ID and tile ID. All regions
+	 * must belong to the same texture.
+	 */
+	public TileCache( TextureRegion[][] tiles )
+	{
+		this.tiles  = tiles;
+		this.buffer = new float[SPRITE_SIZE * 64];
+	}
+	
+	// draw
+	//=====
+	/**
+	 * Draws the tiles of all visible rows. The rows are drawn from bottom to top and the chunks of
+	 * each row from left to right, so overlapping corners are drawn in the same order as before.
+	 * @param map the {@code Map} to draw.
+	 * @param range the visible cells.
+	 * @param batch the {@code SpriteBatch} to draw.
+	 */
+	public void draw( Map map, CellRange range, SpriteBatch batch )
+	{
+		if ( range.isEmpty() || tiles.length == 0 )
+		{
+			return;
+		}
+		int cc1 = range.x1 / Map.CHUNK_SIZE;
+		int cc2 = ( range.x2 - 1 ) / Map.CHUNK_SIZE;
+		
+		for ( int y = range.y1; y < range.y2; y++ )
+		{
+			int cr = y / Map.CHUNK_SIZE;
+			
+			for ( int cc = cc1; cc <= cc2; cc++ )
+			{
+				// Skip empty chunks
+				//==================
+				if ( map.isChunkEmpty( cc, cr ) )
+				{
+					continue;
+				}
+				
+				// Draw row
+				//=========
+				int c = this.validate( map, cc, cr );
+				int[] offsets = chunkRowOffsets[c];
+				int row = y - cr * Map.CHUNK_SIZE;
+				
+				if ( offsets[row + 1] > offsets[row] )
+				{
+					batch.draw( tiles[0][0].getTexture(), chunkVertices[c], offsets[row], offsets[row + 1] - offsets[row] );
+				}
+			}
+		}
+	}
+	
+	// validate
+	//=========
+	/**
+	 * Builds the vertices of a chunk if the chunk was edited since they were built.
+	 * @param map the {@code Map} of the chunk.
+	 * @param cc the column of the chunk.
+	 * @param cr the row of the chunk.
+	 * @return the index of the chunk.
+	 */
+	public int validate( Map map, int cc, int cr )
+	{
+		// Resize cache
+		//=============
+		int count = map.getChunkColumns() * map.getChunkRows();
+		
+		if ( this.map != map || chunkVertices == null || chunkVertices.length != count )
+		{
+			this.map        = map;
+			chunkVertices   = new float[count][];
+			chunkRowOffsets = new int[count][];
+			chunkRevisions  = new int[count];
+		}
+		
+		// Check revision
+		//===============
+		int c = cr * map.getChunkColumns() + cc;
+		
+		if ( chunkVertices[c] == null || chunkRevisions[c] != map.getChunkRevision( cc, cr ) )
+		{
+			this.build( map, cc, cr, c );
+		}
+		return ( c );
+	}
+	
+	// build
+	//======
+	private void build( Map map, int cc, int cr, int c )
+	{
+		int[] offsets = chunkRowOffsets[c] != null ? chunkRowOffsets[c] : new int[Map.CHUNK_SIZE + 1];
+		int size = 0;
+		
+		for ( int row = 0; row < Map.CHUNK_SIZE; row++ )
+		{
+			offsets[row] = size;
+			int y = cr * Map.CHUNK_SIZE + row;
+			
+			for ( int col = 0; col < Map.CHUNK_SIZE && y < map.getRows(); col++ )
+			{
+				int x = cc * Map.CHUNK_SIZE + col;
+				
+				if ( x >= map.getColumns() )
+				{
+					break;
+				}
+				
+				// Tile
+				//=====
+				int index = map.getIndex( x, y );
+				int tileSetId = map.getTileSetId( index );
+				
+				if ( tileSetId < 0 )
+				{
+					continue;
+				}
+				size = this.add( size, tiles[tileSetId][map.getTileId( index )], x * Map.CELL_SIZE, y * Map.CELL_SIZE );
+				
+				// Inner corners
+				//==============
+				int corners = map.getTileCorners( index );
+				float h = Map.CELL_SIZE / 2f;
+				
+				if ( ( corners & TileTable.CORNER_BOTTOM_RIGHT ) != 0 )
+				{
+					size = this.add( size, tiles[tileSetId][TileTable.TILE_BOTTOM_RIGHT], x * Map.CELL_SIZE + h, y * Map.CELL_SIZE - h );
+				}
+				if ( ( corners & TileTable.CORNER_TOP_RIGHT ) != 0 )
+				{
+					size = this.add( size, tiles[tileSetId][TileTable.TILE_TOP_RIGHT], x * Map.CELL_SIZE + h, y * Map.CELL_SIZE + h );
+				}
+				if ( ( corners & TileTable.CORNER_BOTTOM_LEFT ) != 0 )
+				{
+					size = this.add( size, tiles[tileSetId][TileTable.TILE_BOTTOM_LEFT], x * Map.CELL_SIZE - h, y * Map.CELL_SIZE - h );
+				}
+				if ( ( corners & TileTable.CORNER_TOP_LEFT ) != 0 )
+				{
+					size = this.add( size, tiles[tileSetId][TileTable.TILE_TOP_LEFT], x * Map.CELL_SIZE - h, y * Map.CELL_SIZE + h );
+				}
+			}
+		}
+		offsets[Map.CHUNK_SIZE] = size;
+		
+		// Store vertices
+		//===============
+		chunkVertices[c]   = Arrays.copyOf( buffer, size );
+		chunkRowOffsets[c] = offsets;
+		chunkRevisions[c]  = map.getChunkRevision( cc, cr );
+		buildCount++;
+	}
+	
+	// add
+	//====
+	/**
+	 * Appends the vertices of a region to the build buffer the same way
+	 * {@code SpriteBatch.draw( region, x, y )} computes them.
+	 * @return the new size of the buffer.
+	 */
+	private int add( int size, TextureRegion region, float x, float y )
+	{
+		if ( size + SPRITE_SIZE > buffer.length )
+		{
+			buffer = Arrays.copyOf( buffer, buffer.length * 2 );
+		}
+		float x2 = x + region.getRegionWidth();
+		float y2 = y + region.getRegionHeight();
+		float u  = region.getU();
+		float v  = region.getV2();
+		float u2 = region.getU2();
+		float v2 = region.getV();
+		
+		float[] b = buffer;
+		b[size++] = x;  b[size++] = y;  b[size++] = COLOR; b[size++] = u;  b[size++] = v;
+		b[size++] = x;  b[size++] = y2; b[size++] = COLOR; b[size++] = u;  b[size++] = v2;
+		b[size++] = x2; b[size++] = y2; b[size++] = COLOR; b[size++] = u2; b[size++] = v2;
+		b[size++] = x2; b[size++] = y;  b[size++] = COLOR; b[size++] = u2; b[size++] = v;
+		return ( size );
+	}
+	
+	// getVertexCount
+	//===============
+	/**
+	 * @return the number of vertices of all chunks that are built.
+	 */
+	public int getVertexCount()
+	{
+		int count = 0;
+		
+		for ( int c = 0; chunkVertices != null && c < chunkVertices.length; c++ )
+		{
+			if ( chunkVertices[c] != null )
+			{
+				count += chunkVertices[c].length / 5;
+			}
+		}
+		return ( count );
+	}
+	
+	// getBuildCount
+	//==============
+	/**
+	 * @return the number of chunks built since this {@code TileCache} was created.
+	 */
+	public int getBuildCount()
+	{
+		return ( buildCount );
+	}
+}
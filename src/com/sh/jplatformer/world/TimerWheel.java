@@ -0,0 +1,319 @@
+package com.sh.jplatformer.world;
+
+import com.sh.jplatformer.util.Task;
+import com.sh.jplatformer.world.map.MapObject;
+
+/**
+ * The {@code TimerWheel} is a hierarchical timing wheel that schedules callbacks in simulation
+ * ticks. Timers due within the next 256 ticks are stored in the slots of the first level. Timers
+ * further away are stored in coarser levels and moved down whenever the lower level wraps
+ * around. Scheduling and cancelling a timer costs O(1), and advancing the wheel only touches the
+ * timers that expire in the current tick. This replaces polling the routine and frame timers of
+ * all objects in every step.
+ * @author Stefan Hsemann
+ */
+
+public class TimerWheel
+{
+	// Constants
+	//==========
+	private static final int FIRST_BITS  = 8;
+	private static final int LEVEL_BITS  = 6;
+	private static final int LEVELS      = 4;
+	private static final int FIRST_SLOTS = 1 << FIRST_BITS;
+	private static final int LEVEL_SLOTS = 1 << LEVEL_BITS;
+	private static final long MAX_TICKS  = ( 1L << ( FIRST_BITS + LEVEL_BITS * ( LEVELS - 1 ) ) ) - 1L;
+	
+	// Timer
+	//======
+	/**
+	 * A single timer. A timer is reusable, i.e. it can be scheduled again after it has fired or
+	 * has been cancelled. Scheduling a pending timer moves it to the new expiration tick.
+	 */
+	public static class Timer
+	{
+		private final MapObject owner;
+		private final Task task;
+		private long expires;
+		private Timer prev;
+		private Timer next;
+		private Timer[] slot;
+		private int slotIndex;
+		
+		/**
+		 * @param owner the {@code MapObject} that owns this timer. The task is not performed if
+		 * the owner is dead. May be {@code null}.
+		 * @param task the task to perform when the timer expires.
+		 */
+		public Timer( MapObject owner, Task task )
+		{
+			this.owner = owner;
+			this.task  = task;
+		}
+		
+		/**
+		 * @return {@code true} if this timer is waiting to expire.
+		 */
+		public boolean isScheduled()
+		{
+			return ( slot != null );
+		}
+		
+		/**
+		 * @return the tick this timer expires at.
+		 */
+		public long getExpires()
+		{
+			return ( expires );
+		}
+	}
+	
+	// Fields
+	//=======
+	private Timer[][] levels;
+	private long tick;
+	private int firedLastTick;
+	private int maxFiredPerTick;
+	private long firedTotal;
+	
+	// Constructor
+	//============
+	public TimerWheel()
+	{
+		levels = new Timer[LEVELS][];
+		levels[0] = new Timer[FIRST_SLOTS];
+		
+		for ( int i = 1; i < LEVELS; i++ )
+		{
+			levels[i] = new Timer[LEVEL_SLOTS];
+		}
+	}
+	
+	// clear
+	//======
+	/**
+	 * Cancels all timers, resets the current tick and the statistics.
+	 */
+	public void clear()
+	{
+		for ( Timer[] level : levels )
+		{
+			for ( int i = 0; i < level.length; i++ )
+			{
+				Timer t = level[i];
+				
+				while ( t != null )
+				{
+					Timer next = t.next;
+					t.prev = null;
+					t.next = null;
+					t.slot = null;
+					t = next;
+				}
+				level[i] = null;
+			}
+		}
+		tick = 0L;
+		resetStatistics();
+	}
+	
+	// schedule
+	//=========
+	/**
+	 * Schedules a timer. A pending timer is rescheduled.
+	 * @param timer the timer to schedule.
+	 * @param ticks the number of ticks until the timer expires. Values below {@code 1} fire the
+	 * timer on the next tick.
+	 */
+	public void schedule( Timer timer, long ticks )
+	{
+		cancel( timer );
+		timer.expires = tick + Math.max( 1L, Math.min( ticks, MAX_TICKS ) );
+		insert( timer );
+	}
+	
+	// cancel
+	//=======
+	/**
+	 * Removes a pending timer. Nothing happens if the timer is not scheduled.
+	 * @param timer the timer to cancel.
+	 */
+	public void cancel( Timer timer )
+	{
+		if ( timer.slot == null )
+		{
+			return;
+		}
+		
+		if ( timer.prev != null )
+		{
+			timer.prev.next = timer.next;
+		}
+		else
+		{
+			timer.slot[timer.slotIndex] = timer.next;
+		}
+		if ( timer.next != null )
+		{
+			timer.next.prev = timer.prev;
+		}
+		timer.prev = null;
+		timer.next = null;
+		timer.slot = null;
+	}
+	
+	// advance
+	//========
+	/**
+	 * Advances the wheel by a single tick and performs the tasks of all timers that expire. The
+	 * tasks may schedule timers again.
+	 */
+	public void advance()
+	{
+		// Next tick
+		//==========
+		tick++;
+		int index = (int) ( tick & ( FIRST_SLOTS - 1 ) );
+		
+		// Cascade upper levels
+		//=====================
+		if ( index == 0 )
+		{
+			for ( int level = 1; level < LEVELS; level++ )
+			{
+				int shift = FIRST_BITS + LEVEL_BITS * ( level - 1 );
+				int slot  = (int) ( ( tick >> shift ) & ( LEVEL_SLOTS - 1 ) );
+				
+				cascade( levels[level], slot );
+				
+				if ( slot != 0 )
+				{
+					break;
+				}
+			}
+		}
+		
+		// Fire expired timers (tasks may cancel timers of the same slot)
+		//===============================================================
+		Timer[] first = levels[0];
+		firedLastTick = 0;
+		
+		while ( first[index] != null )
+		{
+			Timer t = first[index];
+			cancel( t );
+			
+			if ( t.owner == null || t.owner.isAlive() )
+			{
+				firedLastTick++;
+				t.task.perform();
+			}
+		}
+		
+		// Statistics
+		//===========
+		firedTotal += firedLastTick;
+		maxFiredPerTick = Math.max( maxFiredPerTick, firedLastTick );
+	}
+	
+	// getTick
+	//========
+	public long getTick()
+	{
+		return ( tick );
+	}
+	
+	// getFiredLastTick
+	//=================
+	/**
+	 * @return the number of timers that fired in the last tick.
+	 */
+	public int getFiredLastTick()
+	{
+		return ( firedLastTick );
+	}
+	
+	// getMaxFiredPerTick
+	//===================
+	public int getMaxFiredPerTick()
+	{
+		return ( maxFiredPerTick );
+	}
+	
+	// getFiredTotal
+	//==============
+	public long getFiredTotal()
+	{
+		return ( firedTotal );
+	}
+	
+	// resetStatistics
+	//================
+	public void resetStatistics()
+	{
+		firedLastTick   = 0;
+		maxFiredPerTick = 0;
+		firedTotal      = 0L;
+	}
+	
+	// insert
+	//=======
+	private void insert( Timer timer )
+	{
+		// Find level and slot
+		//====================
+		long diff = timer.expires - tick;
+		Timer[] slot;
+		int index;
+		
+		if ( diff < FIRST_SLOTS )
+		{
+			slot  = levels[0];
+			index = (int) ( timer.expires & ( FIRST_SLOTS - 1 ) );
+		}
+		else
+		{
+			int level = 1;
+			int shift = FIRST_BITS;
+			
+			while ( level < LEVELS - 1 && diff >= 1L << ( shift + LEVEL_BITS ) )
+			{
+				level++;
+				shift += LEVEL_BITS;
+			}
+			slot  = levels[level];
+			index = (int) ( ( timer.expires >> shift ) & ( LEVEL_SLOTS - 1 ) );
+		}
+		
+		// Link into slot
+		//===============
+		timer.slot      = slot;
+		timer.slotIndex = index;
+		timer.prev      = null;
+		timer.next      = slot[index];
+		
+		if ( timer.next != null )
+		{
+			timer.next.prev = timer;
+		}
+		slot[index] = timer;
+	}
+	
+	// cascade
+	//========
+	private void cascade( Timer[] level, int index )
+	{
+		Timer t = level[index];
+		level[index] = null;
+		
+		while ( t != null )
+		{
+			Timer next = t.next;
+			t.prev = null;
+			t.next = null;
+			t.slot = null;
+			insert( t );
+			t = next;
+		}
+	}
+}
@@ -21,6 +21,7 @@ public class WorldAudio implements Serializable
 	//=======
 	private WorldController worldController;
 	private ArrayList<WorldSound> objectSounds;
+	private int objectSoundCount;
 	private boolean playCollectSound;
 	
 	// Constructor
@@ -94,8 +95,10 @@ public class WorldAudio implements Serializable
 	{
 		// Play all added sounds
 		//======================
-		for ( WorldSound s : objectSounds )
+		for ( int i = 0; i < objectSoundCount; i++ )
 		{
+			WorldSound s = objectSounds.get( i );
+			
 			// Calculate values
 			//=================
 			float p = calculatePan( s.mapObject );
@@ -109,11 +112,12 @@ public class WorldAudio implements Serializable
 				
 				s.sound.setPan( id, p, v );
 			}
+			s.set( null, null );
 		}
 		
-		// Clear sound array
-		//==================
-		objectSounds.clear();
+		// Clear sound array (the entries are kept for reuse)
+		//===================================================
+		objectSoundCount = 0;
 		
 		// Play collect sound
 		//===================
@@ -152,7 +156,20 @@ public class WorldAudio implements Serializable
 	 */
 	public void addSound( Sound soundFile, MapObject source )
 	{
-		objectSounds.add( new WorldSound( soundFile, source ) );
+		// Ignore missing sounds (headless mode)
+		//======================================
+		if ( soundFile == null )
+		{
+			return;
+		}
+		
+		// Reuse entry
+		//============
+		if ( objectSoundCount == objectSounds.size() )
+		{
+			objectSounds.add( new WorldSound() );
+		}
+		objectSounds.get( objectSoundCount++ ).set( soundFile, source );
 	}
 	
 	// addCollectSound
@@ -215,9 +232,9 @@ class WorldSound
 	public Sound sound;
 	public MapObject mapObject;
 	
-	// Constructor
-	//============
-	public WorldSound( Sound soundFile, MapObject source )
+	// set
+	//====
+	public void set( Sound soundFile, MapObject source )
 	{
 		sound = soundFile;
 		mapObject = source;
@@ -46,8 +46,18 @@ public class WorldCamera extends OrthographicCamera implements Serializable
 	{
 		this.helperVector2 = new Vector2();
 		this.helperVector3 = new Vector3();
-		this.resize( Gdx.graphics.getWidth(), Gdx.graphics.getHeight() );
 		this.resetZoom();
+		
+		// Default size in headless mode
+		//==============================
+		if ( Gdx.graphics != null )
+		{
+			this.resize( Gdx.graphics.getWidth(), Gdx.graphics.getHeight() );
+		}
+		else
+		{
+			this.resize( 1920, 1080 );
+		}
 	}
 	
 	// update
@@ -102,7 +112,7 @@ public class WorldCamera extends OrthographicCamera implements Serializable
 		//========
 		if ( zoom > zoomSteps[currentZoomStep] )
 		{
-			zoom -= Gdx.graphics.getDeltaTime() * ( zoom * 3.5f );
+			zoom -= WorldController.getDelta( zoom * 3.5f );
 			if ( zoom < zoomSteps[currentZoomStep] )
 			{
 				zoom = zoomSteps[currentZoomStep];
@@ -113,7 +123,7 @@ public class WorldCamera extends OrthographicCamera implements Serializable
 		//=========
 		if ( zoom < zoomSteps[currentZoomStep] )
 		{
-			zoom += Gdx.graphics.getDeltaTime() * ( zoom * 3.5f );
+			zoom += WorldController.getDelta( zoom * 3.5f );
 			if ( zoom > zoomSteps[currentZoomStep] )
 			{
 				zoom = zoomSteps[currentZoomStep];
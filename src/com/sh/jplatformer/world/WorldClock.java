@@ -0,0 +1,128 @@
+package com.sh.jplatformer.world;
+
+/**
+ * The {@code WorldClock} is the monotonic simulation clock of a {@code WorldController}. It only
+ * advances with the simulation steps, so it stops while the game is paused and runs faster than
+ * real time if the steps are executed faster (i.e. by the headless runner). All object routines
+ * and animations should read their time from this clock instead of the system time.
+ * @author Stefan Hsemann
+ */
+
+public class WorldClock
+{
+	// Constants
+	//==========
+	public static final float MIN_TIME_SCALE = 0.1f;
+	public static final float MAX_TIME_SCALE = 8f;
+	
+	// Fields
+	//=======
+	private long steps;
+	private float timeScale;
+	private int pendingSteps;
+	
+	// Constructor
+	//============
+	public WorldClock()
+	{
+		timeScale = 1f;
+	}
+	
+	// reset
+	//======
+	/**
+	 * Resets the clock to zero. The time scale is kept.
+	 */
+	public void reset()
+	{
+		steps = 0L;
+		pendingSteps = 0;
+	}
+	
+	// advance
+	//========
+	/**
+	 * Advances the clock by a single simulation step.
+	 */
+	void advance()
+	{
+		steps++;
+	}
+	
+	// getTime
+	//========
+	/**
+	 * @return the simulated time in milliseconds.
+	 */
+	public long getTime()
+	{
+		return ( steps * 1000L / WorldController.STEP_RATE );
+	}
+	
+	// getSteps
+	//=========
+	/**
+	 * @return the number of simulated steps.
+	 */
+	public long getSteps()
+	{
+		return ( steps );
+	}
+	
+	// toSteps
+	//========
+	/**
+	 * @param millis a duration in milliseconds.
+	 * @return the number of simulation steps that cover the duration (rounded up).
+	 */
+	public static long toSteps( long millis )
+	{
+		return ( ( millis * WorldController.STEP_RATE + 999L ) / 1000L );
+	}
+	
+	// setTimeScale
+	//=============
+	/**
+	 * Sets the speed of the simulation relative to real time.
+	 * @param timeScale the scale, i.e. {@code 0.5f} for half speed or {@code 2f} for double speed.
+	 * The value is clamped to {@code MIN_TIME_SCALE} and {@code MAX_TIME_SCALE}.
+	 */
+	public void setTimeScale( float timeScale )
+	{
+		this.timeScale = Math.max( MIN_TIME_SCALE, Math.min( MAX_TIME_SCALE, timeScale ) );
+	}
+	
+	// getTimeScale
+	//=============
+	public float getTimeScale()
+	{
+		return ( timeScale );
+	}
+	
+	// step
+	//=====
+	/**
+	 * Requests a single simulation step. The step is executed by the next update of the
+	 * {@code WorldController}, even if the game is paused.
+	 */
+	public void step()
+	{
+		pendingSteps++;
+	}
+	
+	// consumePendingStep
+	//===================
+	/**
+	 * @return {@code true} if a requested step is pending. The request is removed.
+	 */
+	boolean consumePendingStep()
+	{
+		if ( pendingSteps == 0 )
+		{
+			return ( false );
+		}
+		pendingSteps--;
+		
+		return ( true );
+	}
+}
@@ -6,12 +6,20 @@ import java.util.ArrayList;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.ObjectMap;
 import com.sh.jplatformer.JPlatformerGame;
 import com.sh.jplatformer.resources.Resources;
+import com.sh.jplatformer.util.Task;
+import com.sh.jplatformer.world.WorldProfiler.Phase;
+import com.sh.jplatformer.world.map.CellRange;
+import com.sh.jplatformer.world.map.ContactTracker;
 import com.sh.jplatformer.world.map.Map;
-import com.sh.jplatformer.world.map.MapCell;
 import com.sh.jplatformer.world.map.MapObject;
+import com.sh.jplatformer.world.map.MapObjectGrid;
+import com.sh.jplatformer.world.map.MapObjectPool;
 import com.sh.jplatformer.world.map.MapPopup;
+import com.sh.jplatformer.world.map.TileTable;
 
 /**
  * The {@code WorldController} represents the game world. It bundles and processes all world
@@ -27,6 +35,13 @@ public class WorldController implements Serializable
 	//==========
 	private static final long serialVersionUID = 1L;
 	
+	// Simulation
+	//===========
+	public static final int   STEP_RATE = 120;
+	public static final float STEP_TIME = 1f / STEP_RATE;
+	public static final int   MAX_STEPS = 8;
+	private static float delta = STEP_TIME;
+	
 	// States
 	//=======
 	public static final int STATE_PLAYING      = 0;
@@ -41,15 +56,34 @@ public class WorldController implements Serializable
 	private int score;
 	private long gameStartTime;
 	private long gameElapsedTime;
-	private long pauseStartTime;
 	private boolean isLive;
+	private transient WorldClock worldClock;
+	private transient TimerWheel timerWheel;
+	private transient PowerNetwork powerNetwork;
+	private transient ContactTracker contactTracker;
+	private transient float stepAccumulator;
+	private transient Task stepTask;
+	private transient WorldProfiler profiler;
+	
+	// Active region
+	//==============
+	public static final float DEFAULT_ACTIVATION_RADIUS = Map.CELL_SIZE * 32f;
+	private transient float activationRadius;
+	private transient Rectangle activeArea;
+	
+	// Parallel update
+	//================
+	public static final int PARALLEL_MIN_OBJECTS = 64;
+	private transient boolean isParallel;
+	private transient ArrayList<MapObject> senseObjects;
 	
 	// World
 	//======
 	private Map map;
 	private WorldCamera worldCamera;
 	private transient WorldAudio worldAudio;
-	private ArrayList<MapCell> visibleMapCells;
+	private transient CellRange visibleCells;
+	private transient Rectangle visibleArea;
 	private ArrayList<MapPopup> popups;
 	
 	// Player
@@ -61,7 +95,10 @@ public class WorldController implements Serializable
 	private ArrayList<MapObject> mapObjects;
 	private ArrayList<MapObject> deadMapObjects;
 	private ArrayList<MapObject> markedMapObjects;
+	private transient IdentityMap<MapObject, Boolean> markedIndex;
 	private ArrayList<MapObject> tmp_objectsInArea;
+	private transient MapObjectGrid mapObjectGrid;
+	private transient ObjectMap<Class<?>, MapObjectPool<?>> mapObjectPools;
 	private MapObject hoveredMapObject;
 	
 	// Constructor
@@ -76,12 +113,24 @@ public class WorldController implements Serializable
 		map               = new Map( 0, 0 );
 		worldCamera       = new WorldCamera();
 		worldAudio        = new WorldAudio( this );
-		visibleMapCells   = new ArrayList<MapCell>();
+		visibleCells      = new CellRange();
+		visibleArea       = new Rectangle();
 		popups            = new ArrayList<MapPopup>();
 		mapObjects        = new ArrayList<MapObject>();
 		deadMapObjects    = new ArrayList<MapObject>();
 		markedMapObjects  = new ArrayList<MapObject>();
+		markedIndex       = new IdentityMap<MapObject, Boolean>();
 		tmp_objectsInArea = new ArrayList<MapObject>();
+		mapObjectGrid     = new MapObjectGrid();
+		mapObjectPools    = new ObjectMap<Class<?>, MapObjectPool<?>>();
+		profiler          = new WorldProfiler();
+		worldClock        = new WorldClock();
+		timerWheel        = new TimerWheel();
+		powerNetwork      = new PowerNetwork();
+		contactTracker    = new ContactTracker();
+		activeArea        = new Rectangle();
+		activationRadius  = DEFAULT_ACTIVATION_RADIUS;
+		senseObjects      = new ArrayList<MapObject>();
 		isLive            = true;
 		
 		// Create new world
@@ -92,20 +141,25 @@ public class WorldController implements Serializable
 	// getDelta
 	//=========
 	/**
+	 * While the simulation is stepped, the delta is the fixed {@code STEP_TIME}. Outside of the
+	 * simulation (i.e. rendering), the delta is the duration of the last frame.
 	 * @param amountPerSecond the desired amount per second.
-	 * @return the amount per frame.
+	 * @return the amount per step or frame.
 	 */
 	public static float getDelta( float amountPerSecond )
 	{
-		return ( amountPerSecond * JPlatformerGame.get().getAverageDelta() );
+		return ( amountPerSecond * delta );
 	}
 	
 	// getDeltaRatio60
 	//================
+	/**
+	 * @param amountPerSecond the desired amount per second.
+	 * @return the amount per step or frame, scaled like at 60 frames per second.
+	 */
 	public static float getDeltaRatio60( float amountPerSecond )
 	{
-		float ratio = 60f / (float) Gdx.graphics.getFramesPerSecond();
-		return ( getDelta( amountPerSecond ) * ratio );
+		return ( getDelta( amountPerSecond ) * delta * 60f );
 	}
 	
 	// createWorld
@@ -121,8 +175,10 @@ public class WorldController implements Serializable
 		//=====
 		worldState     = STATE_PLAYING;	
 		score          = 0;
-		gameStartTime  = System.currentTimeMillis();
-		pauseStartTime = 0L;
+		worldClock.reset();
+		timerWheel.clear();
+		gameStartTime   = 0L;
+		stepAccumulator = 0f;
 		
 		// Camera
 		//=======
@@ -145,6 +201,10 @@ public class WorldController implements Serializable
 		//========
 		mapObjects.clear();
 		markedMapObjects.clear();
+		markedIndex.clear();
+		mapObjectGrid.clear();
+		powerNetwork.clear();
+		contactTracker.clear();
 		player = null;
 		MapObject.idCount = 0;
 	}
@@ -152,128 +212,352 @@ public class WorldController implements Serializable
 	// update
 	//=======
 	/**
-	 * Processes and updates all world components.
+	 * Processes and updates all world components by the duration of the last frame.
 	 */
 	public void update()
 	{
-		// Timers and world
-		//=================
+		update( Gdx.graphics.getDeltaTime() );
+	}
+	
+	// update
+	//=======
+	/**
+	 * Processes and updates all world components. The simulation is advanced in fixed steps of
+	 * {@code STEP_TIME}, independent of the frame rate. The time of the frame is accumulated and
+	 * consumed by as many steps as fit in, but not more than {@code MAX_STEPS}. Any remaining time
+	 * beyond that limit is dropped, so the game slows down instead of skipping ahead.
+	 * @param frameTime the duration of the last frame in seconds.
+	 */
+	public void update( float frameTime )
+	{
+		// Timers
+		//=======
 		updateTimers();
 		
+		// Simulation steps
+		//=================
 		if ( JPlatformerGame.get().isPaused() == false )
 		{
-			updateMapObjects();
-			updatePopups();
-			updateWorldState();
+			int steps = 0;
+			stepAccumulator += frameTime * worldClock.getTimeScale();
+			delta = STEP_TIME;
+			
+			while ( stepAccumulator >= STEP_TIME && steps < MAX_STEPS )
+			{
+				step();
+				stepAccumulator -= STEP_TIME;
+				steps++;
+			}
+			if ( stepAccumulator >= STEP_TIME )
+			{
+				stepAccumulator = 0f;
+			}
+		}
+		else
+		{
+			stepAccumulator = 0f;
+			
+			// Single steps
+			//=============
+			if ( worldClock.consumePendingStep() == true )
+			{
+				delta = STEP_TIME;
+				step();
+			}
+			
+			// Keep fading (i.e. while editing)
+			//=================================
+			else
+			{
+				delta = frameTime;
+				
+				for ( int i = 0; i < mapObjects.size(); i++ )
+				{
+					mapObjects.get( i ).updateAlpha();
+				}
+			}
 		}
 		
 		// Camera
 		//=======
+		delta = frameTime;
 		updateCamera();
 	}
 	
+	// step
+	//=====
+	/**
+	 * Advances the simulation by one fixed step.
+	 */
+	private void step()
+	{
+		// Clock
+		//======
+		worldClock.advance();
+		
+		// Step task (e.g. input)
+		//=======================
+		if ( stepTask != null )
+		{
+			stepTask.perform();
+		}
+		
+		// World
+		//======
+		updateMapObjects();
+		
+		long time = profiler.start();
+		updatePopups();
+		time = profiler.stop( Phase.POPUPS, time );
+		updateWorldState();
+		profiler.stop( Phase.WORLD_STATE, time );
+		profiler.countStep();
+	}
+	
+	// setStepTask
+	//============
+	/**
+	 * Sets a {@code Task} that is performed at the beginning of each simulation step, before the
+	 * objects are updated. This is used to apply the player input once per step.
+	 * @param stepTask the {@code Task} to perform or {@code null}.
+	 */
+	public void setStepTask( Task stepTask )
+	{
+		this.stepTask = stepTask;
+	}
+	
 	// updateTiles
 	//============
 	/**
-	 * Updates all {@code MapCells} and their {@code tileId} property.
+	 * Updates the tile IDs of all {@code Map} cells. Empty chunks are skipped.
 	 */
 	public void updateTiles()
 	{
+		this.updateTiles( 0, 0, map.getColumns(), map.getRows() );
+	}
+	
+	// updateTiles
+	//============
+	/**
+	 * Updates the tile IDs of all {@code Map} cells within a range. Empty chunks are skipped.
+	 * @param x1 the first column.
+	 * @param y1 the first row.
+	 * @param x2 the column after the last column.
+	 * @param y2 the row after the last row.
+	 */
+	public void updateTiles( int x1, int y1, int x2, int y2 )
+	{
+		// Limit range
+		//============
+		if ( x1 < 0 ) x1 = 0;
+		if ( y1 < 0 ) y1 = 0;
+		if ( x2 > map.getColumns() ) x2 = map.getColumns();
+		if ( y2 > map.getRows() )    y2 = map.getRows();
+		
 		// Iteration
 		//==========
-		for ( MapCell cell : map.getCells() )
+		for ( int row = y1; row < y2; row++ )
 		{
-			// Set center tile
-			//================
-			cell.tileId = 4;
-			int tileSetId = cell.tileSetId;
-			
-			// Rectangular (right)
-			//====================
-			if ( compareTiles( tileSetId, cell.x + 1, cell.y ) == -1 )
+			for ( int col = x1; col < x2; col++ )
 			{
-				if ( compareTiles( tileSetId, cell.x, cell.y - 1 ) == -1 ) cell.tileId = 8; // Top Right Corner
-				if ( compareTiles( tileSetId, cell.x, cell.y + 1 ) == -1 ) cell.tileId = 2; // Bottom Right Corner
-				if ( compareTiles( tileSetId, cell.x, cell.y - 1 ) >= +0 &&
-				     compareTiles( tileSetId, cell.x, cell.y + 1 ) >= +0 ) cell.tileId = 5; // Right Side Center
-			}
-
-			// Rectangular (left)
-			//===================
-			if ( compareTiles( tileSetId, cell.x - 1, cell.y ) == -1 )
-			{
-				if ( compareTiles( tileSetId, cell.x, cell.y - 1 ) == -1 ) cell.tileId = 6; // Top Left Corner
-				if ( compareTiles( tileSetId, cell.x, cell.y + 1 ) == -1 ) cell.tileId = 0; // Bottom Left Corner
-				if ( compareTiles( tileSetId, cell.x, cell.y - 1 ) >= +0 &&
-				     compareTiles( tileSetId, cell.x, cell.y + 1 ) >= +0 ) cell.tileId = 3; // Left Side Center
-			}
-				
-			// Rectangular center (top, bottom)
-			//=================================
-			if ( compareTiles( tileSetId, cell.x - 1, cell.y ) >= +0 &&
-			     compareTiles( tileSetId, cell.x + 1, cell.y ) >= +0 )
-			{
-				if ( compareTiles( tileSetId, cell.x, cell.y - 1 ) == -1 ) cell.tileId = 7; // Top Center
-				if ( compareTiles( tileSetId, cell.x, cell.y + 1 ) == -1 ) cell.tileId = 1; // Bottom Center
-			}
-				
-			// Single tiles (horizontal)
-			//==========================
-			if ( compareTiles( tileSetId, cell.x, cell.y - 1 ) == -1 &&
-			     compareTiles( tileSetId, cell.x, cell.y + 1 ) == -1 )
-			{
-				if ( compareTiles( tileSetId, cell.x + 1, cell.y ) == -1 ) cell.tileId = 11; // Single Left
-				if ( compareTiles( tileSetId, cell.x - 1, cell.y ) == -1 ) cell.tileId = 9;  // Single Right
-				if ( compareTiles( tileSetId, cell.x + 1, cell.y ) >= +0 &&
-				     compareTiles( tileSetId, cell.x - 1, cell.y ) >= +0 ) cell.tileId = 10; // Single Horizontal Center
-			}
-
-			// Single tiles (vertical)
-			//========================
-			if ( compareTiles( tileSetId, cell.x + 1, cell.y ) == -1 &&
-			     compareTiles( tileSetId, cell.x - 1, cell.y ) == -1 )
-			{
-				if ( compareTiles( tileSetId, cell.x, cell.y + 1 ) == -1 ) cell.tileId = 12; // Single Bottom
-				if ( compareTiles( tileSetId, cell.x, cell.y - 1 ) == -1 ) cell.tileId = 14; // Single Top
-				
-				if ( compareTiles( tileSetId, cell.x, cell.y - 1 ) >= +0 &&
-				     compareTiles( tileSetId, cell.x, cell.y + 1 ) >= +0 ) cell.tileId = 13; // Single Vertical Center
-				     
-				if ( compareTiles( tileSetId, cell.x, cell.y - 1 ) == -1 &&
-				     compareTiles( tileSetId, cell.x, cell.y + 1 ) == -1 ) cell.tileId = 15; // Single Tile
+				if ( map.isChunkEmpty( col / Map.CHUNK_SIZE, row / Map.CHUNK_SIZE ) )
+				{
+					col = ( col / Map.CHUNK_SIZE + 1 ) * Map.CHUNK_SIZE - 1;
+					continue;
+				}
+				updateTile( col, row );
 			}
 		}
 	}
 	
+	// updateTile
+	//===========
+	/**
+	 * Updates the tile ID and the inner corners of a single {@code Map} cell based on its
+	 * neighbors (see {@code TileTable}).
+	 * @param col the column of the cell.
+	 * @param row the row of the cell.
+	 */
+	private void updateTile( int col, int row )
+	{
+		// Neighbor mask
+		//==============
+		int tileSetId = map.getTileSetId( col, row );
+		int mask = 0;
+		
+		if ( tileSetId >= 0 )
+		{
+			if ( compareTiles( tileSetId, col + 1, row     ) >= 0 ) mask |= TileTable.EAST;
+			if ( compareTiles( tileSetId, col + 1, row + 1 ) >= 0 ) mask |= TileTable.NORTH_EAST;
+			if ( compareTiles( tileSetId, col,     row + 1 ) >= 0 ) mask |= TileTable.NORTH;
+			if ( compareTiles( tileSetId, col - 1, row + 1 ) >= 0 ) mask |= TileTable.NORTH_WEST;
+			if ( compareTiles( tileSetId, col - 1, row     ) >= 0 ) mask |= TileTable.WEST;
+			if ( compareTiles( tileSetId, col - 1, row - 1 ) >= 0 ) mask |= TileTable.SOUTH_WEST;
+			if ( compareTiles( tileSetId, col,     row - 1 ) >= 0 ) mask |= TileTable.SOUTH;
+			if ( compareTiles( tileSetId, col + 1, row - 1 ) >= 0 ) mask |= TileTable.SOUTH_EAST;
+		}
+		
+		// Apply tile
+		//===========
+		map.setTileId     ( col, row, TileTable.getTile( mask ) );
+		map.setTileCorners( col, row, TileTable.getCorners( mask ) );
+	}
+	
 	// updateMapObjects
 	//=================
 	private void updateMapObjects()
 	{
-		// Update all objects
+		// Find awake objects
 		//===================
+		long time = profiler.start();
+		updateActiveArea();
+		senseObjects.clear();
+		
+		for ( int i = 0; i < mapObjects.size(); i++ )
+		{
+			MapObject o = mapObjects.get( i );
+			o.setSleeping( !isActive( o ) );
+			
+			if ( o.isAlive() && !o.isSleeping() )
+			{
+				senseObjects.add( o );
+			}
+		}
+		int sensedCount = mapObjects.size();
+		time = profiler.stop( Phase.ACTIVATION, time );
+		
+		// Timers (the timers of sleeping objects are suspended)
+		//======================================================
+		timerWheel.advance();
+		time = profiler.stop( Phase.TIMERS, time );
+		
+		// Contact candidates
+		//===================
+		contactTracker.begin( player, mapObjectGrid );
+		time = profiler.stop( Phase.CONTACTS, time );
+		
+		// Scan ahead (parallel mode)
+		//===========================
+		WorldWorkers workers = null;
+		int senseIndex = 0;
+		
+		if ( isParallel && senseObjects.size() >= PARALLEL_MIN_OBJECTS )
+		{
+			workers = WorldWorkers.get();
+			workers.reserve( mapObjects.size() + this.getFreeMapObjectCount() );
+			mapObjectGrid.beginTracking();
+			workers.sense( senseObjects, mapObjectGrid );
+			time = profiler.stop( Phase.SCAN, time );
+		}
+		
+		// Update objects
+		//===============
+		int size = 0;
+		
 		for ( int i = 0; i < mapObjects.size(); i++ )
 		{
 			MapObject o = mapObjects.get( i );
+			boolean isScanned = workers != null && senseIndex < senseObjects.size() && senseObjects.get( senseIndex ) == o;
 			
-			if ( o.isAlive() )
+			// Check objects spawned during this step
+			//=======================================
+			if ( i >= sensedCount )
 			{
-				o.setSurroundingObjects( getMapObjects( o.getScanArea() ) );
+				o.setSleeping( !isActive( o ) );
+				
+				if ( o.isAlive() && !o.isSleeping() )
+				{
+					contactTracker.sense( o );
+				}
+			}
+			
+			if ( o.isAlive() && !o.isSleeping() )
+			{
+				// Scan surrounding objects (early result if nothing nearby changed)
+				//==================================================================
+				if ( isScanned == true && mapObjectGrid.isChanged( o.getScanArea() ) == false )
+				{
+					o.setSurroundingObjects( workers.getResult( senseIndex ) );
+				}
+				else
+				{
+					WorldWorkers.sense( o, mapObjectGrid, tmp_objectsInArea );
+				}
+				time = profiler.stop( Phase.SCAN, time );
+				
 				o.update();
+				time = profiler.stop( Phase.OBJECTS, time );
 			}
+			if ( isScanned == true )
+			{
+				senseIndex++;
+			}
+			// Fade in or out
+			//===============
+			o.updateAlpha();
+			
+			// Compact list (objects are removed in a single sweep)
+			//=====================================================
 			if ( !o.isAlive() && o.getAlpha() == 0f )
 			{
 				deadMapObjects.add( o );
 			}
-		};
+			else
+			{
+				mapObjects.set( size++, o );
+			}
+		}
+		
+		// End lost contacts
+		//==================
+		contactTracker.end();
+		time = profiler.stop( Phase.CONTACTS, time );
 		
 		// Remove dead objects
 		//====================
-		for ( MapObject d : deadMapObjects )
+		if ( deadMapObjects.size() > 0 )
 		{
-			// Remove from lists
-			//==================
-			mapObjects.remove( d );
-			markedMapObjects.remove( d );
+			truncate( mapObjects, size );
+			removeDeadMapObjects();
+		}
+		profiler.stop( Phase.REMOVAL, time );
+	}
+	
+	// truncate
+	//=========
+	/**
+	 * Removes all elements from the end of a list until it has the given size. Unlike a cleared
+	 * {@code subList} this does not allocate a view per call.
+	 */
+	private static void truncate( ArrayList<MapObject> list, int size )
+	{
+		while ( list.size() > size )
+		{
+			list.remove( list.size() - 1 );
+		}
+	}
+	
+	// removeDeadMapObjects
+	//=====================
+	/**
+	 * Releases the dead objects that were compacted out of the object list during the last step.
+	 * All checks use object identity, so no list has to be searched per dead object.
+	 */
+	private void removeDeadMapObjects()
+	{
+		boolean isMarkedRemoved = false;
+		
+		for ( int i = 0; i < deadMapObjects.size(); i++ )
+		{
+			MapObject d = deadMapObjects.get( i );
+			
+			// Remove from grid and timers
+			//============================
+			mapObjectGrid.remove( d );
+			powerNetwork.remove( d );
+			contactTracker.remove( d );
+			d.releaseRiders();
+			d.stopTimers();
 			
 			// Remove player
 			//==============
@@ -281,8 +565,132 @@ public class WorldController implements Serializable
 			{
 				player = null;
 			}
+			
+			// Remove mark
+			//============
+			if ( markedIndex.remove( d ) != null )
+			{
+				isMarkedRemoved = true;
+			}
+			
+			// Return to pool
+			//===============
+			MapObjectPool<?> pool = mapObjectPools.get( d.getClass() );
+			
+			if ( pool != null )
+			{
+				if ( hoveredMapObject == d )
+				{
+					hoveredMapObject = null;
+				}
+				pool.freeObject( d );
+			}
 		}
 		deadMapObjects.clear();
+		
+		// Compact marked list
+		//====================
+		if ( isMarkedRemoved == true )
+		{
+			int size = 0;
+			
+			for ( int i = 0; i < markedMapObjects.size(); i++ )
+			{
+				MapObject o = markedMapObjects.get( i );
+				
+				if ( markedIndex.containsKey( o ) )
+				{
+					markedMapObjects.set( size++, o );
+				}
+			}
+			truncate( markedMapObjects, size );
+		}
+	}
+	
+	// updateActiveArea
+	//=================
+	/**
+	 * Updates the active region of the world. In live mode, the region is centered at the player,
+	 * so it only depends on the simulation. Otherwise (editor or no player), it is centered at the
+	 * camera and covers at least the visible area.
+	 */
+	private void updateActiveArea()
+	{
+		// Center and extent
+		//==================
+		float x, y;
+		float w = activationRadius;
+		float h = activationRadius;
+		
+		if ( isLive && player != null )
+		{
+			x = player.getBounds().x + player.getBounds().width  / 2f;
+			y = player.getBounds().y + player.getBounds().height / 2f;
+		}
+		else
+		{
+			x = worldCamera.position.x;
+			y = worldCamera.position.y;
+			w = Math.max( w, worldCamera.viewportWidth  * worldCamera.zoom / 2f + Map.CELL_SIZE * 2f );
+			h = Math.max( h, worldCamera.viewportHeight * worldCamera.zoom / 2f + Map.CELL_SIZE * 2f );
+		}
+		
+		// Set area
+		//=========
+		activeArea.set( x - w, y - h, w * 2f, h * 2f );
+	}
+	
+	// isActive
+	//=========
+	/**
+	 * @param o the {@code MapObject} to check.
+	 * @return {@code true} if the object is within the active region or if the active region is
+	 * disabled.
+	 */
+	private boolean isActive( MapObject o )
+	{
+		return ( activationRadius <= 0f || o == player || activeArea.overlaps( o.getBounds() ) );
+	}
+	
+	// setActivationRadius
+	//====================
+	/**
+	 * Sets the distance from the player (or camera) up to which {@code MapObjects} are updated.
+	 * Objects outside of this region are put to sleep until the region reaches them again.
+	 * @param activationRadius the radius in map units. A value of {@code 0} disables sleeping.
+	 */
+	public void setActivationRadius( float activationRadius )
+	{
+		this.activationRadius = activationRadius;
+	}
+	
+	// getActivationRadius
+	//====================
+	public float getActivationRadius()
+	{
+		return ( activationRadius );
+	}
+	
+	// setParallel
+	//============
+	/**
+	 * Enables or disables the parallel update. The objects are always updated one by one in list
+	 * order and each object scans its surrounding objects right before its update. In parallel
+	 * mode, the scans of all awake objects are made ahead by the {@code WorldWorkers} at the start
+	 * of the step. An object uses its early result only if no object near its scan area was added,
+	 * removed or moved since, and scans again otherwise. Both modes produce identical results.
+	 * @param isParallel {@code true} to enable the parallel update.
+	 */
+	public void setParallel( boolean isParallel )
+	{
+		this.isParallel = isParallel;
+	}
+	
+	// isParallel
+	//===========
+	public boolean isParallel()
+	{
+		return ( isParallel );
 	}
 	
 	// updatePopups
@@ -295,8 +703,10 @@ public class WorldController implements Serializable
 	{
 		// Update all popups
 		//==================
-		for ( MapPopup p : popups )
+		for ( int i = 0; i < popups.size(); i++ )
 		{
+			MapPopup p = popups.get( i );
+			
 			if ( p.getAlpha() > 0f )
 			{
 				p.getPosition().y += getDelta( 150f );
@@ -306,7 +716,13 @@ public class WorldController implements Serializable
 		
 		// Remove dead popups
 		//===================
-		popups.removeIf( o -> o.getAlpha() <= 0f );
+		for ( int i = popups.size() - 1; i >= 0; i-- )
+		{
+			if ( popups.get( i ).getAlpha() <= 0f )
+			{
+				popups.remove( i );
+			}
+		}
 	}
 	
 	// updateCamera
@@ -344,54 +760,19 @@ public class WorldController implements Serializable
 	//=============
 	private void updateTimers()
 	{
-		// Game is paused
-		//===============
-		if ( JPlatformerGame.get().isPaused() == true )
+		// The world clock stops while the game is paused, so no timer has to be shifted
+		//==============================================================================
+		if ( map.getCountdownTime() != Map.COUNTDOWN_DISABLED )
 		{
-			if ( pauseStartTime == 0L )
+			gameElapsedTime = map.getCountdownTime() - ( worldClock.getTime() - gameStartTime );
+			if ( gameElapsedTime < 0L )
 			{
-				pauseStartTime = System.currentTimeMillis();
+				gameElapsedTime = 0L;
 			}
 		}
-		// Game is running
-		//================
 		else
 		{
-			// Add pause delay
-			//================
-			if ( pauseStartTime != 0L )
-			{
-				// Get delay
-				//==========
-				long delay = System.currentTimeMillis() - pauseStartTime;
-				pauseStartTime = 0L;
-				
-				// Object routine times
-				//=====================
-				for ( MapObject o : mapObjects )
-				{
-					o.setRoutineTimer( o.getRoutineTimer() + delay );
-				}
-				
-				// Game time
-				//==========
-				gameStartTime += delay;
-			}
-			
-			// Update game time
-			//=================
-			if ( map.getCountdownTime() != Map.COUNTDOWN_DISABLED )
-			{
-				gameElapsedTime = map.getCountdownTime() - ( System.currentTimeMillis() - gameStartTime );
-				if ( gameElapsedTime < 0L )
-				{
-					gameElapsedTime = 0L;
-				}
-			}
-			else
-			{
-				gameElapsedTime = System.currentTimeMillis() - gameStartTime;
-			}
+			gameElapsedTime = worldClock.getTime() - gameStartTime;
 		}
 	}
 	
@@ -491,7 +872,66 @@ public class WorldController implements Serializable
 	//===========
 	public void resetTimer()
 	{
-		gameStartTime = System.currentTimeMillis();
+		gameStartTime = worldClock.getTime();
+		stepAccumulator = 0f;
+	}
+	
+	// getTime
+	//========
+	/**
+	 * @return the current time of the {@code WorldClock} in milliseconds. This time should be
+	 * used for all routines and animations instead of the system time.
+	 */
+	public long getTime()
+	{
+		return ( worldClock.getTime() );
+	}
+	
+	// getTimerWheel
+	//==============
+	/**
+	 * @return the {@code TimerWheel} that schedules the timers of all objects in this world.
+	 */
+	public TimerWheel getTimerWheel()
+	{
+		return ( timerWheel );
+	}
+	
+	// getPowerNetwork
+	//================
+	/**
+	 * @return the {@code PowerNetwork} that indexes all power supported objects by power ID.
+	 */
+	public PowerNetwork getPowerNetwork()
+	{
+		return ( powerNetwork );
+	}
+	
+	// getContactTracker
+	//==================
+	/**
+	 * @return the {@code ContactTracker} that reports contacts between the player and objects.
+	 */
+	public ContactTracker getContactTracker()
+	{
+		return ( contactTracker );
+	}
+	
+	// getMapObjectGrid
+	//=================
+	/**
+	 * @return the {@code MapObjectGrid} that indexes all objects in this world by position.
+	 */
+	public MapObjectGrid getMapObjectGrid()
+	{
+		return ( mapObjectGrid );
+	}
+	
+	// getWorldClock
+	//==============
+	public WorldClock getWorldClock()
+	{
+		return ( worldClock );
 	}
 	
 	// getElapsedTime
@@ -526,12 +966,12 @@ public class WorldController implements Serializable
 	// compareTiles
 	//=============
 	/**
-	 * This method checks the specified {@code MapCell} and returns its {@code tileSetId}, but only
+	 * This method checks the specified {@code Map} cell and returns its {@code tileSetId}, but only
 	 * if it is equal to the {@code tileSetId} argument of this method. Otherwise, an invalid tile
 	 * set ID is returned ({@code -1}).
 	 * @param tileSetId the tile set ID to compare against.
-	 * @param col the column of the {@code MapCell} to check.
-	 * @param row the row of the {@code MapCell} to check.
+	 * @param col the column of the cell to check.
+	 * @param row the row of the cell to check.
 	 * @return see description.
 	 */
 	public int compareTiles( int tileSetId, int col, int row )
@@ -545,9 +985,9 @@ public class WorldController implements Serializable
 		
 		// Compare tileSetId
 		//==================
-		if ( map.getCellAt( col, row ).tileSetId == tileSetId )
+		if ( map.getTileSetId( col, row ) == tileSetId )
 		{
-			return ( map.getCellAt( col, row ).tileSetId );
+			return ( tileSetId );
 		}
 		return ( -1 );
 	}
@@ -555,54 +995,62 @@ public class WorldController implements Serializable
 	// setCells
 	//=========
 	/**
-	 * Sets the {@code tileSetId} field of all {@code MapCells} within an area to a specified value.
+	 * Sets the tile set ID of all {@code Map} cells within an area to a specified value. Only the
+	 * tiles of the edited cells and their direct neighbors are updated afterwards.
 	 * @param area the {@code Map} area that contains the cells to edit.
 	 * @param value the new value.
 	 */
 	public void setCells( Rectangle area, int value )
 	{
-		// Temporary object
+		// Overlapped cells
 		//=================
-		Rectangle cell = new Rectangle();
-			
-		// Iteration
-		//==========
-		for ( int y = 0; y < map.getRows(); y++ )
+		int x1 = (int) Math.floor( area.x / Map.CELL_SIZE );
+		int y1 = (int) Math.floor( area.y / Map.CELL_SIZE );
+		int x2 = (int) Math.ceil( ( area.x + area.width  ) / Map.CELL_SIZE );
+		int y2 = (int) Math.ceil( ( area.y + area.height ) / Map.CELL_SIZE );
+		
+		if ( x1 < 0 ) x1 = 0;
+		if ( y1 < 0 ) y1 = 0;
+		if ( x2 > map.getColumns() ) x2 = map.getColumns();
+		if ( y2 > map.getRows() )    y2 = map.getRows();
+		
+		// Set tileSetId
+		//==============
+		for ( int y = y1; y < y2; y++ )
 		{
-			for ( int x = 0; x < map.getColumns(); x++ )
+			for ( int x = x1; x < x2; x++ )
 			{
-				// Calculate bounds
-				//=================
-				cell.x      = Map.CELL_SIZE * x;
-				cell.y      = Map.CELL_SIZE * y;
-				cell.width  = Map.CELL_SIZE;
-				cell.height = Map.CELL_SIZE;
-
-				// Set tileSetId
-				//==============
-				if ( area.overlaps( cell ) )
-				{
-					map.getCellAt( x, y ).tileSetId = value;
-				}
+				map.setTileSetId( x, y, value );
 			}
 		}
 		
 		// Update tiles
 		//=============
-		this.updateTiles();
+		this.updateTiles( x1 - 1, y1 - 1, x2 + 1, y2 + 1 );
+	}
+	
+	// getVisibleArea
+	//===============
+	/**
+	 * @return the area of the {@code Map} that is covered by the applied {@code WorldCamera}. The
+	 * returned rectangle is reused by the next call.
+	 */
+	public Rectangle getVisibleArea()
+	{
+		return ( visibleArea.set( worldCamera.getOffset().x,
+		                          worldCamera.getOffset().y,
+		                          worldCamera.viewportWidth  * worldCamera.zoom,
+		                          worldCamera.viewportHeight * worldCamera.zoom ) );
 	}
 	
 	// getVisibleCells
 	//================
 	/**
-	 * @return an array of all visible {@code MapCells} based on the applied {@code WorldCamera}.
+	 * @return the range of all visible {@code Map} cells based on the applied {@code WorldCamera}.
+	 * The returned range is reused by the next call.
 	 */
-	public ArrayList<MapCell> getVisibleCells()
+	public CellRange getVisibleCells()
 	{
-		// Clear cell list
-		//================
-		visibleMapCells.clear();
-		
 		// Visible cells start
 		//====================
 		int x1 = (int) ( worldCamera.getOffset().x / Map.CELL_SIZE );
@@ -618,30 +1066,16 @@ public class WorldController implements Serializable
 
 		if ( x2 > map.getColumns() ) x2 = map.getColumns();
 		if ( y2 > map.getRows() )    y2 = map.getRows();
-
-		// Iteration
-		//==========
-		for ( int y = y1; y < y2; y++ )
-		{
-			// Check row visibility
-			//=====================
-			if ( Map.CELL_SIZE * y > worldCamera.getOffset().y + worldCamera.viewportHeight * worldCamera.zoom )
-			{
-				break;
-			}
-			
-			// Check column visibility
-			//========================
-			for ( int x = x1; x < x2; x++ )
-			{
-				if ( Map.CELL_SIZE * x > worldCamera.getOffset().x + worldCamera.viewportWidth * worldCamera.zoom )
-				{
-					break;
-				}
-				visibleMapCells.add( map.getCellAt( x, y ) );
-			}
-		}
-		return ( visibleMapCells );
+		
+		// Limit to camera view
+		//=====================
+		int xLimit = (int) Math.floor( ( worldCamera.getOffset().x + worldCamera.viewportWidth  * worldCamera.zoom ) / Map.CELL_SIZE ) + 1;
+		int yLimit = (int) Math.floor( ( worldCamera.getOffset().y + worldCamera.viewportHeight * worldCamera.zoom ) / Map.CELL_SIZE ) + 1;
+		
+		if ( x2 > xLimit ) x2 = xLimit;
+		if ( y2 > yLimit ) y2 = yLimit;
+		
+		return ( visibleCells.set( x1, y1, x2, y2 ) );
 	}
 	
 	// getMap
@@ -659,6 +1093,8 @@ public class WorldController implements Serializable
 	public void setMapObjects( ArrayList<MapObject> mapObjects )
 	{
 		this.mapObjects = mapObjects;
+		this.mapObjectGrid.rebuild( mapObjects );
+		this.powerNetwork.rebuild( mapObjects );
 	}
 	
 	// addMapObject
@@ -674,8 +1110,61 @@ public class WorldController implements Serializable
 	{
 		newMapObject.setPosition( x, y, center );
 		mapObjects.add( newMapObject );
+		mapObjectGrid.add( newMapObject );
+		powerNetwork.add( newMapObject );
+		newMapObject.startTimers();
 	}
 		
+	// obtainMapObject
+	//================
+	/**
+	 * Returns a new {@code MapObject} of the specified type. Dead objects of this type are
+	 * returned to a pool by this controller and reused here, so the object might be recycled.
+	 * The object still needs to be added to the world by {@code addMapObject}.
+	 * @param type the type of the object. It must provide a constructor that only takes a
+	 * {@code WorldController}.
+	 * @return the new or recycled object.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends MapObject> T obtainMapObject( Class<T> type )
+	{
+		MapObjectPool<T> pool = (MapObjectPool<T>) mapObjectPools.get( type );
+		
+		if ( pool == null )
+		{
+			pool = new MapObjectPool<T>( this, type );
+			mapObjectPools.put( type, pool );
+		}
+		return ( pool.obtain() );
+	}
+	
+	// getMapObjectPools
+	//==================
+	/**
+	 * @return all {@code MapObjectPools} by object type.
+	 */
+	public ObjectMap<Class<?>, MapObjectPool<?>> getMapObjectPools()
+	{
+		return ( mapObjectPools );
+	}
+	
+	// getFreeMapObjectCount
+	//======================
+	/**
+	 * @return the number of dead objects in all {@code MapObjectPools}. Each of them can be spawned
+	 * again without a miss, so the result lists of the parallel scan are reserved for them as well.
+	 */
+	private int getFreeMapObjectCount()
+	{
+		int count = 0;
+		
+		for ( MapObjectPool<?> pool : mapObjectPools.values() )
+		{
+			count += pool.getFree();
+		}
+		return ( count );
+	}
+	
 	// removeMapObject
 	//================
 	/**
@@ -694,7 +1183,16 @@ public class WorldController implements Serializable
 		// Remove object
 		//==============
 		mapObjects.remove( mapObject );
-		markedMapObjects.remove( mapObject );
+		mapObjectGrid.remove( mapObject );
+		powerNetwork.remove( mapObject );
+		contactTracker.remove( mapObject );
+		mapObject.releaseRiders();
+		mapObject.stopTimers();
+		
+		if ( markedIndex.remove( mapObject ) != null )
+		{
+			markedMapObjects.remove( mapObject );
+		}
 	}
 	
 	// removeMapObjects
@@ -753,25 +1251,28 @@ public class WorldController implements Serializable
 	// getMapObjects
 	//==============
 	/**
+	 * The objects are looked up in the {@code MapObjectGrid}, so only objects near the area are
+	 * tested. The returned list is reused by the next call.
 	 * @param area the area on the {@code Map} to scan for {@code MapObjects}.
-	 * @return an {@code ArrayList} of all overlapping {@code MapObjects}.
+	 * @return an {@code ArrayList} of all overlapping {@code MapObjects} in list order.
 	 */
 	public ArrayList<MapObject> getMapObjects( Rectangle area )
 	{
-		// Clear helper array
-		//===================
-		tmp_objectsInArea.clear();
-		
-		// Find overlapping objects
-		//=========================
-		for ( int i = 0; i < mapObjects.size(); i++ )
-		{
-			if ( mapObjects.get( i ).getBounds().overlaps( area ) )
-			{
-				tmp_objectsInArea.add( mapObjects.get( i ) );
-			}
-		}
-		return ( tmp_objectsInArea );
+		return ( mapObjectGrid.query( area, tmp_objectsInArea ) );
+	}
+	
+	// getMapObjects
+	//==============
+	/**
+	 * Looks up the {@code MapObjects} that overlap an area like {@code getMapObjects( area )}, but
+	 * fills a list of the caller (i.e. to keep the result while other queries are made).
+	 * @param area the area on the {@code Map} to scan for {@code MapObjects}.
+	 * @param result the list to fill. The list is cleared first.
+	 * @return the {@code result} list.
+	 */
+	public ArrayList<MapObject> getMapObjects( Rectangle area, ArrayList<MapObject> result )
+	{
+		return ( mapObjectGrid.query( area, result ) );
 	}
 	
 	// setHoveredMapObject
@@ -802,23 +1303,33 @@ public class WorldController implements Serializable
 		if ( mapObject == null )
 		{
 			markedMapObjects.clear();
+			markedIndex.clear();
 			return;
 		}
 		
 		// Unmark if already marked
 		//=========================
-		for ( MapObject o : markedMapObjects )
+		if ( markedIndex.remove( mapObject ) != null )
 		{
-			if ( o == mapObject )
-			{
-				markedMapObjects.remove( o );
-				return;
-			}
+			markedMapObjects.remove( mapObject );
+			return;
 		}
 		
 		// Add to marked list
 		//===================
 		markedMapObjects.add( mapObject );
+		markedIndex.put( mapObject, Boolean.TRUE );
+	}
+	
+	// isMarkedMapObject
+	//==================
+	/**
+	 * @param mapObject the {@code MapObject} to check.
+	 * @return {@code true} if the object is currently marked.
+	 */
+	public boolean isMarkedMapObject( MapObject mapObject )
+	{
+		return ( markedIndex.containsKey( mapObject ) );
 	}
 	
 	// getMarkedMapObjects
@@ -842,6 +1353,7 @@ public class WorldController implements Serializable
 		this.player = player;
 		mapObjects.remove( player );
 		mapObjects.add( player );
+		mapObjectGrid.add( player );
 		
 		// Update camera
 		//==============
@@ -872,6 +1384,16 @@ public class WorldController implements Serializable
 		return ( map.getMapBounds() );
 	}
 	
+	// getProfiler
+	//============
+	/**
+	 * @return the {@code WorldProfiler} that measures the simulation steps of this controller.
+	 */
+	public WorldProfiler getProfiler()
+	{
+		return ( profiler );
+	}
+	
 	// getWorldAudio
 	//==============
 	public WorldAudio getWorldAudio()
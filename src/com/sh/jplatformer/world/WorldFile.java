@@ -77,11 +77,19 @@ public class WorldFile
 			{
 				for ( int y = 0; y < map.getRows(); y++ )
 				{
+					// Skip empty chunks
+					//==================
+					if ( map.isChunkEmpty( x / Map.CHUNK_SIZE, y / Map.CHUNK_SIZE ) )
+					{
+						y = ( y / Map.CHUNK_SIZE + 1 ) * Map.CHUNK_SIZE - 1;
+						continue;
+					}
+					
 					// Add to temporary array
 					//=======================
-					if ( map.getCellAt( x, y ).tileSetId >= 0 )
+					if ( map.getTileSetId( x, y ) >= 0 )
 					{
-						tmp_cells.add( map.getCellAt( x, y ) );
+						tmp_cells.add( map.getCell( x, y, new MapCell() ) );
 					}
 				}
 			}
@@ -165,8 +173,7 @@ public class WorldFile
 			for ( int i = 0; i < cells; i++ )
 			{
 				cell = ( ( MapCell ) in.readObject() );
-				map.getCellAt( cell.x, cell.y ).tileId = cell.tileId;
-				map.getCellAt( cell.x, cell.y ).tileSetId = cell.tileSetId;
+				map.setCell( cell );
 			}
 			
 			// Map object data
@@ -182,6 +189,8 @@ public class WorldFile
 				o.initFrames();
 				o.initAgility();
 				o.setWorldController( worldController );
+				o.resetTimers();
+				o.startTimers();
 			} 
 			
 			// Reset player position
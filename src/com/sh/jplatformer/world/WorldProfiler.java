@@ -0,0 +1,159 @@
+package com.sh.jplatformer.world;
+
+/**
+ * The {@code WorldProfiler} measures the time spent in the phases of the simulation steps of a
+ * {@code WorldController}. It is disabled by default, in which case it does not read the system
+ * timer at all.
+ * @author Stefan Hsemann
+ */
+
+public class WorldProfiler
+{
+	// Phases
+	//=======
+	public enum Phase
+	{
+		ACTIVATION  ( "Activation"      ),
+		TIMERS      ( "Timers"          ),
+		CONTACTS    ( "Contacts"        ),
+		SCAN        ( "Scan queries"    ),
+		OBJECTS     ( "Object updates"  ),
+		REMOVAL     ( "Dead objects"    ),
+		POPUPS      ( "Popups"          ),
+		WORLD_STATE ( "World state"     );
+		
+		private final String title;
+		
+		private Phase( String title )
+		{
+			this.title = title;
+		}
+		
+		public String getTitle()
+		{
+			return ( title );
+		}
+	}
+	
+	// Fields
+	//=======
+	private boolean isEnabled;
+	private long[] phaseTimes;
+	private long steps;
+	
+	// Constructor
+	//============
+	public WorldProfiler()
+	{
+		phaseTimes = new long[Phase.values().length];
+	}
+	
+	// start
+	//======
+	/**
+	 * @return the current time in nanoseconds, or {@code 0} if this profiler is disabled.
+	 */
+	public long start()
+	{
+		if ( isEnabled == false )
+		{
+			return ( 0L );
+		}
+		return ( System.nanoTime() );
+	}
+	
+	// stop
+	//=====
+	/**
+	 * Adds the time since {@code startTime} to the specified phase.
+	 * @param phase the phase to add the time to.
+	 * @param startTime the value returned by {@link #start()}.
+	 * @return the current time in nanoseconds, so the next phase can be measured from here.
+	 */
+	public long stop( Phase phase, long startTime )
+	{
+		if ( isEnabled == false )
+		{
+			return ( 0L );
+		}
+		long time = System.nanoTime();
+		phaseTimes[phase.ordinal()] += time - startTime;
+		
+		return ( time );
+	}
+	
+	// countStep
+	//==========
+	public void countStep()
+	{
+		if ( isEnabled == true )
+		{
+			steps++;
+		}
+	}
+	
+	// reset
+	//======
+	/**
+	 * Resets all measured times and the step counter.
+	 */
+	public void reset()
+	{
+		for ( int i = 0; i < phaseTimes.length; i++ )
+		{
+			phaseTimes[i] = 0L;
+		}
+		steps = 0L;
+	}
+	
+	// setEnabled
+	//===========
+	public void setEnabled( boolean isEnabled )
+	{
+		this.isEnabled = isEnabled;
+	}
+	
+	// isEnabled
+	//==========
+	public boolean isEnabled()
+	{
+		return ( isEnabled );
+	}
+	
+	// getTime
+	//========
+	/**
+	 * @param phase the phase.
+	 * @return the total time spent in the phase in nanoseconds.
+	 */
+	public long getTime( Phase phase )
+	{
+		return ( phaseTimes[phase.ordinal()] );
+	}
+	
+	// getTotalTime
+	//=============
+	/**
+	 * @return the total time of all phases in nanoseconds.
+	 */
+	public long getTotalTime()
+	{
+		long sum = 0L;
+		
+		for ( long t : phaseTimes )
+		{
+			sum += t;
+		}
+		return ( sum );
+	}
+	
+	// getSteps
+	//=========
+	/**
+	 * @return the number of simulation steps counted while enabled.
+	 */
+	public long getSteps()
+	{
+		return ( steps );
+	}
+}
@@ -1,16 +1,20 @@
 package com.sh.jplatformer.world;
 
+import java.util.ArrayList;
+
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.scenes.scene2d.utils.ScissorStack;
 import com.sh.jplatformer.JPlatformerGame;
 import com.sh.jplatformer.resources.Resources;
+import com.sh.jplatformer.util.RenderBatch;
+import com.sh.jplatformer.util.RenderStats.Layer;
 import com.sh.jplatformer.world.map.Map;
-import com.sh.jplatformer.world.map.MapCell;
 import com.sh.jplatformer.world.map.MapObject;
 
 /**
@@ -20,12 +24,24 @@ import com.sh.jplatformer.world.map.MapObject;
 
 public class WorldRenderer
 {
+	// Constants
+	//==========
+	private static final float OBJECT_MARGIN = Map.CELL_SIZE * 2f;
+	
 	// Fields
 	//=======
 	private WorldController worldController;
 	private ShapeRenderer shapeRenderer;
 	private Rectangle scissors;
 	private float waterOffset;
+	private TileCache tileCache;
+	
+	// Object culling
+	//===============
+	private ArrayList<MapObject> visibleObjects;
+	private Rectangle objectArea;
+	private int drawnObjects;
+	private int culledObjects;
 	
 	// Constructor
 	//============
@@ -37,6 +53,9 @@ public class WorldRenderer
 		this.worldController = worldController;
 		this.shapeRenderer   = new ShapeRenderer();
 		this.scissors        = new Rectangle();
+		this.tileCache       = new TileCache( Resources.WORLD.tiles );
+		this.visibleObjects  = new ArrayList<MapObject>();
+		this.objectArea      = new Rectangle();
 	}
 	
 	// render
@@ -66,13 +85,14 @@ public class WorldRenderer
 		//====================
 		ScissorStack.pushScissors( scissors );
 		{
-			this.drawBackground( spriteBatch );
-			this.drawForeground( spriteBatch );
-			this.drawTiles     ( spriteBatch );
-			this.drawMapObjects( spriteBatch );
-			this.drawWater     ( spriteBatch );
+			this.setLayer( spriteBatch, Layer.BACKGROUND ); this.drawBackground( spriteBatch );
+			this.setLayer( spriteBatch, Layer.FOREGROUND ); this.drawForeground( spriteBatch );
+			this.setLayer( spriteBatch, Layer.TILES      ); this.drawTiles     ( spriteBatch );
+			this.setLayer( spriteBatch, Layer.OBJECTS    ); this.drawMapObjects( spriteBatch );
+			this.setLayer( spriteBatch, Layer.WATER      ); this.drawWater     ( spriteBatch );
 			
 			spriteBatch.flush();
+			this.setLayer( spriteBatch, Layer.UI );
 		}
 		ScissorStack.popScissors();
 		
@@ -84,6 +104,19 @@ public class WorldRenderer
 		}
 	}
 	
+	// setLayer
+	//=========
+	/**
+	 * Assigns the following draw calls to a layer if the batch counts them.
+	 */
+	private void setLayer( SpriteBatch spriteBatch, Layer layer )
+	{
+		if ( spriteBatch instanceof RenderBatch )
+		{
+			( (RenderBatch) spriteBatch ).setLayer( layer );
+		}
+	}
+	
 	// drawOutline
 	//============
 	private void drawOutline()
@@ -125,6 +158,8 @@ public class WorldRenderer
 		
 		// Draw surface
 		//=============
+		TextureRegion strip = Resources.WORLD.waterStrips[map.getWaterId()];
+		
 		for ( int i = 0; i < map.getColumns(); i++ )
 		{
 			// Temporary values
@@ -140,10 +175,10 @@ public class WorldRenderer
 			{
 				if ( x < camera.getOffset().x + camera.viewportWidth * zoom )
 				{
-					spriteBatch.draw( Resources.WORLD.texture_water,
+					spriteBatch.draw( strip.getTexture(),
 					                  x, y,
 					                  Map.CELL_SIZE, Map.CELL_SIZE,
-					                  (int) waterOffset, ( Map.CELL_SIZE + 10 ) * map.getWaterId(),
+					                  strip.getRegionX() + (int) waterOffset, strip.getRegionY(),
 					                  Map.CELL_SIZE, Map.CELL_SIZE,
 					                  false, false );
 				}
@@ -152,10 +187,10 @@ public class WorldRenderer
 		
 		// Draw body color
 		//================
-		spriteBatch.draw( Resources.WORLD.texture_water,
+		spriteBatch.draw( strip.getTexture(),
 		                  0f, 0f,
 		                  Map.CELL_SIZE * map.getColumns(), map.getWaterHeight() - Map.CELL_SIZE,
-		                  0, ( Map.CELL_SIZE + 10 ) * map.getWaterId() + Map.CELL_SIZE - 1,
+		                  strip.getRegionX(), strip.getRegionY() + Map.CELL_SIZE - 1,
 		                  1, 1,
 		                  false, false );
 	}
@@ -164,86 +199,62 @@ public class WorldRenderer
 	//==========
 	private void drawTiles( SpriteBatch spriteBatch )
 	{
-		for ( MapCell cell : worldController.getVisibleCells() )
-		{
-			if ( cell.tileSetId > -1 )
-			{
-				spriteBatch.draw( Resources.WORLD.tiles[cell.tileSetId][cell.tileId],
-				                  cell.x * Map.CELL_SIZE,
-				                  cell.y * Map.CELL_SIZE );
-				
-				this.drawTileCorner( cell, spriteBatch );
-			}
-		}
+		tileCache.draw( worldController.getMap(), worldController.getVisibleCells(), spriteBatch );
 	}
 	
-	// drawTileCorner
-	//===============
-	private void drawTileCorner( MapCell cell, SpriteBatch spriteBatch )
+	// getTileCache
+	//=============
+	public TileCache getTileCache()
 	{
-		// Get ID
-		//=======
-		int tileSetId = cell.tileSetId;
-		
-		// Right side corners
-		//===================
-		if ( worldController.compareTiles( tileSetId, cell.x + 1, cell.y ) >= +0 )
-		{
-			// Bottom right corner
-			//====================
-			if ( worldController.compareTiles( tileSetId, cell.x,     cell.y - 1 ) >= +0 &&
-			     worldController.compareTiles( tileSetId, cell.x + 1, cell.y - 1 ) == -1 )
-			{
-				spriteBatch.draw( Resources.WORLD.tiles[tileSetId][19],
-				                  cell.x * Map.CELL_SIZE + Map.CELL_SIZE / 2f,
-				                  cell.y * Map.CELL_SIZE - Map.CELL_SIZE / 2f );
-			}
-			
-			// Top right corner
-			//=================
-			if ( worldController.compareTiles( tileSetId, cell.x,     cell.y + 1 ) >= +0 &&
-			     worldController.compareTiles( tileSetId, cell.x + 1, cell.y + 1 ) == -1 )
-			{
-				spriteBatch.draw( Resources.WORLD.tiles[tileSetId][17],
-		                          cell.x * Map.CELL_SIZE + Map.CELL_SIZE / 2f,
-		                          cell.y * Map.CELL_SIZE + Map.CELL_SIZE / 2f );
-			}
-		}
-			
-		// Left side corners
-		//==================
-		if ( worldController.compareTiles( tileSetId, cell.x - 1, cell.y ) >= +0 )
-		{
-			// Bottom left corner
-			//===================
-			if ( worldController.compareTiles( tileSetId, cell.x,     cell.y - 1 ) >= +0 &&
-			     worldController.compareTiles( tileSetId, cell.x - 1, cell.y - 1 ) == -1 )
-			{
-				spriteBatch.draw( Resources.WORLD.tiles[tileSetId][18],
-		                          cell.x * Map.CELL_SIZE - Map.CELL_SIZE / 2f,
-		                          cell.y * Map.CELL_SIZE - Map.CELL_SIZE / 2f );
-			}
-			
-			// Top left corner
-			//================
-			if ( worldController.compareTiles( tileSetId, cell.x,     cell.y + 1 ) >= +0 &&
-			     worldController.compareTiles( tileSetId, cell.x - 1, cell.y + 1 ) == -1 )
-			{
-				spriteBatch.draw( Resources.WORLD.tiles[tileSetId][16],
-		                          cell.x * Map.CELL_SIZE - Map.CELL_SIZE / 2f,
-		                          cell.y * Map.CELL_SIZE + Map.CELL_SIZE / 2f );
-			}
-		}
+		return ( tileCache );
 	}
 	
 	// drawMapObjects
 	//===============
+	/**
+	 * Draws the objects within the view of the camera. The frames of the objects may exceed their
+	 * bounds, so the view is extended by {@code OBJECT_MARGIN} before the objects are looked up.
+	 */
 	private void drawMapObjects( SpriteBatch batch )
 	{
-		for ( MapObject object : worldController.getMapObjects() )
+		// Find visible objects
+		//=====================
+		Rectangle view = worldController.getVisibleArea();
+		objectArea.set( view.x - OBJECT_MARGIN,
+		                view.y - OBJECT_MARGIN,
+		                view.width  + OBJECT_MARGIN * 2f,
+		                view.height + OBJECT_MARGIN * 2f );
+		worldController.getMapObjects( objectArea, visibleObjects );
+		
+		// Draw objects
+		//=============
+		for ( int i = 0; i < visibleObjects.size(); i++ )
 		{
-			object.draw( batch );
+			visibleObjects.get( i ).draw( batch );
 		}
+		drawnObjects  = visibleObjects.size();
+		culledObjects = worldController.getMapObjects().size() - drawnObjects;
+	}
+	
+	// getDrawnObjects
+	//================
+	/**
+	 * @return the number of {@code MapObjects} drawn in the last frame.
+	 */
+	public int getDrawnObjects()
+	{
+		return ( drawnObjects );
+	}
+	
+	// getCulledObjects
+	//=================
+	/**
+	 * @return the number of {@code MapObjects} skipped in the last frame because they were out of
+	 * view.
+	 */
+	public int getCulledObjects()
+	{
+		return ( culledObjects );
 	}
 	
 	// drawBackground
@@ -0,0 +1,231 @@
+package com.sh.jplatformer.world;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import com.sh.jplatformer.world.map.MapObject;
+import com.sh.jplatformer.world.map.MapObjectGrid;
+
+/**
+ * The {@code WorldWorkers} class is a pool of worker threads that scans the surrounding objects of
+ * many objects in parallel. The objects are split into contiguous slices and each worker scans the
+ * objects of its slice. The scans do not modify any shared state and their results are kept apart
+ * from the objects, so the caller decides for each object whether a result is still valid when the
+ * object is updated. The workers are started once and are woken up by a new generation number for
+ * each scan, so a scan does not allocate any tasks, futures or queue entries.
+ * @author Stefan Hsemann
+ */
+
+public class WorldWorkers
+{
+	// Instance
+	//=========
+	private static WorldWorkers instance;
+	
+	// Workers
+	//========
+	private ArrayList<SenseTask> tasks;
+	private ArrayList<Thread> threads;
+	private ArrayList<ArrayList<MapObject>> results;
+	
+	// Synchronization
+	//================
+	volatile int generation;
+	volatile Thread caller;
+	volatile Throwable error;
+	final AtomicInteger pending;
+	
+	// Constructor
+	//============
+	private WorldWorkers( int workerCount )
+	{
+		tasks   = new ArrayList<SenseTask>();
+		threads = new ArrayList<Thread>();
+		results = new ArrayList<ArrayList<MapObject>>();
+		pending = new AtomicInteger();
+		
+		// Daemon threads
+		//===============
+		for ( int i = 0; i < workerCount; i++ )
+		{
+			SenseTask task = new SenseTask( this );
+			Thread thread  = new Thread( task, "World worker" );
+			thread.setDaemon( true );
+			tasks.add( task );
+			threads.add( thread );
+			thread.start();
+		}
+	}
+	
+	// get
+	//====
+	/**
+	 * Creates a single instance of this class with one worker per processor (if there is none
+	 * yet) and returns it.
+	 */
+	public static synchronized WorldWorkers get()
+	{
+		if ( instance == null )
+		{
+			instance = new WorldWorkers( Runtime.getRuntime().availableProcessors() );
+		}
+		return ( instance );
+	}
+	
+	// reserve
+	//========
+	/**
+	 * Creates result lists for the specified number of objects in advance, so a later scan of
+	 * more objects than before does not have to create them.
+	 * @param count the number of objects.
+	 */
+	public void reserve( int count )
+	{
+		while ( results.size() < count )
+		{
+			results.add( new ArrayList<MapObject>() );
+		}
+	}
+	
+	// sense
+	//======
+	/**
+	 * Queries the grid for the surrounding objects of all specified {@code MapObjects}. The
+	 * objects themselves are not changed, the result of each object is available by
+	 * {@link #getResult(int)} until the next call. This method returns when all workers are done.
+	 * @param mapObjects the objects to process.
+	 * @param grid the grid to query. It must not be modified while this method is running.
+	 */
+	public void sense( ArrayList<MapObject> mapObjects, MapObjectGrid grid )
+	{
+		// Result lists
+		//=============
+		this.reserve( mapObjects.size() );
+		
+		// Split objects
+		//==============
+		int count = tasks.size();
+		int slice = ( mapObjects.size() + count - 1 ) / count;
+		
+		for ( int i = 0; i < count; i++ )
+		{
+			SenseTask task = tasks.get( i );
+			task.mapObjects = mapObjects;
+			task.results    = results;
+			task.grid       = grid;
+			task.from       = Math.min( i * slice, mapObjects.size() );
+			task.to         = Math.min( task.from + slice, mapObjects.size() );
+		}
+		
+		// Wake up workers
+		//================
+		error  = null;
+		caller = Thread.currentThread();
+		pending.set( count );
+		generation++;
+		
+		for ( int i = 0; i < count; i++ )
+		{
+			LockSupport.unpark( threads.get( i ) );
+		}
+		
+		// Wait for workers
+		//=================
+		while ( pending.get() > 0 )
+		{
+			LockSupport.park( this );
+		}
+		if ( error != null )
+		{
+			throw new RuntimeException( "Error in world worker!", error );
+		}
+	}
+	
+	// getResult
+	//==========
+	/**
+	 * @param index the index of an object in the list of the last {@code sense} call.
+	 * @return the objects that overlapped the scan area of the object when it was scanned.
+	 */
+	public ArrayList<MapObject> getResult( int index )
+	{
+		return ( results.get( index ) );
+	}
+	
+	// sense
+	//======
+	/**
+	 * Sets the surrounding objects of a single {@code MapObject} on the calling thread.
+	 * @param o the object to process.
+	 * @param grid the grid to query.
+	 * @param buffer a temporary list for the query result.
+	 */
+	public static void sense( MapObject o, MapObjectGrid grid, ArrayList<MapObject> buffer )
+	{
+		o.setSurroundingObjects( grid.query( o.getScanArea(), buffer ) );
+	}
+}
+
+class SenseTask implements Runnable
+{
+	// Fields
+	//=======
+	public ArrayList<MapObject> mapObjects;
+	public ArrayList<ArrayList<MapObject>> results;
+	public MapObjectGrid grid;
+	public int from;
+	public int to;
+	private WorldWorkers workers;
+	
+	// Constructor
+	//============
+	public SenseTask( WorldWorkers workers )
+	{
+		this.workers = workers;
+	}
+	
+	// run
+	//====
+	/**
+	 * Waits for each new generation, scans the slice and wakes up the caller when the last
+	 * worker is done.
+	 */
+	@Override
+	public void run()
+	{
+		int generation = 0;
+		
+		while ( true )
+		{
+			// Wait for scan
+			//==============
+			while ( workers.generation == generation )
+			{
+				LockSupport.park( this );
+			}
+			generation = workers.generation;
+			
+			// Scan slice
+			//===========
+			try
+			{
+				for ( int i = from; i < to; i++ )
+				{
+					grid.query( mapObjects.get( i ).getScanArea(), results.get( i ) );
+				}
+			}
+			catch ( Throwable t )
+			{
+				workers.error = t;
+			}
+			
+			// Done
+			//=====
+			if ( workers.pending.decrementAndGet() == 0 )
+			{
+				LockSupport.unpark( workers.caller );
+			}
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package com.sh.jplatformer.world.map;
+
+/**
+ * The {@code CellRange} class describes a rectangular range of {@code Map} cells. The start
+ * column and row are inclusive, the end column and row are exclusive.
+ * @author Stefan Hsemann
+ */
+
+public class CellRange
+{
+	// Fields
+	//=======
+	public int x1;
+	public int y1;
+	public int x2;
+	public int y2;
+	
+	// set
+	//====
+	public CellRange set( int x1, int y1, int x2, int y2 )
+	{
+		this.x1 = x1;
+		this.y1 = y1;
+		this.x2 = x2;
+		this.y2 = y2;
+		
+		return ( this );
+	}
+	
+	// isEmpty
+	//========
+	public boolean isEmpty()
+	{
+		return ( x2 <= x1 || y2 <= y1 );
+	}
+}
@@ -0,0 +1,313 @@
+package com.sh.jplatformer.world.map;
+
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * The {@code CollisionLayer} merges the blocked cells of each {@code Map} chunk into as few
+ * rectangles as possible. Each row of a chunk is split into runs of blocked cells, and each run is
+ * extended over the following rows as long as they contain the same run. Long floors and tall walls
+ * therefore become a single rectangle. A chunk is marked as dirty whenever the solidity of one of
+ * its cells changes and is merged again before its next query, so editing the map only rebuilds
+ * the chunks that were touched.
+ * @author Stefan Hsemann
+ */
+
+public class CollisionLayer
+{
+	// Fields
+	//=======
+	private Map map;
+	private int[][] chunkRects;
+	private int[] chunkRectCounts;
+	private boolean[] dirtyChunks;
+	private int chunkColumns;
+	private int chunkRows;
+	private int[] rowBits;
+	
+	// Constructor
+	//============
+	/**
+	 * Creates a new {@code CollisionLayer}.
+	 * @param map the {@code Map} whose blocked cells are merged.
+	 */
+	CollisionLayer( Map map )
+	{
+		this.map = map;
+		rowBits  = new int[Map.CHUNK_SIZE];
+	}
+	
+	// reset
+	//======
+	/**
+	 * Removes all rectangles and resizes the layer to the chunks of the {@code Map}.
+	 */
+	void reset( int newChunkColumns, int newChunkRows )
+	{
+		chunkColumns    = newChunkColumns;
+		chunkRows       = newChunkRows;
+		chunkRects      = new int[chunkColumns * chunkRows][];
+		chunkRectCounts = new int[chunkColumns * chunkRows];
+		dirtyChunks     = new boolean[chunkColumns * chunkRows];
+	}
+	
+	// invalidate
+	//===========
+	/**
+	 * Marks the chunk of a cell as dirty after the solidity of the cell has changed.
+	 * @param col the column of the cell.
+	 * @param row the row of the cell.
+	 */
+	void invalidate( int col, int row )
+	{
+		dirtyChunks[( row / Map.CHUNK_SIZE ) * chunkColumns + col / Map.CHUNK_SIZE] = true;
+	}
+	
+	// overlaps
+	//=========
+	/**
+	 * @param area the area on the map.
+	 * @return {@code true} if any blocked cell overlaps the area.
+	 */
+	public boolean overlaps( Rectangle area )
+	{
+		if ( chunkRects.length == 0 )
+		{
+			return ( false );
+		}
+		
+		// Chunk range
+		//============
+		int cc1 = this.getChunkColumn( area.x );
+		int cc2 = this.getChunkColumn( area.x + area.width );
+		int cr1 = this.getChunkRow( area.y );
+		int cr2 = this.getChunkRow( area.y + area.height );
+		
+		// Test rectangles
+		//================
+		for ( int cr = cr1; cr <= cr2; cr++ )
+		{
+			for ( int cc = cc1; cc <= cc2; cc++ )
+			{
+				int chunk = this.build( cc, cr );
+				int[] rects = chunkRects[chunk];
+				
+				for ( int i = 0; i < chunkRectCounts[chunk] * 4; i += 4 )
+				{
+					float rx1 = rects[i]     * Map.CELL_SIZE;
+					float ry1 = rects[i + 1] * Map.CELL_SIZE;
+					float rx2 = rx1 + rects[i + 2] * Map.CELL_SIZE;
+					float ry2 = ry1 + rects[i + 3] * Map.CELL_SIZE;
+					
+					if ( rx1 < area.x + area.width && rx2 > area.x && ry1 < area.y + area.height && ry2 > area.y )
+					{
+						return ( true );
+					}
+				}
+			}
+		}
+		return ( false );
+	}
+	
+	// isSegmentBlocked
+	//=================
+	/**
+	 * Tests the line of sight between two positions. Only the chunks within the bounding box of the
+	 * segment are visited, and the segment is clipped against each of their rectangles.
+	 * @param x1 the x-position of the start point.
+	 * @param y1 the y-position of the start point.
+	 * @param x2 the x-position of the end point.
+	 * @param y2 the y-position of the end point.
+	 * @return {@code true} if the segment crosses any blocked cell.
+	 */
+	public boolean isSegmentBlocked( float x1, float y1, float x2, float y2 )
+	{
+		if ( chunkRects.length == 0 )
+		{
+			return ( false );
+		}
+		
+		// Chunk range
+		//============
+		int cc1 = this.getChunkColumn( Math.min( x1, x2 ) );
+		int cc2 = this.getChunkColumn( Math.max( x1, x2 ) );
+		int cr1 = this.getChunkRow( Math.min( y1, y2 ) );
+		int cr2 = this.getChunkRow( Math.max( y1, y2 ) );
+		float dx = x2 - x1;
+		float dy = y2 - y1;
+		
+		// Clip segment
+		//=============
+		for ( int cr = cr1; cr <= cr2; cr++ )
+		{
+			for ( int cc = cc1; cc <= cc2; cc++ )
+			{
+				int chunk = this.build( cc, cr );
+				int[] rects = chunkRects[chunk];
+				
+				for ( int i = 0; i < chunkRectCounts[chunk] * 4; i += 4 )
+				{
+					float rx1 = rects[i]     * Map.CELL_SIZE;
+					float ry1 = rects[i + 1] * Map.CELL_SIZE;
+					float rx2 = rx1 + rects[i + 2] * Map.CELL_SIZE;
+					float ry2 = ry1 + rects[i + 3] * Map.CELL_SIZE;
+					float t1  = 0f;
+					float t2  = 1f;
+					
+					// Slab x
+					//=======
+					if ( dx == 0f )
+					{
+						if ( x1 < rx1 || x1 >= rx2 ) continue;
+					}
+					else
+					{
+						float a = ( rx1 - x1 ) / dx;
+						float b = ( rx2 - x1 ) / dx;
+						t1 = Math.max( t1, Math.min( a, b ) );
+						t2 = Math.min( t2, Math.max( a, b ) );
+					}
+					
+					// Slab y
+					//=======
+					if ( dy == 0f )
+					{
+						if ( y1 < ry1 || y1 >= ry2 ) continue;
+					}
+					else
+					{
+						float a = ( ry1 - y1 ) / dy;
+						float b = ( ry2 - y1 ) / dy;
+						t1 = Math.max( t1, Math.min( a, b ) );
+						t2 = Math.min( t2, Math.max( a, b ) );
+					}
+					
+					if ( t1 < t2 )
+					{
+						return ( true );
+					}
+				}
+			}
+		}
+		return ( false );
+	}
+	
+	// getRectangleCount
+	//==================
+	/**
+	 * Merges all dirty chunks.
+	 * @return the number of rectangles of all chunks.
+	 */
+	public int getRectangleCount()
+	{
+		int count = 0;
+		
+		for ( int cr = 0; cr < chunkRows; cr++ )
+		{
+			for ( int cc = 0; cc < chunkColumns; cc++ )
+			{
+				count += chunkRectCounts[this.build( cc, cr )];
+			}
+		}
+		return ( count );
+	}
+	
+	// build
+	//======
+	/**
+	 * Merges the blocked cells of a chunk again if the chunk is dirty.
+	 * @return the index of the chunk.
+	 */
+	private int build( int cc, int cr )
+	{
+		int chunk = cr * chunkColumns + cc;
+		
+		if ( dirtyChunks[chunk] == false )
+		{
+			return ( chunk );
+		}
+		dirtyChunks[chunk] = false;
+		chunkRectCounts[chunk] = 0;
+		
+		// Row bits
+		//=========
+		int col0 = cc * Map.CHUNK_SIZE;
+		int row0 = cr * Map.CHUNK_SIZE;
+		int n    = Math.min( Map.CHUNK_SIZE, map.getRows() - row0 );
+		
+		for ( int i = 0; i < n; i++ )
+		{
+			rowBits[i] = map.getChunkRowBits( row0 + i, col0 );
+		}
+		
+		// Merge runs
+		//===========
+		for ( int i = 0; i < n; i++ )
+		{
+			while ( rowBits[i] != 0 )
+			{
+				// Run of the row
+				//===============
+				int start = Integer.numberOfTrailingZeros( rowBits[i] );
+				int width = Integer.numberOfTrailingZeros( ~( rowBits[i] >>> start ) );
+				int run   = (int) ( ( ( 1L << width ) - 1L ) << start );
+				int height = 1;
+				rowBits[i] &= ~run;
+				
+				// Extend over rows
+				//=================
+				while ( i + height < n && ( rowBits[i + height] & run ) == run )
+				{
+					rowBits[i + height] &= ~run;
+					height++;
+				}
+				this.add( chunk, col0 + start, row0 + i, width, height );
+			}
+		}
+		
+		// Release empty chunk
+		//====================
+		if ( chunkRectCounts[chunk] == 0 )
+		{
+			chunkRects[chunk] = null;
+		}
+		return ( chunk );
+	}
+	
+	// add
+	//====
+	private void add( int chunk, int col, int row, int width, int height )
+	{
+		int[] rects = chunkRects[chunk];
+		int i = chunkRectCounts[chunk] * 4;
+		
+		if ( rects == null || i == rects.length )
+		{
+			int[] newRects = new int[Math.max( 16, i * 2 )];
+			
+			if ( rects != null )
+			{
+				System.arraycopy( rects, 0, newRects, 0, i );
+			}
+			rects = chunkRects[chunk] = newRects;
+		}
+		rects[i]     = col;
+		rects[i + 1] = row;
+		rects[i + 2] = width;
+		rects[i + 3] = height;
+		chunkRectCounts[chunk]++;
+	}
+	
+	// getChunkColumn
+	//===============
+	private int getChunkColumn( float x )
+	{
+		return ( Math.max( 0, Math.min( chunkColumns - 1, (int) Math.floor( x / Map.CELL_SIZE ) / Map.CHUNK_SIZE ) ) );
+	}
+	
+	// getChunkRow
+	//============
+	private int getChunkRow( float y )
+	{
+		return ( Math.max( 0, Math.min( chunkRows - 1, (int) Math.floor( y / Map.CELL_SIZE ) / Map.CHUNK_SIZE ) ) );
+	}
+}
@@ -0,0 +1,193 @@
+package com.sh.jplatformer.world.map;
+
+import java.util.ArrayList;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * The {@code ContactTracker} detects contacts between the player and other {@code MapObjects}.
+ * At the beginning of each step, the {@code MapObjectGrid} is queried for the objects near the
+ * player. Only these objects are tested for an overlap with the player after their update. Each
+ * contact is reported as a transition: {@code onContactBegin} when the bounds start to overlap,
+ * {@code onContactPersist} for every further step of the overlap and {@code onContactEnd} when
+ * the overlap is over or the object is no longer updated.
+ * @author Stefan Hsemann
+ */
+
+public class ContactTracker
+{
+	// Constants
+	//==========
+	public static final float MARGIN = Map.CELL_SIZE * 2f;
+	
+	// Fields
+	//=======
+	private Array<MapObject> contacts;
+	private ArrayList<MapObject> candidates;
+	private Rectangle area;
+	private MapObject player;
+	private MapObject contactPlayer;
+	private long step;
+	private int testCount;
+	
+	// Constructor
+	//============
+	public ContactTracker()
+	{
+		contacts   = new Array<MapObject>( false, 16 );
+		candidates = new ArrayList<MapObject>();
+		area       = new Rectangle();
+	}
+	
+	// clear
+	//======
+	/**
+	 * Removes all contacts without reporting their end.
+	 */
+	public void clear()
+	{
+		for ( MapObject o : contacts )
+		{
+			o.isInContact = false;
+		}
+		contacts.clear();
+		player        = null;
+		contactPlayer = null;
+	}
+	
+	// begin
+	//======
+	/**
+	 * Starts a new step and finds the objects near the player.
+	 * @param player the player object or {@code null}.
+	 * @param grid the grid of all objects.
+	 */
+	public void begin( MapObject player, MapObjectGrid grid )
+	{
+		step++;
+		testCount = 0;
+		this.player = player;
+		
+		if ( player != null )
+		{
+			grid.query( this.getArea( player ), candidates );
+			
+			for ( int i = 0; i < candidates.size(); i++ )
+			{
+				candidates.get( i ).contactCandidateStep = step;
+			}
+		}
+	}
+	
+	// sense
+	//======
+	/**
+	 * Adds an object that was spawned during the current step to the candidates, if it is near
+	 * the player.
+	 * @param o the new object.
+	 */
+	public void sense( MapObject o )
+	{
+		if ( player != null && o.getBounds().overlaps( this.getArea( player ) ) )
+		{
+			o.contactCandidateStep = step;
+		}
+	}
+	
+	// test
+	//=====
+	/**
+	 * Tests a candidate for an overlap with the player and reports the transition.
+	 * @param o the object that was just updated.
+	 */
+	public void test( MapObject o )
+	{
+		// Check candidate
+		//================
+		if ( player == null || o == player || o.contactCandidateStep != step )
+		{
+			return;
+		}
+		testCount++;
+		
+		// Report transition
+		//==================
+		if ( player.getBounds().overlaps( o.getBounds() ) )
+		{
+			o.contactStep = step;
+			
+			if ( o.isInContact == false )
+			{
+				o.isInContact = true;
+				contacts.add( o );
+				contactPlayer = player;
+				o.onContactBegin( player );
+			}
+			else
+			{
+				o.onContactPersist( player );
+			}
+		}
+	}
+	
+	// end
+	//====
+	/**
+	 * Finishes the current step. All contacts that were not confirmed during this step end.
+	 */
+	public void end()
+	{
+		for ( int i = contacts.size - 1; i >= 0; i-- )
+		{
+			MapObject o = contacts.get( i );
+			
+			if ( o.contactStep != step )
+			{
+				o.isInContact = false;
+				contacts.removeIndex( i );
+				o.onContactEnd( contactPlayer );
+			}
+		}
+	}
+	
+	// remove
+	//=======
+	/**
+	 * Removes the contact of an object that leaves the world, without reporting its end.
+	 * @param o the object to remove.
+	 */
+	public void remove( MapObject o )
+	{
+		if ( o.isInContact == true )
+		{
+			o.isInContact = false;
+			contacts.removeValue( o, true );
+		}
+	}
+	
+	// getContactCount
+	//================
+	public int getContactCount()
+	{
+		return ( contacts.size );
+	}
+	
+	// getTestCount
+	//=============
+	/**
+	 * @return the number of overlap tests during the current step.
+	 */
+	public int getTestCount()
+	{
+		return ( testCount );
+	}
+	
+	// getArea
+	//========
+	private Rectangle getArea( MapObject player )
+	{
+		Rectangle b = player.getBounds();
+		return ( area.set( b.x - MARGIN, b.y - MARGIN, b.width + MARGIN * 2f, b.height + MARGIN * 2f ) );
+	}
+}
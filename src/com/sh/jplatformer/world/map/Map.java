@@ -4,9 +4,17 @@ import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.sh.jplatformer.util.Lang;
 import java.io.Serializable;
+import java.util.Arrays;
 
 /**
  * The {@code Map} class provides a model for two-dimensional game maps.
+ * The tiles are stored in square chunks of {@code CHUNK_SIZE} cells. Each chunk holds byte arrays
+ * for the tile set IDs, the tile IDs and the inner corners of its cells, and is only allocated while it
+ * contains at least one tile. Empty regions of large maps therefore take no memory and can be
+ * skipped chunk by chunk. Blocked cells are additionally tracked in two bitsets, one stored row by
+ * row and one column by column, so a whole edge of cells can be tested a word at a time. Area and
+ * line of sight queries use the {@code CollisionLayer}, which merges the blocked cells of each chunk
+ * into rectangles.
  * @author Stefan Hsemann
  */
 
@@ -17,6 +25,11 @@ public class Map implements Serializable
 	private static final long serialVersionUID = 1L;
 	public static final int CELL_SIZE          = 64;
 	public static final int COUNTDOWN_DISABLED = 0;
+	public static final int EMPTY              = -1;
+	public static final int CHUNK_SIZE         = 32;
+	private static final int CHUNK_SHIFT       = 5;
+	private static final int CHUNK_MASK        = CHUNK_SIZE - 1;
+	private static final int CHUNK_CELL_MASK   = CHUNK_SIZE * CHUNK_SIZE - 1;
 	
 	// Difficulties
 	//=============
@@ -32,9 +45,21 @@ public class Map implements Serializable
 		 150, 50, 0, -50, -150
 	};
 	
-	// Dimensions
-	//===========
-	private MapCell cells[];
+	// Dimensions and tiles
+	//=====================
+	private transient byte[][] chunkTileSetIds;
+	private transient byte[][] chunkTileIds;
+	private transient byte[][] chunkTileCorners;
+	private transient int[] chunkTileCounts;
+	private transient int[] chunkRevisions;
+	private transient int revisionCount;
+	private transient int chunkColumns;
+	private transient int chunkRows;
+	private transient long[] solidRows;
+	private transient long[] solidColumns;
+	private transient int rowWords;
+	private transient int columnWords;
+	private transient CollisionLayer collisionLayer;
 	private int rows;
 	private int columns;
 	private Rectangle mapBounds;
@@ -120,22 +145,34 @@ public class Map implements Serializable
 		
 		// Dimensions
 		//===========
-		columns   = newColumns;
-		rows      = newRows;
-		cells     = new MapCell[columns * rows];
-		mapBounds = new Rectangle( 0f, 0f, Map.CELL_SIZE * columns, Map.CELL_SIZE * rows );
-		
-		// Create cells
-		//=============
-		if ( cells.length > 0 )
+		columns    = newColumns;
+		rows       = newRows;
+		mapBounds  = new Rectangle( 0f, 0f, Map.CELL_SIZE * columns, Map.CELL_SIZE * rows );
+		
+		// Chunks
+		//=======
+		chunkColumns     = ( columns + CHUNK_SIZE - 1 ) / CHUNK_SIZE;
+		chunkRows        = ( rows    + CHUNK_SIZE - 1 ) / CHUNK_SIZE;
+		chunkTileSetIds  = new byte[chunkColumns * chunkRows][];
+		chunkTileIds     = new byte[chunkColumns * chunkRows][];
+		chunkTileCorners = new byte[chunkColumns * chunkRows][];
+		chunkTileCounts  = new int[chunkColumns * chunkRows];
+		chunkRevisions   = new int[chunkColumns * chunkRows];
+		
+		// Solidity
+		//=========
+		rowWords     = ( columns + 63 ) >>> 6;
+		columnWords  = ( rows    + 63 ) >>> 6;
+		solidRows    = new long[rows    * rowWords];
+		solidColumns = new long[columns * columnWords];
+		
+		// Collision layer
+		//================
+		if ( collisionLayer == null )
 		{
-			for ( int i = 0; i < columns * rows; i++ )
-			{
-				cells[i] = new MapCell();
-				cells[i].x = ( (int) ( i / rows ) );
-				cells[i].y = i - ( cells[i].x * rows );
-			}
+			collisionLayer = new CollisionLayer( this );
 		}
+		collisionLayer.reset( chunkColumns, chunkRows );
 	}
 	
 	// isBlocked
@@ -146,8 +183,8 @@ public class Map implements Serializable
 	 */
 	public boolean isBlocked( Vector2 position )
 	{
-		return ( this.isBlocked( this.getCellAt( position ).x,
-		                         this.getCellAt( position ).y ) );
+		return ( this.isBlocked( this.getColumn( position.x ),
+		                         this.getRow( position.y ) ) );
 	}
 	
 	// isBlocked
@@ -159,8 +196,8 @@ public class Map implements Serializable
 	 */
 	public boolean isBlocked( float x, float y )
 	{
-		return ( this.isBlocked( this.getCellAt( x, y ).x,
-		                         this.getCellAt( x, y ).y ) );
+		return ( this.isBlocked( this.getColumn( x ),
+		                         this.getRow( y ) ) );
 	}
 	
 	// isBlocked
@@ -173,78 +210,570 @@ public class Map implements Serializable
 	 */
 	public boolean isBlocked( int col, int row )
 	{
-		try
+		if ( this.isInside( col, row ) == false )
 		{
-			return ( this.isBlocked( getCellAt( col, row ) ) );
+			System.err.println( "Error reading map value at " + "[x=" + col + ", y=" + row + "]!" );
+			return ( true );
 		}
-		catch ( Exception e )
+		return ( ( solidRows[row * rowWords + ( col >>> 6 )] & ( 1L << col ) ) != 0L );
+	}
+	
+	// isRowBlocked
+	//=============
+	/**
+	 * Tests a horizontal span of cells. The columns are limited to the map.
+	 * @param row the row of the cells.
+	 * @param col1 the first column.
+	 * @param col2 the last column (inclusive).
+	 * @return {@code true} if any cell of the span is blocked or if the row is out of map.
+	 */
+	public boolean isRowBlocked( int row, int col1, int col2 )
+	{
+		if ( row < 0 || row >= rows || columns == 0 )
 		{
-			System.err.println( "Error reading map value at " + "[x=" + col + ", y=" + row + "]!" );
 			return ( true );
 		}
+		return ( isAnySet( solidRows, row * rowWords, Math.max( col1, 0 ), Math.min( col2, columns - 1 ) ) );
 	}
 	
-	// isBlocked
-	//==========
-	public boolean isBlocked( MapCell cell ) {
-		return cell.tileSetId >= 0;
+	// isColumnBlocked
+	//================
+	/**
+	 * Tests a vertical span of cells. The rows are limited to the map.
+	 * @param col the column of the cells.
+	 * @param row1 the first row.
+	 * @param row2 the last row (inclusive).
+	 * @return {@code true} if any cell of the span is blocked or if the column is out of map.
+	 */
+	public boolean isColumnBlocked( int col, int row1, int row2 )
+	{
+		if ( col < 0 || col >= columns || rows == 0 )
+		{
+			return ( true );
+		}
+		return ( isAnySet( solidColumns, col * columnWords, Math.max( row1, 0 ), Math.min( row2, rows - 1 ) ) );
 	}
 	
-	// getCellAt
-	//==========
+	// findBlockedRow
+	//===============
 	/**
-	 * @param position the position on the map.
-	 * @return the {@code MapCell} at the specified position. If the specified cell is out of map,
-	 * the last valid cell is returned.
+	 * Tests the rows from {@code row1} to {@code row2} one after another, in either direction, for
+	 * a blocked cell between two columns. The columns are limited to the map.
+	 * @param col1 the first column.
+	 * @param col2 the last column (inclusive).
+	 * @param row1 the first row to test.
+	 * @param row2 the last row to test.
+	 * @return the first row that is blocked or out of map, or {@code -1} if all rows are free.
+	 */
+	public int findBlockedRow( int col1, int col2, int row1, int row2 )
+	{
+		// Limit columns
+		//==============
+		int step = row1 <= row2 ? 1 : -1;
+		
+		if ( col1 < 0 ) col1 = 0;
+		if ( col2 > columns - 1 ) col2 = columns - 1;
+		
+		// Single word
+		//============
+		if ( ( col1 >>> 6 ) == ( col2 >>> 6 ) && col1 <= col2 && ( row1 | row2 ) >= 0 && row1 < rows && row2 < rows )
+		{
+			long mask = ( -1L << col1 ) & ( -1L >>> ( 63 - ( col2 & 63 ) ) );
+			int  word = row1 * rowWords + ( col1 >>> 6 );
+			
+			for ( int row = row1; ; row += step, word += step * rowWords )
+			{
+				if ( ( solidRows[word] & mask ) != 0L )
+				{
+					return ( row );
+				}
+				if ( row == row2 )
+				{
+					return ( -1 );
+				}
+			}
+		}
+		
+		// Several words
+		//==============
+		for ( int row = row1; ; row += step )
+		{
+			if ( this.isRowBlocked( row, col1, col2 ) )
+			{
+				return ( row );
+			}
+			if ( row == row2 )
+			{
+				return ( -1 );
+			}
+		}
+	}
+	
+	// findBlockedColumn
+	//==================
+	/**
+	 * Tests the columns from {@code col1} to {@code col2} one after another, in either direction,
+	 * for a blocked cell between two rows. The rows are limited to the map.
+	 * @param row1 the first row.
+	 * @param row2 the last row (inclusive).
+	 * @param col1 the first column to test.
+	 * @param col2 the last column to test.
+	 * @return the first column that is blocked or out of map, or {@code -1} if all columns are free.
+	 */
+	public int findBlockedColumn( int row1, int row2, int col1, int col2 )
+	{
+		// Limit rows
+		//===========
+		int step = col1 <= col2 ? 1 : -1;
+		
+		if ( row1 < 0 ) row1 = 0;
+		if ( row2 > rows - 1 ) row2 = rows - 1;
+		
+		// Single word
+		//============
+		if ( ( row1 >>> 6 ) == ( row2 >>> 6 ) && row1 <= row2 && ( col1 | col2 ) >= 0 && col1 < columns && col2 < columns )
+		{
+			long mask = ( -1L << row1 ) & ( -1L >>> ( 63 - ( row2 & 63 ) ) );
+			int  word = col1 * columnWords + ( row1 >>> 6 );
+			
+			for ( int col = col1; ; col += step, word += step * columnWords )
+			{
+				if ( ( solidColumns[word] & mask ) != 0L )
+				{
+					return ( col );
+				}
+				if ( col == col2 )
+				{
+					return ( -1 );
+				}
+			}
+		}
+		
+		// Several words
+		//==============
+		for ( int col = col1; ; col += step )
+		{
+			if ( this.isColumnBlocked( col, row1, row2 ) )
+			{
+				return ( col );
+			}
+			if ( col == col2 )
+			{
+				return ( -1 );
+			}
+		}
+	}
+	
+	// isAnySet
+	//=========
+	/**
+	 * @return {@code true} if any bit from {@code from} to {@code to} (inclusive) is set in the
+	 * words starting at {@code offset}.
+	 */
+	private static boolean isAnySet( long[] bits, int offset, int from, int to )
+	{
+		// Empty span
+		//===========
+		if ( from > to )
+		{
+			return ( false );
+		}
+		
+		// Word masks
+		//===========
+		int  w1    = from >>> 6;
+		int  w2    = to   >>> 6;
+		long first = -1L << from;
+		long last  = -1L >>> ( 63 - ( to & 63 ) );
+		
+		if ( w1 == w2 )
+		{
+			return ( ( bits[offset + w1] & first & last ) != 0L );
+		}
+		
+		// Test words
+		//===========
+		if ( ( bits[offset + w1] & first ) != 0L )
+		{
+			return ( true );
+		}
+		for ( int w = w1 + 1; w < w2; w++ )
+		{
+			if ( bits[offset + w] != 0L )
+			{
+				return ( true );
+			}
+		}
+		return ( ( bits[offset + w2] & last ) != 0L );
+	}
+	
+	// setSolid
+	//=========
+	private void setSolid( int col, int row, boolean isSolid )
+	{
+		int r = row * rowWords    + ( col >>> 6 );
+		int c = col * columnWords + ( row >>> 6 );
+		
+		if ( isSolid )
+		{
+			solidRows[r]    |= 1L << col;
+			solidColumns[c] |= 1L << row;
+		}
+		else
+		{
+			solidRows[r]    &= ~( 1L << col );
+			solidColumns[c] &= ~( 1L << row );
+		}
+		collisionLayer.invalidate( col, row );
+	}
+	
+	// getChunkRowBits
+	//================
+	/**
+	 * @param row the row of the cells.
+	 * @param col the first column of a chunk.
+	 * @return the blocked cells of the row within the chunk, one bit per column.
 	 */
-	public MapCell getCellAt( Vector2 position )
+	int getChunkRowBits( int row, int col )
 	{
-		return ( this.getCellAt( position.x, position.y ) );
+		return ( (int) ( solidRows[row * rowWords + ( col >>> 6 )] >>> ( col & 63 ) ) );
 	}
 	
-	// getCellAt
+	// isInside
+	//=========
+	/**
+	 * @param col the column of the cell.
+	 * @param row the row of the cell.
+	 * @return {@code true} if the cell is part of the map.
+	 */
+	public boolean isInside( int col, int row )
+	{
+		return ( col >= 0 && row >= 0 && col < columns && row < rows );
+	}
+	
+	// getColumn
 	//==========
 	/**
 	 * @param x the x-position on the map.
-	 * @param y the y-position on the map.
-	 * @return the {@code MapCell} at the specified position. If the specified cell is out of map,
-	 * the last valid cell is returned.
+	 * @return the column at the specified position. If the position is out of map, the nearest
+	 * valid column is returned.
 	 */
-	public MapCell getCellAt( float x, float y )
+	public int getColumn( float x )
 	{
-		// Calculate cell
-		//===============
 		int col = (int) ( x / CELL_SIZE );
-		int row = (int) ( y / CELL_SIZE );
 		
-		// Set limits
-		//===========
 		if ( x < 0f ) col = 0;
-		if ( y < 0f ) row = 0;
 		if ( col > columns - 1 ) col = columns - 1;
-		if ( row > rows - 1    ) row = rows - 1;
 		
-		return ( this.getCellAt( col, row ) );
+		return ( col );
+	}
+	
+	// getRow
+	//=======
+	/**
+	 * @param y the y-position on the map.
+	 * @return the row at the specified position. If the position is out of map, the nearest
+	 * valid row is returned.
+	 */
+	public int getRow( float y )
+	{
+		int row = (int) ( y / CELL_SIZE );
+		
+		if ( y < 0f ) row = 0;
+		if ( row > rows - 1 ) row = rows - 1;
+		
+		return ( row );
+	}
+	
+	// getIndex
+	//=========
+	/**
+	 * The index addresses the chunk of the cell and the position of the cell within the chunk.
+	 * Cells of the same chunk row are adjacent in memory.
+	 * @param col the column of the cell.
+	 * @param row the row of the cell.
+	 * @return the index of the cell in the tile chunks.
+	 */
+	public int getIndex( int col, int row )
+	{
+		int chunk = ( row >> CHUNK_SHIFT ) * chunkColumns + ( col >> CHUNK_SHIFT );
+		int local = ( ( row & CHUNK_MASK ) << CHUNK_SHIFT ) | ( col & CHUNK_MASK );
+		
+		return ( ( chunk << ( CHUNK_SHIFT * 2 ) ) | local );
+	}
+	
+	// getTileSetId
+	//=============
+	/**
+	 * @param col the column of the cell.
+	 * @param row the row of the cell.
+	 * @return the tile set ID of the cell or {@code EMPTY} if the cell is empty.
+	 */
+	public int getTileSetId( int col, int row )
+	{
+		return ( this.getTileSetId( this.getIndex( col, row ) ) );
+	}
+	
+	// getTileSetId
+	//=============
+	/**
+	 * @param index the index of the cell (see {@link #getIndex(int, int)}).
+	 * @return the tile set ID of the cell or {@code EMPTY} if the cell is empty.
+	 */
+	public int getTileSetId( int index )
+	{
+		byte[] chunk = chunkTileSetIds[index >> ( CHUNK_SHIFT * 2 )];
+		
+		if ( chunk == null )
+		{
+			return ( EMPTY );
+		}
+		return ( chunk[index & CHUNK_CELL_MASK] );
+	}
+	
+	// setTileSetId
+	//=============
+	/**
+	 * Sets the tile set ID of a cell. The chunk of the cell is allocated when its first tile is
+	 * set and released again when its last tile is removed.
+	 * @param col the column of the cell.
+	 * @param row the row of the cell.
+	 * @param tileSetId the new tile set ID or {@code EMPTY}.
+	 */
+	public void setTileSetId( int col, int row, int tileSetId )
+	{
+		// Get chunk
+		//==========
+		int index  = this.getIndex( col, row );
+		int c      = index >> ( CHUNK_SHIFT * 2 );
+		int local  = index & CHUNK_CELL_MASK;
+		byte[] chunk = chunkTileSetIds[c];
+		
+		if ( chunk == null )
+		{
+			if ( tileSetId < 0 )
+			{
+				return;
+			}
+			chunk = new byte[CHUNK_SIZE * CHUNK_SIZE];
+			Arrays.fill( chunk, (byte) EMPTY );
+			
+			chunkTileSetIds[c]  = chunk;
+			chunkTileIds[c]     = new byte[CHUNK_SIZE * CHUNK_SIZE];
+			chunkTileCorners[c] = new byte[CHUNK_SIZE * CHUNK_SIZE];
+		}
+		
+		// Count tiles
+		//============
+		if ( chunk[local] < 0 && tileSetId >= 0 )
+		{
+			chunkTileCounts[c]++;
+			setSolid( col, row, true );
+		}
+		if ( chunk[local] >= 0 && tileSetId < 0 )
+		{
+			chunkTileCounts[c]--;
+			setSolid( col, row, false );
+		}
+		
+		if ( chunk[local] != tileSetId )
+		{
+			chunk[local] = (byte) tileSetId;
+			chunkRevisions[c] = ++revisionCount;
+		}
+		
+		// Release empty chunk
+		//====================
+		if ( chunkTileCounts[c] == 0 )
+		{
+			chunkTileSetIds[c]  = null;
+			chunkTileIds[c]     = null;
+			chunkTileCorners[c] = null;
+		}
 	}
 	
-	// getCellAt
+	// getTileId
 	//==========
 	/**
 	 * @param col the column of the cell.
 	 * @param row the row of the cell.
-	 * @return the specified {@code MapCell}. If an error occurred or if the cell is out of the map,
-	 * {@code null} is returned.
+	 * @return the tile ID of the cell within its tile set.
+	 */
+	public int getTileId( int col, int row )
+	{
+		return ( this.getTileId( this.getIndex( col, row ) ) );
+	}
+	
+	// getTileId
+	//==========
+	/**
+	 * @param index the index of the cell (see {@link #getIndex(int, int)}).
+	 * @return the tile ID of the cell within its tile set.
+	 */
+	public int getTileId( int index )
+	{
+		byte[] chunk = chunkTileIds[index >> ( CHUNK_SHIFT * 2 )];
+		
+		if ( chunk == null )
+		{
+			return ( 0 );
+		}
+		return ( chunk[index & CHUNK_CELL_MASK] );
+	}
+	
+	// setTileId
+	//==========
+	public void setTileId( int col, int row, int tileId )
+	{
+		this.setTileId( this.getIndex( col, row ), tileId );
+	}
+	
+	// setTileId
+	//==========
+	/**
+	 * Sets the tile ID of a cell. Cells of empty chunks have no tile, so nothing happens for them.
+	 * @param index the index of the cell (see {@link #getIndex(int, int)}).
+	 * @param tileId the new tile ID.
+	 */
+	public void setTileId( int index, int tileId )
+	{
+		byte[] chunk = chunkTileIds[index >> ( CHUNK_SHIFT * 2 )];
+		
+		if ( chunk != null && chunk[index & CHUNK_CELL_MASK] != tileId )
+		{
+			chunk[index & CHUNK_CELL_MASK] = (byte) tileId;
+			chunkRevisions[index >> ( CHUNK_SHIFT * 2 )] = ++revisionCount;
+		}
+	}
+	
+	// getTileCorners
+	//===============
+	/**
+	 * @param index the index of the cell (see {@link #getIndex(int, int)}).
+	 * @return the {@code TileTable.CORNER_*} flags of the inner corners drawn on the cell.
 	 */
-	public MapCell getCellAt( int col, int row )
+	public int getTileCorners( int index )
 	{
-		try
+		byte[] chunk = chunkTileCorners[index >> ( CHUNK_SHIFT * 2 )];
+		
+		if ( chunk == null )
 		{
-			return ( cells[col * rows + row] );
+			return ( 0 );
 		}
-		catch ( Exception e )
+		return ( chunk[index & CHUNK_CELL_MASK] );
+	}
+	
+	// setTileCorners
+	//===============
+	public void setTileCorners( int col, int row, int corners )
+	{
+		int index = this.getIndex( col, row );
+		byte[] chunk = chunkTileCorners[index >> ( CHUNK_SHIFT * 2 )];
+		
+		if ( chunk != null && chunk[index & CHUNK_CELL_MASK] != corners )
+		{
+			chunk[index & CHUNK_CELL_MASK] = (byte) corners;
+			chunkRevisions[index >> ( CHUNK_SHIFT * 2 )] = ++revisionCount;
+		}
+	}
+	
+	// isChunkEmpty
+	//=============
+	/**
+	 * @param chunkCol the column of the chunk (the cell column divided by {@code CHUNK_SIZE}).
+	 * @param chunkRow the row of the chunk (the cell row divided by {@code CHUNK_SIZE}).
+	 * @return {@code true} if the chunk does not contain any tile.
+	 */
+	public boolean isChunkEmpty( int chunkCol, int chunkRow )
+	{
+		return ( chunkTileSetIds[chunkRow * chunkColumns + chunkCol] == null );
+	}
+	
+	// getCollisionLayer
+	//==================
+	/**
+	 * @return the {@code CollisionLayer} that merges the blocked cells into rectangles.
+	 */
+	public CollisionLayer getCollisionLayer()
+	{
+		return ( collisionLayer );
+	}
+	
+	// getChunkRevision
+	//=================
+	/**
+	 * @param chunkCol the column of the chunk.
+	 * @param chunkRow the row of the chunk.
+	 * @return a number that changes whenever a tile set ID, tile ID or corner of the chunk changes
+	 * (i.e. to rebuild cached geometry). The numbers are never reused, not even after a reset.
+	 */
+	public int getChunkRevision( int chunkCol, int chunkRow )
+	{
+		return ( chunkRevisions[chunkRow * chunkColumns + chunkCol] );
+	}
+	
+	// getChunkColumns
+	//================
+	public int getChunkColumns()
+	{
+		return ( chunkColumns );
+	}
+	
+	// getChunkRows
+	//=============
+	public int getChunkRows()
+	{
+		return ( chunkRows );
+	}
+	
+	// getAllocatedChunks
+	//===================
+	/**
+	 * @return the number of chunks that contain at least one tile.
+	 */
+	public int getAllocatedChunks()
+	{
+		int count = 0;
+		
+		for ( byte[] chunk : chunkTileSetIds )
 		{
-			return ( null );
+			if ( chunk != null )
+			{
+				count++;
+			}
 		}
+		return ( count );
+	}
+	
+	// getCell
+	//========
+	/**
+	 * Copies the values of a cell into a {@code MapCell} (i.e. to write it to a file).
+	 * @param col the column of the cell.
+	 * @param row the row of the cell.
+	 * @param cell the {@code MapCell} to fill.
+	 * @return the {@code cell} argument.
+	 */
+	public MapCell getCell( int col, int row, MapCell cell )
+	{
+		cell.x         = col;
+		cell.y         = row;
+		cell.tileSetId = getTileSetId( col, row );
+		cell.tileId    = getTileId( col, row );
+		
+		return ( cell );
+	}
+	
+	// setCell
+	//========
+	/**
+	 * Copies the values of a {@code MapCell} into the cell at its position.
+	 * @param cell the {@code MapCell} to apply.
+	 */
+	public void setCell( MapCell cell )
+	{
+		setTileSetId( cell.x, cell.y, cell.tileSetId );
+		setTileId   ( cell.x, cell.y, cell.tileId );
 	}
 	
 	// getMapBounds
@@ -345,13 +874,6 @@ public class Map implements Serializable
 		return ( columns );
 	}
 	
-	// getCells
-	//=========
-	public MapCell[] getCells()
-	{
-		return ( cells );
-	}
-	
 	// setCountdownTime
 	//=================
 	/**
@@ -3,14 +3,15 @@ package com.sh.jplatformer.world.map;
 import java.io.Serializable;
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.sh.jplatformer.resources.Resources;
+import com.sh.jplatformer.util.Task;
+import com.sh.jplatformer.world.TimerWheel;
+import com.sh.jplatformer.world.WorldClock;
 import com.sh.jplatformer.world.WorldController;
 import com.sh.jplatformer.world.map.agility.Agility;
 import com.sh.jplatformer.world.map.collision.Collision;
@@ -38,18 +39,68 @@ public abstract class MapObject implements Serializable
 	public static final int ALIGN_BOTTOM = 3;
 	public static final int ALIGN_CENTER = 4;
 	
+	// Scan area
+	//==========
+	public static final float SCAN_MARGIN = Map.CELL_SIZE / 2f;
+	
+	// Frame sets
+	//===========
+	private static final int UNRESOLVED = -2;
+	private static final ClassValue<int[]> frameSetIds = new ClassValue<int[]>()
+	{
+		@Override
+		protected int[] computeValue( Class<?> type )
+		{
+			return ( new int[] { UNRESOLVED } );
+		}
+	};
+	
 	// States 
 	//=======
 	protected String name;
 	protected boolean isAlive;
 	protected long routineTimer;
 	protected int score;
+	protected transient boolean isSleeping;
+	protected transient long sleepStartTime;
+	
+	// Timers
+	//=======
+	private transient boolean hasTimers;
+	private transient TimerWheel.Timer routineEntry;
+	private transient TimerWheel.Timer frameEntry;
+	private transient boolean isRoutineSuspended;
+	private transient boolean isFrameSuspended;
 	
 	// World
 	//======
 	protected WorldController worldController;
 	protected ArrayList<MapObject> surroundingObjects;
 	
+	// Spatial grid
+	//=============
+	transient boolean isInGrid;
+	transient int gridSequence;
+	transient int gridX1;
+	transient int gridY1;
+	transient int gridX2;
+	transient int gridY2;
+	transient float gridBoundsX;
+	transient float gridBoundsY;
+	transient float gridBoundsWidth;
+	transient float gridBoundsHeight;
+	
+	// Player contact
+	//===============
+	transient long contactCandidateStep;
+	transient long contactStep;
+	transient boolean isInContact;
+	
+	// Carrier and riders
+	//===================
+	private transient MapObject carrier;
+	private transient ArrayList<MapObject> riders;
+	
 	// Power
 	//======
 	protected int powerId;
@@ -166,7 +217,6 @@ public abstract class MapObject implements Serializable
 		
 		// Draw frame
 		//===========
-		updateAlpha();
 		frames[currentFrame].setPosition( x, y );
 		frames[currentFrame].setSize( frameSize, frameSize );
 		frames[currentFrame].setAlpha( alpha );
@@ -184,17 +234,11 @@ public abstract class MapObject implements Serializable
 		this.act();
 		this.updateFrame();
 		
-		// Perform player collision
-		//=========================
+		// Track player contact
+		//=====================
 		if ( worldController.isLive() )
 		{
-			if ( worldController.getPlayer() != null )
-			{
-				if ( worldController.getPlayer().getBounds().overlaps( bounds ) )
-				{
-					this.onPlayerCollision();
-				}
-			}
+			worldController.getContactTracker().test( this );
 		}
 	}
 	
@@ -229,7 +273,8 @@ public abstract class MapObject implements Serializable
 		//============
 		if ( isAlive )
 		{
-			CollisionHelper.move( this, agility.getDelta().x, agility.getDelta().y );
+			Vector2 delta = agility.getDelta();
+			CollisionHelper.move( this, delta.x, delta.y );
 		}
 	}
 	
@@ -241,7 +286,12 @@ public abstract class MapObject implements Serializable
 	
 	// updateAlpha
 	//============
-	protected void updateAlpha()
+	/**
+	 * Fades this {@code MapObject} in while it is alive and out after it died. The
+	 * {@code WorldController} calls this method once per step for every object, including sleeping
+	 * and dead ones, so the fading does not depend on whether the object is drawn.
+	 */
+	public void updateAlpha()
 	{
 		// Update alpha
 		//=============
@@ -257,41 +307,60 @@ public abstract class MapObject implements Serializable
 		}
 	}
 	
+	// recycle
+	//========
+	/**
+	 * Restores the initial state of this dead {@code MapObject}, so it can be reused by a
+	 * {@code MapObjectPool}. The frames and the agility settings are kept. Subclasses with
+	 * additional state should override this method.
+	 */
+	public void recycle()
+	{
+		// ID counter
+		//===========
+		idCount ++;
+		id = idCount;
+		
+		// States
+		//=======
+		isAlive      = true;
+		isSleeping   = false;
+		currentFrame = 0;
+		alpha        = 0f;
+		surroundingObjects.clear();
+		releaseRiders();
+		resetTimers();
+		
+		// Movement and collision
+		//=======================
+		agility.resetJump();
+		agility.getVelocity().reset();
+		agility.clearRepulsions();
+		lastCollision.x = CollisionType.NONE;
+		lastCollision.y = CollisionType.NONE;
+	}
+	
 	// initFrames
 	//===========
 	/**
-	 * Initializes the {@code frames} array by searching {@code Resources.WORLD.objectSprites} for
-	 * all sprites by a key starting with the {@code name} of this {@code MapObject}.
+	 * Initializes the {@code frames} array with the frames of the type of this {@code MapObject}.
+	 * The frame set ID is looked up by the {@code name} of the first object of each class and then
+	 * kept for the class, so all further objects share the same array without any string work.
 	 */
 	public void initFrames()
 	{
-		try
+		int[] id = frameSetIds.get( this.getClass() );
+		
+		if ( id[0] == UNRESOLVED )
 		{
-			// Find sprites
-			//=============
-			List<String> frameKeys = new ArrayList<String>();
-			Set<String> keys = Resources.WORLD.objectSprites.keySet();
+			id[0] = Resources.WORLD.getFrameSetId( name );
 			
-			for ( String k : keys )
+			if ( id[0] < 0 )
 			{
-				if ( k.startsWith( name + "_" ) )
-				{
-					frameKeys.add( k );
-				}
-			}
-			
-			// Init frames
-			//============
-			frames = new Sprite[frameKeys.size()];
-			for ( int i = 0; i < frameKeys.size(); i++ )
-			{
-				frames[i] = Resources.WORLD.objectSprites.get( frameKeys.get( i ) );
+				System.err.println( "Error initializing frames for map object: " + name + "!" );
 			}
 		}
-		catch ( Exception e )
-		{
-			System.err.println( "Error initializing frames for map object: " + name + "!" );
-		}
+		frames = Resources.WORLD.getFrameSet( id[0] );
 	}
 	
 	// initAgility
@@ -324,13 +393,36 @@ public abstract class MapObject implements Serializable
 		agility.setMaxJumpHeight( 32f );
 	}
 	
-	// onPlayerCollision
-	//==================
+	// onContactBegin
+	//===============
 	/**
 	 * This method is called if the {@code WorldController} is live and if the bounds of this
-	 * {@code MapObject} overlap the bounds of the player object (if existent). 
+	 * {@code MapObject} begin to overlap the bounds of the player object (if existent).
+	 * @param other the player object.
 	 */
-	public void onPlayerCollision()
+	public void onContactBegin( MapObject other )
+	{
+	}
+	
+	// onContactPersist
+	//=================
+	/**
+	 * This method is called for every further step in which the bounds of this {@code MapObject}
+	 * still overlap the bounds of the player object.
+	 * @param other the player object.
+	 */
+	public void onContactPersist( MapObject other )
+	{
+	}
+	
+	// onContactEnd
+	//=============
+	/**
+	 * This method is called once the bounds of this {@code MapObject} no longer overlap the
+	 * bounds of the player object, or if this {@code MapObject} is no longer updated.
+	 * @param other the player object.
+	 */
+	public void onContactEnd( MapObject other )
 	{
 	}
 	
@@ -357,8 +449,10 @@ public abstract class MapObject implements Serializable
 	//====
 	public void use()
 	{
-		for ( MapObject o : surroundingObjects )
+		for ( int i = 0; i < surroundingObjects.size(); i++ )
 		{
+			MapObject o = surroundingObjects.get( i );
+			
 			if ( bounds.overlaps( o.getBounds() ) )
 			{
 				o.onUse();
@@ -434,6 +528,13 @@ public abstract class MapObject implements Serializable
 	public void setPowerId( int powerId )
 	{
 		this.powerId = powerId;
+		
+		// Update power channel
+		//=====================
+		if ( worldController != null )
+		{
+			worldController.getPowerNetwork().update( this );
+		}
 	}
 	
 	// getPowerId
@@ -445,9 +546,28 @@ public abstract class MapObject implements Serializable
 	
 	// setPowerOn
 	//===========
+	/**
+	 * Sets the power state and calls {@link #onPowerChanged()} if the state changed.
+	 * @param isPowerOn the new power state.
+	 */
 	public void setPowerOn( boolean isPowerOn )
 	{
-		this.isPowerOn = isPowerOn;
+		if ( this.isPowerOn != isPowerOn )
+		{
+			this.isPowerOn = isPowerOn;
+			this.onPowerChanged();
+		}
+	}
+	
+	// onPowerChanged
+	//===============
+	/**
+	 * This method is called when the power state of this {@code MapObject} changed, i.e. when its
+	 * channel was toggled by a switch. Powered machines react here instead of polling their power
+	 * state in every step.
+	 */
+	protected void onPowerChanged()
+	{
 	}
 	
 	// isPowerOn
@@ -464,6 +584,48 @@ public abstract class MapObject implements Serializable
 		return ( isBlockingSpace );
 	}
 	
+	// setSleeping
+	//============
+	/**
+	 * Puts this {@code MapObject} to sleep or wakes it up. Sleeping objects are not updated by the
+	 * {@code WorldController}. When the object wakes up, its routine timer is delayed by the time
+	 * it slept, so timed routines continue where they stopped instead of catching up.
+	 * @param isSleeping the new sleeping state.
+	 */
+	public void setSleeping( boolean isSleeping )
+	{
+		// Check state
+		//============
+		if ( this.isSleeping == isSleeping )
+		{
+			return;
+		}
+		
+		// Fall asleep or wake up
+		//=======================
+		if ( isSleeping == true )
+		{
+			sleepStartTime = worldController.getTime();
+			suspendTimers();
+		}
+		else
+		{
+			if ( routineTimer != 0L )
+			{
+				routineTimer += worldController.getTime() - sleepStartTime;
+			}
+			resumeTimers();
+		}
+		this.isSleeping = isSleeping;
+	}
+	
+	// isSleeping
+	//===========
+	public boolean isSleeping()
+	{
+		return ( isSleeping );
+	}
+	
 	// setRoutineTimer
 	//================
 	public void setRoutineTimer( long routineTimer )
@@ -479,6 +641,174 @@ public abstract class MapObject implements Serializable
 	public void resetRoutineTimer()
 	{
 		routineTimer = 0L;
+		
+		if ( isRoutineScheduled() == true )
+		{
+			scheduleRoutine( 0L );
+		}
+	}
+	
+	// resetTimers
+	//============
+	/**
+	 * Resets all timers of this {@code MapObject}. The timers are based on the time of the
+	 * {@code WorldClock}, so they have to be reset whenever the object is moved to a new clock
+	 * (i.e. after loading a world). Subclasses with additional timers should override this
+	 * method.
+	 */
+	public void resetTimers()
+	{
+		routineTimer   = 0L;
+		frameTimer     = 0L;
+		sleepStartTime = 0L;
+	}
+	
+	// startTimers
+	//============
+	/**
+	 * Enables the scheduled timers of this {@code MapObject}. This method is called by the
+	 * {@code WorldController} when the object enters the world. Subclasses that are driven by
+	 * timer callbacks should override it to schedule their first timers.
+	 */
+	public void startTimers()
+	{
+		hasTimers = true;
+	}
+	
+	// stopTimers
+	//===========
+	/**
+	 * Cancels and disables the scheduled timers of this {@code MapObject}. This method is called
+	 * by the {@code WorldController} when the object leaves the world.
+	 */
+	public void stopTimers()
+	{
+		if ( routineEntry != null ) worldController.getTimerWheel().cancel( routineEntry );
+		if ( frameEntry   != null ) worldController.getTimerWheel().cancel( frameEntry );
+		
+		hasTimers          = false;
+		isRoutineSuspended = false;
+		isFrameSuspended   = false;
+	}
+	
+	// scheduleRoutine
+	//================
+	/**
+	 * Sets the routine timer and schedules a call of {@link #onRoutineTimer()} when it expires. A
+	 * pending routine timer is replaced. Nothing happens if the object is not in the world.
+	 * @param delay the delay in milliseconds.
+	 */
+	protected void scheduleRoutine( long delay )
+	{
+		if ( hasTimers == false )
+		{
+			return;
+		}
+		
+		if ( routineEntry == null )
+		{
+			routineEntry = new TimerWheel.Timer( this, new Task()
+			{
+				@Override
+				public void perform()
+				{
+					onRoutineTimer();
+				}
+			} );
+		}
+		routineTimer = worldController.getTime() + delay;
+		isRoutineSuspended = false;
+		worldController.getTimerWheel().schedule( routineEntry, WorldClock.toSteps( delay ) );
+	}
+	
+	// scheduleFrame
+	//==============
+	/**
+	 * Sets the frame timer and schedules a call of {@link #onFrameTimer()} when it expires. A
+	 * pending frame timer is replaced. Nothing happens if the object is not in the world.
+	 * @param delay the delay in milliseconds.
+	 */
+	protected void scheduleFrame( long delay )
+	{
+		if ( hasTimers == false )
+		{
+			return;
+		}
+		
+		if ( frameEntry == null )
+		{
+			frameEntry = new TimerWheel.Timer( this, new Task()
+			{
+				@Override
+				public void perform()
+				{
+					onFrameTimer();
+				}
+			} );
+		}
+		frameTimer = worldController.getTime() + delay;
+		isFrameSuspended = false;
+		worldController.getTimerWheel().schedule( frameEntry, WorldClock.toSteps( delay ) );
+	}
+	
+	// isRoutineScheduled
+	//===================
+	/**
+	 * @return {@code true} if the routine timer is scheduled (or suspended while sleeping).
+	 */
+	protected boolean isRoutineScheduled()
+	{
+		return ( isRoutineSuspended || ( routineEntry != null && routineEntry.isScheduled() ) );
+	}
+	
+	// onRoutineTimer
+	//===============
+	/**
+	 * Called when the timer scheduled by {@link #scheduleRoutine(long)} expires.
+	 */
+	protected void onRoutineTimer()
+	{
+	}
+	
+	// onFrameTimer
+	//=============
+	/**
+	 * Called when the timer scheduled by {@link #scheduleFrame(long)} expires.
+	 */
+	protected void onFrameTimer()
+	{
+	}
+	
+	// suspendTimers
+	//==============
+	private void suspendTimers()
+	{
+		if ( routineEntry != null && routineEntry.isScheduled() )
+		{
+			worldController.getTimerWheel().cancel( routineEntry );
+			isRoutineSuspended = true;
+		}
+		if ( frameEntry != null && frameEntry.isScheduled() )
+		{
+			worldController.getTimerWheel().cancel( frameEntry );
+			isFrameSuspended = true;
+		}
+	}
+	
+	// resumeTimers
+	//=============
+	private void resumeTimers()
+	{
+		long time = worldController.getTime();
+		
+		if ( isRoutineSuspended == true )
+		{
+			scheduleRoutine( Math.max( 0L, routineTimer - time ) );
+		}
+		if ( isFrameSuspended == true )
+		{
+			scheduleFrame( Math.max( 0L, frameTimer - sleepStartTime ) );
+		}
 	}
 	
 	// getRoutineTimer
@@ -498,7 +828,98 @@ public abstract class MapObject implements Serializable
 	public void setSurroundingObjects( ArrayList<MapObject> surroundingObjects )
 	{
 		this.surroundingObjects.clear();
-		this.surroundingObjects.addAll( surroundingObjects );
+		
+		for ( int i = 0; i < surroundingObjects.size(); i++ )
+		{
+			this.surroundingObjects.add( surroundingObjects.get( i ) );
+		}
+	}
+	
+	// setCarrier
+	//===========
+	/**
+	 * Links this {@code MapObject} to the object it stands on. The link to the former carrier ends.
+	 * @param newCarrier the new carrier or {@code null} if this object does not stand on another
+	 * object.
+	 */
+	public void setCarrier( MapObject newCarrier )
+	{
+		// Same carrier
+		//=============
+		if ( carrier == newCarrier )
+		{
+			return;
+		}
+		
+		// Leave former carrier
+		//=====================
+		if ( carrier != null )
+		{
+			carrier.riders.remove( this );
+		}
+		
+		// Mount new carrier
+		//==================
+		if ( newCarrier != null )
+		{
+			if ( newCarrier.riders == null )
+			{
+				newCarrier.riders = new ArrayList<MapObject>( 4 );
+			}
+			newCarrier.riders.add( this );
+		}
+		carrier = newCarrier;
+	}
+	
+	// getCarrier
+	//===========
+	/**
+	 * @return the object this {@code MapObject} stands on or {@code null}.
+	 */
+	public MapObject getCarrier()
+	{
+		return ( carrier );
+	}
+	
+	// getRiderCount
+	//==============
+	/**
+	 * @return the number of objects standing on this {@code MapObject}.
+	 */
+	public int getRiderCount()
+	{
+		return ( riders == null ? 0 : riders.size() );
+	}
+	
+	// getRider
+	//=========
+	/**
+	 * @param index the index of the rider.
+	 * @return an object standing on this {@code MapObject}.
+	 */
+	public MapObject getRider( int index )
+	{
+		return ( riders.get( index ) );
+	}
+	
+	// releaseRiders
+	//==============
+	/**
+	 * Ends all links of this {@code MapObject} to its carrier and its riders (i.e. when it is removed
+	 * from the world).
+	 */
+	public void releaseRiders()
+	{
+		this.setCarrier( null );
+		
+		if ( riders != null )
+		{
+			for ( int i = 0; i < riders.size(); i++ )
+			{
+				riders.get( i ).carrier = null;
+			}
+			riders.clear();
+		}
 	}
 	
 	// getSurroundingObjects
@@ -540,12 +961,27 @@ public abstract class MapObject implements Serializable
 			bounds.x = x;
 			bounds.y = y;
 		}
+		this.updateGrid();
 		
 		// Reset jump
 		//===========
 		agility.resetJump();
 	}
 	
+	// updateGrid
+	//===========
+	/**
+	 * Moves this {@code MapObject} to the buckets of the {@code MapObjectGrid} that match its
+	 * bounds. Must be called whenever the bounds of an object in the world are changed.
+	 */
+	public void updateGrid()
+	{
+		if ( worldController != null )
+		{
+			worldController.getMapObjectGrid().update( this );
+		}
+	}
+	
 	// getFrameSize
 	//=============
 	public int getFrameSize()
@@ -588,12 +1024,10 @@ public abstract class MapObject implements Serializable
 	 */
 	public Rectangle getScanArea()
 	{
-		int size = Map.CELL_SIZE;
-		
-		scanArea.x      = bounds.x      - size / 2f;
-		scanArea.y      = bounds.y      - size / 2f;
-		scanArea.width  = bounds.width  + size;
-		scanArea.height = bounds.height + size;
+		scanArea.x      = bounds.x      - SCAN_MARGIN;
+		scanArea.y      = bounds.y      - SCAN_MARGIN;
+		scanArea.width  = bounds.width  + SCAN_MARGIN * 2f;
+		scanArea.height = bounds.height + SCAN_MARGIN * 2f;
 		
 		return ( scanArea );
 	}
@@ -0,0 +1,429 @@
+package com.sh.jplatformer.world.map;
+
+import java.util.ArrayList;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+
+/**
+ * The {@code MapObjectGrid} is a uniform spatial hash for {@code MapObjects}. Every object is
+ * registered in all buckets that are touched by its bounds, so area queries only have to visit
+ * the buckets that overlap the requested area instead of scanning the whole object list. Query
+ * results are returned in the same order as the object list of the {@code WorldController}. The
+ * grid is updated by the code that changes the bounds of an object (see
+ * {@code MapObject.updateGrid()}), so it never has to be synchronized as a whole. Every change
+ * marks the affected buckets, so it can be checked whether an earlier query might have a different
+ * result now (see {@link #beginTracking()}).
+ * @author Stefan Hsemann
+ */
+
+public class MapObjectGrid
+{
+	// Constants
+	//==========
+	public static final int BUCKET_SIZE = Map.CELL_SIZE * 2;
+	
+	// Buckets
+	//========
+	private LongMap<Bucket> buckets;
+	private int sequenceCount;
+	private int trackingStamp;
+	
+	// Bucket
+	//=======
+	/**
+	 * The objects of a single grid cell and the tracking period in which they last changed.
+	 */
+	private static class Bucket extends Array<MapObject>
+	{
+		private int changeStamp;
+		
+		private Bucket()
+		{
+			super( false, 8 );
+		}
+	}
+	
+	// Constructor
+	//============
+	public MapObjectGrid()
+	{
+		buckets = new LongMap<Bucket>();
+	}
+	
+	// clear
+	//======
+	/**
+	 * Removes all {@code MapObjects} from this grid.
+	 */
+	public void clear()
+	{
+		for ( Bucket bucket : buckets.values() )
+		{
+			for ( MapObject o : bucket )
+			{
+				o.isInGrid = false;
+			}
+			bucket.clear();
+		}
+		sequenceCount = 0;
+	}
+	
+	// rebuild
+	//========
+	/**
+	 * Clears this grid and inserts all specified {@code MapObjects} in list order.
+	 * @param mapObjects the objects to insert.
+	 */
+	public void rebuild( ArrayList<MapObject> mapObjects )
+	{
+		clear();
+		
+		for ( int i = 0; i < mapObjects.size(); i++ )
+		{
+			add( mapObjects.get( i ) );
+		}
+	}
+	
+	// add
+	//====
+	/**
+	 * Inserts a {@code MapObject}. Objects added later are returned after objects added earlier,
+	 * so the object must be added in the same order as it is appended to the object list.
+	 * @param o the {@code MapObject} to insert.
+	 */
+	public void add( MapObject o )
+	{
+		// Remove previous entry
+		//======================
+		if ( o.isInGrid == true )
+		{
+			remove( o );
+		}
+		
+		// Register in buckets
+		//====================
+		Rectangle b = o.getBounds();
+		o.gridSequence = sequenceCount++;
+		o.gridX1 = toBucket( b.x );
+		o.gridY1 = toBucket( b.y );
+		o.gridX2 = toBucket( b.x + b.width );
+		o.gridY2 = toBucket( b.y + b.height );
+		o.isInGrid = true;
+		
+		storeBounds( o );
+		insert( o );
+	}
+	
+	// remove
+	//=======
+	/**
+	 * Removes a {@code MapObject} from all of its buckets.
+	 * @param o the {@code MapObject} to remove.
+	 */
+	public void remove( MapObject o )
+	{
+		if ( o.isInGrid == false )
+		{
+			return;
+		}
+		
+		for ( int x = o.gridX1; x <= o.gridX2; x++ )
+		{
+			for ( int y = o.gridY1; y <= o.gridY2; y++ )
+			{
+				Bucket bucket = buckets.get( toKey( x, y ) );
+				
+				if ( bucket != null )
+				{
+					bucket.removeValue( o, true );
+					bucket.changeStamp = trackingStamp;
+				}
+			}
+		}
+		o.isInGrid = false;
+	}
+	
+	// update
+	//=======
+	/**
+	 * Moves a registered {@code MapObject} to the buckets that match its current bounds. Nothing
+	 * happens if the bounds did not change. If the covered buckets did not change, they are only
+	 * marked as changed.
+	 * @param o the {@code MapObject} to update.
+	 */
+	public void update( MapObject o )
+	{
+		// Check registration
+		//===================
+		if ( o.isInGrid == false )
+		{
+			return;
+		}
+		
+		// Check bounds
+		//=============
+		Rectangle b = o.getBounds();
+		
+		if ( b.x == o.gridBoundsX && b.y == o.gridBoundsY && b.width == o.gridBoundsWidth && b.height == o.gridBoundsHeight )
+		{
+			return;
+		}
+		storeBounds( o );
+		
+		// Check bucket range
+		//===================
+		int x1 = toBucket( b.x );
+		int y1 = toBucket( b.y );
+		int x2 = toBucket( b.x + b.width );
+		int y2 = toBucket( b.y + b.height );
+		
+		if ( x1 == o.gridX1 && y1 == o.gridY1 && x2 == o.gridX2 && y2 == o.gridY2 )
+		{
+			mark( o );
+			return;
+		}
+		
+		// Re-register
+		//============
+		remove( o );
+		o.gridX1 = x1;
+		o.gridY1 = y1;
+		o.gridX2 = x2;
+		o.gridY2 = y2;
+		o.isInGrid = true;
+		
+		insert( o );
+	}
+	
+	// query
+	//======
+	/**
+	 * Finds all registered {@code MapObjects} whose bounds overlap the specified area.
+	 * @param area the area on the {@code Map} to scan.
+	 * @param result the list to fill. The list is cleared first.
+	 * @return the {@code result} list.
+	 */
+	public ArrayList<MapObject> query( Rectangle area, ArrayList<MapObject> result )
+	{
+		// Clear result
+		//=============
+		result.clear();
+		
+		// Collect candidates
+		//===================
+		int x1 = toBucket( area.x );
+		int y1 = toBucket( area.y );
+		int x2 = toBucket( area.x + area.width );
+		int y2 = toBucket( area.y + area.height );
+		
+		for ( int x = x1; x <= x2; x++ )
+		{
+			for ( int y = y1; y <= y2; y++ )
+			{
+				Bucket bucket = buckets.get( toKey( x, y ) );
+				
+				if ( bucket == null )
+				{
+					continue;
+				}
+				
+				for ( int i = 0; i < bucket.size; i++ )
+				{
+					MapObject o = bucket.get( i );
+					
+					if ( o.getBounds().overlaps( area ) )
+					{
+						result.add( o );
+					}
+				}
+			}
+		}
+		
+		// Restore list order
+		//===================
+		sort( result );
+		
+		// Remove duplicates
+		//==================
+		int size = 0;
+		
+		for ( int i = 0; i < result.size(); i++ )
+		{
+			if ( size == 0 || result.get( size - 1 ) != result.get( i ) )
+			{
+				result.set( size++, result.get( i ) );
+			}
+		}
+		while ( result.size() > size )
+		{
+			result.remove( result.size() - 1 );
+		}
+		return ( result );
+	}
+	
+	// beginTracking
+	//==============
+	/**
+	 * Starts a new tracking period. All buckets that are changed from now on are reported by
+	 * {@link #isChanged(Rectangle)} until the next period is started.
+	 */
+	public void beginTracking()
+	{
+		trackingStamp++;
+	}
+	
+	// isChanged
+	//==========
+	/**
+	 * Checks if a query of the specified area might return a different result than at the start
+	 * of the current tracking period. This is the case if an object was added to, removed from or
+	 * moved within any bucket that overlaps the area.
+	 * @param area the area on the {@code Map}.
+	 * @return {@code true} if any bucket of the area changed, {@code false} otherwise.
+	 */
+	public boolean isChanged( Rectangle area )
+	{
+		int x1 = toBucket( area.x );
+		int y1 = toBucket( area.y );
+		int x2 = toBucket( area.x + area.width );
+		int y2 = toBucket( area.y + area.height );
+		
+		for ( int x = x1; x <= x2; x++ )
+		{
+			for ( int y = y1; y <= y2; y++ )
+			{
+				Bucket bucket = buckets.get( toKey( x, y ) );
+				
+				if ( bucket != null && bucket.changeStamp == trackingStamp )
+				{
+					return ( true );
+				}
+			}
+		}
+		return ( false );
+	}
+	
+	// sort
+	//=====
+	/**
+	 * Sorts a list by the grid sequence of its objects. A heap sort is used, because it runs in
+	 * {@code O(k log k)}, works in place and does not allocate (queries may run on several threads).
+	 * Objects that were found in several buckets end up next to each other.
+	 * @param list the list to sort.
+	 */
+	private static void sort( ArrayList<MapObject> list )
+	{
+		int size = list.size();
+		
+		// Build heap
+		//===========
+		for ( int i = size / 2 - 1; i >= 0; i-- )
+		{
+			siftDown( list, i, size );
+		}
+		
+		// Extract maximum
+		//================
+		for ( int end = size - 1; end > 0; end-- )
+		{
+			MapObject max = list.get( 0 );
+			list.set( 0, list.get( end ) );
+			list.set( end, max );
+			siftDown( list, 0, end );
+		}
+	}
+	
+	// siftDown
+	//=========
+	private static void siftDown( ArrayList<MapObject> list, int index, int size )
+	{
+		MapObject o = list.get( index );
+		
+		while ( index * 2 + 1 < size )
+		{
+			int child = index * 2 + 1;
+			
+			if ( child + 1 < size && list.get( child + 1 ).gridSequence > list.get( child ).gridSequence )
+			{
+				child++;
+			}
+			if ( list.get( child ).gridSequence <= o.gridSequence )
+			{
+				break;
+			}
+			list.set( index, list.get( child ) );
+			index = child;
+		}
+		list.set( index, o );
+	}
+	
+	// insert
+	//=======
+	private void insert( MapObject o )
+	{
+		for ( int x = o.gridX1; x <= o.gridX2; x++ )
+		{
+			for ( int y = o.gridY1; y <= o.gridY2; y++ )
+			{
+				long key = toKey( x, y );
+				Bucket bucket = buckets.get( key );
+				
+				if ( bucket == null )
+				{
+					bucket = new Bucket();
+					buckets.put( key, bucket );
+				}
+				bucket.add( o );
+				bucket.changeStamp = trackingStamp;
+			}
+		}
+	}
+	
+	// mark
+	//=====
+	/**
+	 * Marks all buckets of a registered {@code MapObject} as changed.
+	 */
+	private void mark( MapObject o )
+	{
+		for ( int x = o.gridX1; x <= o.gridX2; x++ )
+		{
+			for ( int y = o.gridY1; y <= o.gridY2; y++ )
+			{
+				Bucket bucket = buckets.get( toKey( x, y ) );
+				
+				if ( bucket != null )
+				{
+					bucket.changeStamp = trackingStamp;
+				}
+			}
+		}
+	}
+	
+	// storeBounds
+	//============
+	private static void storeBounds( MapObject o )
+	{
+		Rectangle b = o.getBounds();
+		o.gridBoundsX      = b.x;
+		o.gridBoundsY      = b.y;
+		o.gridBoundsWidth  = b.width;
+		o.gridBoundsHeight = b.height;
+	}
+	
+	// toBucket
+	//=========
+	private static int toBucket( float value )
+	{
+		return ( (int) Math.floor( value / BUCKET_SIZE ) );
+	}
+	
+	// toKey
+	//======
+	private static long toKey( int x, int y )
+	{
+		return ( ( (long) x << 32 ) | ( y & 0xFFFFFFFFL ) );
+	}
+}
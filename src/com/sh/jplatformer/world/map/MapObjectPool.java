@@ -0,0 +1,105 @@
+package com.sh.jplatformer.world.map;
+
+import com.badlogic.gdx.utils.Pool;
+import com.sh.jplatformer.world.WorldController;
+
+/**
+ * The {@code MapObjectPool} recycles dead {@code MapObjects} of a single type, so frequently
+ * spawned objects (i.e. projectiles) do not have to be constructed and initialized again. It
+ * counts how many objects were reused (hits) and how many had to be created (misses).
+ * @author Stefan Hsemann
+ */
+
+public class MapObjectPool<T extends MapObject> extends Pool<T>
+{
+	// Constants
+	//==========
+	public static final int MAX_FREE_OBJECTS = 256;
+	
+	// Fields
+	//=======
+	private WorldController worldController;
+	private Class<T> type;
+	private int hits;
+	private int misses;
+	
+	// Constructor
+	//============
+	/**
+	 * @param worldController the {@code WorldController} of the created objects.
+	 * @param type the type of the pooled objects. It must provide a constructor that only takes
+	 * a {@code WorldController}.
+	 */
+	public MapObjectPool( WorldController worldController, Class<T> type )
+	{
+		super( 16, MAX_FREE_OBJECTS );
+		
+		this.worldController = worldController;
+		this.type = type;
+	}
+	
+	// newObject
+	//==========
+	@Override
+	protected T newObject()
+	{
+		return ( type.cast( MapObject.createFromClassName( type.getName(), worldController ) ) );
+	}
+	
+	// obtain
+	//=======
+	/**
+	 * @return a recycled object or a new one if the pool is empty.
+	 */
+	@Override
+	public T obtain()
+	{
+		// Create new object
+		//==================
+		if ( getFree() == 0 )
+		{
+			misses++;
+			return ( super.obtain() );
+		}
+		
+		// Recycle object
+		//===============
+		hits++;
+		T o = super.obtain();
+		o.recycle();
+		
+		return ( o );
+	}
+	
+	// freeObject
+	//===========
+	/**
+	 * Returns a dead {@code MapObject} of the type of this pool.
+	 * @param o the object to free.
+	 */
+	public void freeObject( MapObject o )
+	{
+		free( type.cast( o ) );
+	}
+	
+	// getType
+	//========
+	public Class<T> getType()
+	{
+		return ( type );
+	}
+	
+	// getHits
+	//========
+	public int getHits()
+	{
+		return ( hits );
+	}
+	
+	// getMisses
+	//==========
+	public int getMisses()
+	{
+		return ( misses );
+	}
+}
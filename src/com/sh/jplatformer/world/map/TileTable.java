@@ -0,0 +1,165 @@
+package com.sh.jplatformer.world.map;
+
+/**
+ * The {@code TileTable} maps the 8-neighbor mask of a {@code Map} cell to its tile ID and to the
+ * inner corners that are drawn on top of it. A bit of the mask is set if the neighbor in that
+ * direction uses the same tile set as the cell. Both tables are generated once from the
+ * autotiling rules, so updating a cell only requires one mask and two array lookups.
+ * @author Stefan Hsemann
+ */
+
+public class TileTable
+{
+	// Neighbors
+	//==========
+	public static final int EAST       = 1;
+	public static final int NORTH_EAST = 2;
+	public static final int NORTH      = 4;
+	public static final int NORTH_WEST = 8;
+	public static final int WEST       = 16;
+	public static final int SOUTH_WEST = 32;
+	public static final int SOUTH      = 64;
+	public static final int SOUTH_EAST = 128;
+	
+	// Corners
+	//========
+	public static final int CORNER_TOP_LEFT     = 1;
+	public static final int CORNER_TOP_RIGHT    = 2;
+	public static final int CORNER_BOTTOM_LEFT  = 4;
+	public static final int CORNER_BOTTOM_RIGHT = 8;
+	
+	// Corner tiles
+	//=============
+	public static final int TILE_TOP_LEFT     = 16;
+	public static final int TILE_TOP_RIGHT    = 17;
+	public static final int TILE_BOTTOM_LEFT  = 18;
+	public static final int TILE_BOTTOM_RIGHT = 19;
+	
+	// Tables
+	//=======
+	private static final byte[] TILES   = new byte[256];
+	private static final byte[] CORNERS = new byte[256];
+	
+	static
+	{
+		for ( int mask = 0; mask < 256; mask++ )
+		{
+			TILES[mask]   = (byte) createTile( mask );
+			CORNERS[mask] = (byte) createCorners( mask );
+		}
+	}
+	
+	// Constructor
+	//============
+	private TileTable()
+	{
+	}
+	
+	// getTile
+	//========
+	/**
+	 * @param mask the 8-neighbor mask of the cell.
+	 * @return the tile ID of the cell within its tile set.
+	 */
+	public static int getTile( int mask )
+	{
+		return ( TILES[mask] );
+	}
+	
+	// getCorners
+	//===========
+	/**
+	 * @param mask the 8-neighbor mask of the cell.
+	 * @return the {@code CORNER_*} flags of all inner corners of the cell.
+	 */
+	public static int getCorners( int mask )
+	{
+		return ( CORNERS[mask] );
+	}
+	
+	// createTile
+	//===========
+	private static int createTile( int mask )
+	{
+		// Neighbors
+		//==========
+		boolean e = ( mask & EAST  ) != 0;
+		boolean w = ( mask & WEST  ) != 0;
+		boolean n = ( mask & NORTH ) != 0;
+		boolean s = ( mask & SOUTH ) != 0;
+		
+		// Set center tile
+		//================
+		int tileId = 4;
+		
+		// Rectangular (right)
+		//====================
+		if ( !e )
+		{
+			if ( !s ) tileId = 8; // Top Right Corner
+			if ( !n ) tileId = 2; // Bottom Right Corner
+			if ( s && n ) tileId = 5; // Right Side Center
+		}
+		
+		// Rectangular (left)
+		//===================
+		if ( !w )
+		{
+			if ( !s ) tileId = 6; // Top Left Corner
+			if ( !n ) tileId = 0; // Bottom Left Corner
+			if ( s && n ) tileId = 3; // Left Side Center
+		}
+		
+		// Rectangular center (top, bottom)
+		//=================================
+		if ( w && e )
+		{
+			if ( !s ) tileId = 7; // Top Center
+			if ( !n ) tileId = 1; // Bottom Center
+		}
+		
+		// Single tiles (horizontal)
+		//==========================
+		if ( !s && !n )
+		{
+			if ( !e ) tileId = 11; // Single Left
+			if ( !w ) tileId = 9;  // Single Right
+			if ( e && w ) tileId = 10; // Single Horizontal Center
+		}
+		
+		// Single tiles (vertical)
+		//========================
+		if ( !e && !w )
+		{
+			if ( !n ) tileId = 12; // Single Bottom
+			if ( !s ) tileId = 14; // Single Top
+			if ( s && n ) tileId = 13; // Single Vertical Center
+			if ( !s && !n ) tileId = 15; // Single Tile
+		}
+		return ( tileId );
+	}
+	
+	// createCorners
+	//==============
+	private static int createCorners( int mask )
+	{
+		int corners = 0;
+		
+		// Right side corners
+		//===================
+		if ( ( mask & EAST ) != 0 )
+		{
+			if ( ( mask & SOUTH ) != 0 && ( mask & SOUTH_EAST ) == 0 ) corners |= CORNER_BOTTOM_RIGHT;
+			if ( ( mask & NORTH ) != 0 && ( mask & NORTH_EAST ) == 0 ) corners |= CORNER_TOP_RIGHT;
+		}
+		
+		// Left side corners
+		//==================
+		if ( ( mask & WEST ) != 0 )
+		{
+			if ( ( mask & SOUTH ) != 0 && ( mask & SOUTH_WEST ) == 0 ) corners |= CORNER_BOTTOM_LEFT;
+			if ( ( mask & NORTH ) != 0 && ( mask & NORTH_WEST ) == 0 ) corners |= CORNER_TOP_LEFT;
+		}
+		return ( corners );
+	}
+}
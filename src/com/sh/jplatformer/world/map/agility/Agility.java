@@ -1,15 +1,18 @@
 package com.sh.jplatformer.world.map.agility;
 
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.Arrays;
 
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.sh.jplatformer.world.WorldController;
-import com.sh.jplatformer.world.map.collision.CollisionHelper;
 
 /**
  * The {@code Agility} class represents horizontal and vertical motion of an object.
+ * Repulsions are stored in parallel primitive arrays together with the unit vector of their
+ * direction, which is calculated once when the repulsion is added. Their combined force is summed
+ * up once per update and then kept up to date as new repulsions arrive, so reading the delta of an
+ * object neither allocates nor evaluates any trigonometry.
  * @author Stefan Hsemann
  */
 
@@ -45,16 +48,21 @@ public class Agility implements Serializable
 	
 	// Repulsions
 	//===========
-	private ArrayList<Repulsion> repulsions;
-	private Vector2 repulsionSum;
-		
+	private static final int REPULSION_CAPACITY = 16;
+	private transient float[] repulsionForces;
+	private transient float[] repulsionAttenuations;
+	private transient float[] repulsionDirectionsX;
+	private transient float[] repulsionDirectionsY;
+	private transient int repulsionCount;
+	private transient float repulsionForceX;
+	private transient float repulsionForceY;
+	private transient Vector2 repulsionSum;
+	
 	// Constructor
 	//============
 	public Agility()
 	{
 		velocity = new AgilityValue();
-		repulsions = new ArrayList<Repulsion>();
-		repulsionSum = new Vector2();
 	}
 	
 	// update
@@ -71,11 +79,56 @@ public class Agility implements Serializable
 		
 		// Repulsion
 		//==========
-		for ( Repulsion r : repulsions )
+		updateRepulsions();
+	}
+	
+	// updateRepulsions
+	//=================
+	/**
+	 * Decreases the force of all repulsions by their attenuation, removes the repulsions that have
+	 * run out and sums up the force of the remaining ones in the order they were added.
+	 */
+	private void updateRepulsions()
+	{
+		int count = 0;
+		repulsionForceX = 0f;
+		repulsionForceY = 0f;
+		
+		for ( int i = 0; i < repulsionCount; i++ )
 		{
-			r.update();
+			// Attenuate
+			//==========
+			float force = repulsionForces[i] - WorldController.getDelta( repulsionAttenuations[i] );
+			
+			if ( WorldController.getDelta( force ) <= 0f )
+			{
+				continue;
+			}
+			
+			// Keep and sum up
+			//================
+			repulsionForces[count]       = force;
+			repulsionAttenuations[count] = repulsionAttenuations[i];
+			repulsionDirectionsX[count]  = repulsionDirectionsX[i];
+			repulsionDirectionsY[count]  = repulsionDirectionsY[i];
+			this.addForce( count );
+			count++;
 		}
-		repulsions.removeIf( r -> r.getForce() <= 0f );
+		repulsionCount = count;
+	}
+	
+	// addForce
+	//=========
+	/**
+	 * Adds the force vector of a repulsion to the combined force. The length of the vector is
+	 * computed the way {@code Vector2.setAngle} does, so the sum is the same as before.
+	 */
+	private void addForce( int i )
+	{
+		float length = (float) Math.sqrt( repulsionForces[i] * repulsionForces[i] );
+		
+		repulsionForceX += length * repulsionDirectionsX[i];
+		repulsionForceY += length * repulsionDirectionsY[i];
 	}
 	
 	// updateVelocity
@@ -139,10 +192,9 @@ public class Agility implements Serializable
 			if ( jumpDelta < 150f ) jumpDelta = 150f;
 			if ( jumpDelta > 450f ) jumpDelta = 450f;
 			
-			// Transform to world delta + clamp
-			//=================================
+			// Transform to world delta
+			//=========================
 			jumpDelta = WorldController.getDelta( jumpDelta );
-			jumpDelta = CollisionHelper.limitDelta( jumpDelta );
 			
 			// Increase jump height
 			//=====================
@@ -260,10 +312,11 @@ public class Agility implements Serializable
 		
 		// Calculate delta on all axes
 		//============================
-		float x = getRepulsionVector().x + velocity.getSum();
-		float y = getRepulsionVector().y + jumpDelta;
+		Vector2 repulsion = getRepulsionVector();
+		float x = repulsion.x + velocity.getSum();
+		float y = repulsion.y + jumpDelta;
 		
-		return ( helperVector2.set( x, y ).add( getRepulsionVector() ) );
+		return ( helperVector2.set( x, y ).add( repulsion ) );
 	}
 	
 	// getDirection
@@ -277,37 +330,70 @@ public class Agility implements Serializable
 	//================
 	public void clearRepulsions()
 	{
-		repulsions.clear();
+		repulsionCount  = 0;
+		repulsionForceX = 0f;
+		repulsionForceY = 0f;
 	}
 	
 	// addRepulsion
 	//=============
+	/**
+	 * Adds a force to this {@code Agility}. All values will be multiplied by the world delta time.
+	 * @param force the initial force of the repulsion.
+	 * @param angle the angle to repulse to.
+	 * @param attenuation the attenuation of the force per update.
+	 */
 	public void addRepulsion( float force, float angle, float attenuation )
 	{
-		repulsions.add( new Repulsion( force, angle, attenuation ) );
+		// Create or grow arrays
+		//======================
+		if ( repulsionForces == null )
+		{
+			repulsionForces       = new float[REPULSION_CAPACITY];
+			repulsionAttenuations = new float[REPULSION_CAPACITY];
+			repulsionDirectionsX  = new float[REPULSION_CAPACITY];
+			repulsionDirectionsY  = new float[REPULSION_CAPACITY];
+		}
+		else if ( repulsionCount == repulsionForces.length )
+		{
+			repulsionForces       = Arrays.copyOf( repulsionForces,       repulsionCount * 2 );
+			repulsionAttenuations = Arrays.copyOf( repulsionAttenuations, repulsionCount * 2 );
+			repulsionDirectionsX  = Arrays.copyOf( repulsionDirectionsX,  repulsionCount * 2 );
+			repulsionDirectionsY  = Arrays.copyOf( repulsionDirectionsY,  repulsionCount * 2 );
+		}
+		
+		// Store repulsion
+		//================
+		float radians = angle * MathUtils.degreesToRadians;
+		int i = repulsionCount++;
+		
+		repulsionForces[i]       = force;
+		repulsionAttenuations[i] = attenuation;
+		repulsionDirectionsX[i]  = (float) Math.cos( radians );
+		repulsionDirectionsY[i]  = (float) Math.sin( radians );
+		this.addForce( i );
 	}
 	
 	// getRepulsionVector
 	//===================
+	/**
+	 * @return the combined force of all repulsions multiplied by the world delta time.
+	 */
 	public Vector2 getRepulsionVector()
 	{
-		// Reset
-		//======
-		repulsionSum.set( 0f, 0f );
-		
-		// Add repulsions
-		//===============
-		for ( Repulsion r : repulsions )
+		if ( repulsionSum == null )
 		{
-			repulsionSum.add( r.getForceVector() );
+			repulsionSum = new Vector2();
 		}
-		
-		// Multiply by world delta
-		//========================
-		repulsionSum.x = WorldController.getDeltaRatio60( repulsionSum.x );
-		repulsionSum.y = WorldController.getDeltaRatio60( repulsionSum.y );
-		
-		return ( repulsionSum );
+		return ( repulsionSum.set( WorldController.getDelta( repulsionForceX ),
+		                           WorldController.getDelta( repulsionForceY ) ) );
+	}
+	
+	// getRepulsionCount
+	//==================
+	public int getRepulsionCount()
+	{
+		return ( repulsionCount );
 	}
 	
 	// isMoving
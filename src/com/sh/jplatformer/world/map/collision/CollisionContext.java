@@ -0,0 +1,44 @@
+package com.sh.jplatformer.world.map.collision;
+
+import java.util.ArrayList;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.sh.jplatformer.world.map.MapObject;
+
+/**
+ * The {@code CollisionContext} holds the temporary objects used by the {@code CollisionHelper}.
+ * Each thread has its own context, so collision detection can be performed by several workers at
+ * the same time.
+ * @author Stefan Hsemann
+ */
+
+public class CollisionContext
+{
+	// Contexts
+	//=========
+	private static final ThreadLocal<CollisionContext> contexts = new ThreadLocal<CollisionContext>()
+	{
+		@Override
+		protected CollisionContext initialValue()
+		{
+			return ( new CollisionContext() );
+		}
+	};
+	
+	// Helpers
+	//========
+	public final Rectangle r1 = new Rectangle();
+	public final Rectangle r2 = new Rectangle();
+	public final Rectangle r3 = new Rectangle();
+	public final ArrayList<MapObject> objects = new ArrayList<MapObject>();
+	
+	// get
+	//====
+	/**
+	 * @return the {@code CollisionContext} of the current thread.
+	 */
+	public static CollisionContext get()
+	{
+		return ( contexts.get() );
+	}
+}
@@ -1,7 +1,8 @@
 package com.sh.jplatformer.world.map.collision;
 
+import java.util.ArrayList;
+
 import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.math.Vector2;
 import com.sh.jplatformer.world.map.Map;
 import com.sh.jplatformer.world.map.MapObject;
 import com.sh.jplatformer.world.map.collision.Collision.CollisionType;
@@ -13,18 +14,20 @@ import com.sh.jplatformer.world.map.collision.Collision.CollisionType;
 
 public class CollisionHelper
 {
-	// Helpers
-	//========
-	private static Vector2   v1 = new Vector2( 0f, 0f );
-	private static Vector2   v2 = new Vector2( 0f, 0f );
-	private static Vector2   v3 = new Vector2( 0f, 0f );
-	private static Rectangle r1 = new Rectangle();
+	// Directions
+	//===========
+	private static final int UP   = 0;
+	private static final int DOWN = 1;
+	private static final int EAST = 2;
+	private static final int WEST = 3;
 	
 	// move
 	//=====
 	/**
 	 * Attempts to translate the bounds of the specified {@code MapObject}. The movement is blocked
-	 * by occupied {@code MapCells} and other objects that block space.
+	 * by occupied {@code Map} cells and other objects that block space. Each axis is swept over its
+	 * full distance, so fast objects stop at the first obstacle in their way instead of passing it.
+	 * An object that lands on another object becomes its rider until it moves off it again.
 	 * @param o the {@code MapObject} that moves.
 	 * @param x the amount of movement on the x-axis.
 	 * @param y the amount of movement on the y-axis.
@@ -35,152 +38,138 @@ public class CollisionHelper
 		//===============
 		Map map = o.getWorldController().getMap();
 		Rectangle r = o.getBounds();
-		
-		// Limit values
-		//=============
-		x = limitDelta( x );
-		y = limitDelta( y );
-		
+		CollisionContext c = CollisionContext.get();
+		Rectangle r1 = c.r1;
+		Rectangle r2 = c.r2;
+		MapObject carrier = null;
+
 		// Move up
 		//========
 		if ( y > 0f )
 		{
-			// Set collision vectors
-			//======================
-			v1.set( r.x,                    r.y + r.height + y );
-			v2.set( r.x + r.width - 0.001f, r.y + r.height + y );
-			v3.set( r.x + r.width / 2f,     r.y + r.height + y );
+			// Sweep tiles and objects
+			//========================
+			int row = sweepRowsUp( map, r, y );
+
 			r1.set( r.x, r.y + y, r.width, r.height );
-			
-			// Check tiles
-			//============
-			if ( !isCellBlocked( map, v1, v2, v3 ) )
-			{
-				// Check objects
-				//==============
-				Rectangle area = checkObjectCollision( o, r1 );
-				
-				if ( area != null )
-				{
-					r.y = area.y - r.height;
-					o.getLastCollision().y = CollisionType.TOP;
-					o.getAgility().resetJump();
-				}
-			}
-			else
+			r2.set( r.x, r.y + r.height, r.width, y );
+			MapObject hit = checkObjectCollision( o, r1, r2, UP );
+			Rectangle area = hit != null ? hit.getBounds() : null;
+
+			// Time of impact
+			//===============
+			float limit = Float.MAX_VALUE;
+
+			if ( row >= 0 )     limit = row * Map.CELL_SIZE - r.height - 0.001f;
+			if ( area != null ) limit = Math.min( limit, area.y - r.height );
+
+			if ( row >= 0 || area != null )
 			{
-				r.y = map.getCellAt( v1 ).y * Map.CELL_SIZE - r.height - 0.001f;
+				r.y = limit;
 				o.getLastCollision().y = CollisionType.TOP;
 				o.getAgility().resetJump();
 			}
 		}
-		
+
 		// Move down
 		//==========
 		if ( y < 0f )
 		{
-			// Set collision vectors
-			//======================
-			v1.set( r.x,                    r.y + y );
-			v2.set( r.x + r.width - 0.001f, r.y + y );
-			v3.set( r.x + r.width / 2f,     r.y + y );
+			// Sweep tiles and objects
+			//========================
+			int row = sweepRowsDown( map, r, y );
+
 			r1.set( r.x, r.y + y, r.width, r.height );
-			
-			// Check tiles
-			//============
-			if ( !isCellBlocked( map, v1, v2, v3 ) )
-			{
-				// Check objects
-				//==============
-				Rectangle area = checkObjectCollision( o, r1 );
-				
-				if ( area != null )
-				{
-					r.y = area.y + area.height;
-					o.getLastCollision().y = CollisionType.BOTTOM;
-					o.getAgility().resetJump();
-				}
-			}
-			else
+			r2.set( r.x, r.y + y, r.width, -y );
+			MapObject hit = checkObjectCollision( o, r1, r2, DOWN );
+			Rectangle area = hit != null ? hit.getBounds() : null;
+
+			// Time of impact
+			//===============
+			float limit = -Float.MAX_VALUE;
+
+			if ( row >= 0 )     limit = row * Map.CELL_SIZE + Map.CELL_SIZE;
+			if ( area != null ) limit = Math.max( limit, area.y + area.height );
+
+			if ( row >= 0 || area != null )
 			{
-				r.y = map.getCellAt( v1 ).y * Map.CELL_SIZE + Map.CELL_SIZE;
+				r.y = limit;
 				o.getLastCollision().y = CollisionType.BOTTOM;
 				o.getAgility().resetJump();
 			}
+			
+			// Stand on object
+			//================
+			if ( area != null && area.y + area.height == limit )
+			{
+				carrier = hit;
+			}
 		}
 
 		// Move east
 		//==========
 		if ( x > 0f )
 		{
-			// Set collision vectors
-			//======================
-			v1.set( r.x + r.width + x, r.y );
-			v2.set( r.x + r.width + x, r.y + r.height - 0.001f );
-			v3.set( r.x + r.width + x, r.y + r.height / 2f );
+			// Sweep tiles and objects
+			//========================
+			int col = sweepColumnsEast( map, r, x );
+
 			r1.set( r.x + x, r.y, r.width, r.height );
-			
-			// Check tiles
-			//============
-			if ( !isCellBlocked( map, v1, v2, v3 ) )
-			{
-				// Check objects
-				//==============
-				Rectangle area = checkObjectCollision( o, r1 );
-				
-				if ( area != null )
-				{
-					r.x = area.x - r.width;
-					o.getLastCollision().x = CollisionType.EAST;
-					o.getAgility().getVelocity().reset();
-				}
-			}
-			else
+			r2.set( r.x + r.width, r.y, x, r.height );
+			MapObject hit = checkObjectCollision( o, r1, r2, EAST );
+			Rectangle area = hit != null ? hit.getBounds() : null;
+
+			// Time of impact
+			//===============
+			float limit = Float.MAX_VALUE;
+
+			if ( col >= 0 )     limit = col * Map.CELL_SIZE - r.width - 0.001f;
+			if ( area != null ) limit = Math.min( limit, area.x - r.width );
+
+			if ( col >= 0 || area != null )
 			{
-				r.x = map.getCellAt( v1 ).x * Map.CELL_SIZE - r.width - 0.001f;
+				r.x = limit;
 				o.getLastCollision().x = CollisionType.EAST;
 				o.getAgility().getVelocity().reset();
 			}
 		}
-		
+
 		// Move west
 		//==========
 		if ( x < 0f )
 		{
-			// Set collision vectors
-			//======================
-			v1.set( r.x + x, r.y );
-			v2.set( r.x + x, r.y + r.height - 0.001f );
-			v3.set( r.x + x, r.y + r.height / 2f );
+			// Sweep tiles and objects
+			//========================
+			int col = sweepColumnsWest( map, r, x );
+
 			r1.set( r.x + x, r.y, r.width, r.height );
-			
-			// Check tiles
-			//============
-			if ( !isCellBlocked( map, v1, v2, v3 ) )
-			{
-				// Check objects
-				//==============
-				Rectangle area = checkObjectCollision( o, r1 );
-				
-				if ( area != null )
-				{
-					r.x = area.x + area.width;
-					o.getLastCollision().x = CollisionType.WEST;
-					o.getAgility().getVelocity().reset();
-				}
-			}
-			else
+			r2.set( r.x + x, r.y, -x, r.height );
+			MapObject hit = checkObjectCollision( o, r1, r2, WEST );
+			Rectangle area = hit != null ? hit.getBounds() : null;
+
+			// Time of impact
+			//===============
+			float limit = -Float.MAX_VALUE;
+
+			if ( col >= 0 )     limit = col * Map.CELL_SIZE + Map.CELL_SIZE;
+			if ( area != null ) limit = Math.max( limit, area.x + area.width );
+
+			if ( col >= 0 || area != null )
 			{
-				r.x = map.getCellAt( v1 ).x * Map.CELL_SIZE + Map.CELL_SIZE;
+				r.x = limit;
 				o.getLastCollision().x = CollisionType.WEST;
 				o.getAgility().getVelocity().reset();
 			}
 		}
-		
+
 		// Update temporary coordinates
 		//=============================
 		if ( o.getLastCollision().x == CollisionType.NONE ) { r.x += x; }
 		if ( o.getLastCollision().y == CollisionType.NONE ) { r.y += y; }
+
+		// Update carrier
+		//===============
+		o.setCarrier( carrier );
 		
 		// Kill when in water
 		//===================
@@ -188,7 +177,7 @@ public class CollisionHelper
 		{
 			o.setAlive( false );
 		}
-		
+
 		// Limit western border
 		//=====================
 		if ( r.x < 0 )
@@ -196,7 +185,7 @@ public class CollisionHelper
 			r.x = 0;
 			o.getLastCollision().x = CollisionType.WEST;
 		}
-				
+
 		// Limit eastern border
 		//=====================
 		if ( r.x > map.getMapBounds().width - r.width )
@@ -204,7 +193,7 @@ public class CollisionHelper
 			r.x = map.getMapBounds().width - r.width;
 			o.getLastCollision().x = CollisionType.EAST;
 		}
-		
+
 		// Limit bottom border
 		//====================
 		if ( r.y < -Map.CELL_SIZE * 2f )
@@ -212,36 +201,151 @@ public class CollisionHelper
 			r.y = -Map.CELL_SIZE * 2f;
 			o.setAlive( false );
 		}
-		
+
 		// Limit top border
 		//=================
 		if ( r.y > map.getMapBounds().height + Map.CELL_SIZE )
 		{
 			o.setAlive( false );
 		}
+
+		// Update grid
+		//============
+		o.updateGrid();
+	}
+
+	// sweepRowsUp
+	//============
+	/**
+	 * @return the first blocked row that the top edge of {@code r} enters when moving up by
+	 * {@code y}, or {@code -1} if the way is free. The row that already contains the edge is
+	 * only tested if the edge stays within it.
+	 */
+	public static int sweepRowsUp( Map map, Rectangle r, float y )
+	{
+		int row1 = map.getRow( r.y + r.height );
+		int row2 = map.getRow( r.y + r.height + y );
+		
+		return ( map.findBlockedRow( map.getColumn( r.x ),
+		                             map.getColumn( r.x + r.width - 0.001f ),
+		                             row1 < row2 ? row1 + 1 : row2, row2 ) );
 	}
 	
-	// isCellBlocked
+	// sweepRowsDown
 	//==============
-	private static boolean isCellBlocked( Map map, Vector2 v1, Vector2 v2, Vector2 v3 )
+	/**
+	 * @return the first blocked row that the bottom edge of {@code r} enters when moving down by
+	 * {@code y}, or {@code -1} if the way is free. The row that already contains the edge is
+	 * only tested if the edge stays within it.
+	 */
+	public static int sweepRowsDown( Map map, Rectangle r, float y )
+	{
+		int row1 = map.getRow( r.y );
+		int row2 = map.getRow( r.y + y );
+		
+		return ( map.findBlockedRow( map.getColumn( r.x ),
+		                             map.getColumn( r.x + r.width - 0.001f ),
+		                             row1 > row2 ? row1 - 1 : row2, row2 ) );
+	}
+	
+	// sweepColumnsEast
+	//=================
+	/**
+	 * @return the first blocked column that the east edge of {@code r} enters when moving east by
+	 * {@code x}, or {@code -1} if the way is free. The column that already contains the edge is
+	 * only tested if the edge stays within it.
+	 */
+	public static int sweepColumnsEast( Map map, Rectangle r, float x )
 	{
-		return ( map.isBlocked( v1 ) || map.isBlocked( v2 ) || map.isBlocked( v3 ) );
+		int col1 = map.getColumn( r.x + r.width );
+		int col2 = map.getColumn( r.x + r.width + x );
+		
+		return ( map.findBlockedColumn( map.getRow( r.y ),
+		                                map.getRow( r.y + r.height - 0.001f ),
+		                                col1 < col2 ? col1 + 1 : col2, col2 ) );
+	}
+	
+	// sweepColumnsWest
+	//=================
+	/**
+	 * @return the first blocked column that the west edge of {@code r} enters when moving west by
+	 * {@code x}, or {@code -1} if the way is free. The column that already contains the edge is
+	 * only tested if the edge stays within it.
+	 */
+	public static int sweepColumnsWest( Map map, Rectangle r, float x )
+	{
+		int col1 = map.getColumn( r.x );
+		int col2 = map.getColumn( r.x + x );
+		
+		return ( map.findBlockedColumn( map.getRow( r.y ),
+		                                map.getRow( r.y + r.height - 0.001f ),
+		                                col1 > col2 ? col1 - 1 : col2, col2 ) );
 	}
 	
 	// checkObjectCollision
 	//=====================
-	private static Rectangle checkObjectCollision( MapObject movingObject, Rectangle rect )
+	/**
+	 * Finds the nearest blocking object in the direction of movement. An object is hit if it
+	 * overlaps the moved bounds, or if it lies ahead of the moving object and overlaps the area
+	 * swept by its leading edge. The surrounding objects only cover the scan area, so a movement
+	 * beyond its margin queries the grid for the whole swept area instead.
+	 * @param movingObject the {@code MapObject} that moves.
+	 * @param moved the bounds of the moving object after the movement.
+	 * @param swept the area between the leading edge before and after the movement.
+	 * @param direction the direction of the movement.
+	 * @return the nearest object or {@code null}.
+	 */
+	private static MapObject checkObjectCollision( MapObject movingObject, Rectangle moved, Rectangle swept, int direction )
 	{
-		for ( MapObject o : movingObject.getSurroundingObjects() )
+		Rectangle r = movingObject.getBounds();
+		MapObject nearest = null;
+		float nearestDistance = Float.MAX_VALUE;
+
+		// Candidates
+		//===========
+		ArrayList<MapObject> candidates = movingObject.getSurroundingObjects();
+		float length = direction == UP || direction == DOWN ? swept.height : swept.width;
+
+		if ( length > MapObject.SCAN_MARGIN )
 		{
-			if ( o != movingObject && o.isBlockingSpace() && o.getBounds().overlaps( rect ) )
+			CollisionContext c = CollisionContext.get();
+			c.r3.set( r ).merge( moved );
+			candidates = movingObject.getWorldController().getMapObjectGrid().query( c.r3, c.objects );
+		}
+
+		for ( int i = 0; i < candidates.size(); i++ )
+		{
+			MapObject o = candidates.get( i );
+
+			// Check candidate
+			//================
+			if ( o == movingObject || !o.isBlockingSpace() )
 			{
-				return ( o.getBounds() );
+				continue;
+			}
+			Rectangle b = o.getBounds();
+			float distance;
+			boolean isAhead;
+
+			switch ( direction )
+			{
+				case UP:   distance = +b.y;            isAhead = b.y >= r.y + r.height; break;
+				case DOWN: distance = -b.y - b.height; isAhead = b.y + b.height <= r.y; break;
+				case EAST: distance = +b.x;            isAhead = b.x >= r.x + r.width;  break;
+				default:   distance = -b.x - b.width;  isAhead = b.x + b.width <= r.x;  break;
+			}
+
+			// Keep nearest
+			//=============
+			if ( distance < nearestDistance && ( b.overlaps( moved ) || ( isAhead && b.overlaps( swept ) ) ) )
+			{
+				nearest = o;
+				nearestDistance = distance;
 			}
 		}
-		return ( null );
+		return ( nearest );
 	}
-	
+
 	// isEastCellPassable
 	//===================
 	public static boolean isEastCellPassable( MapObject o )
@@ -287,14 +391,4 @@ public class CollisionHelper
 		//================
 		return ( map.isBlocked( b.x + b.width / 2f, b.y - 1f ) );
 	}
-	
-	// limitDelta
-	//===========
-	public static float limitDelta( float value )
-	{
-		if ( value > +Map.CELL_SIZE / 2f ) value = +Map.CELL_SIZE / 2f;
-		if ( value < -Map.CELL_SIZE / 2f ) value = -Map.CELL_SIZE / 2f;
-		
-		return ( value );
-	}
-}
+}
\ No newline at end of file
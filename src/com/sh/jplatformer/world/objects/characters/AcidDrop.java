@@ -51,12 +51,12 @@ public class AcidDrop extends MapObject
 		}
 	}
 	
-	// onPlayerCollision
-	//==================
+	// onContactBegin
+	//===============
 	@Override
-	public void onPlayerCollision()
+	public void onContactBegin( MapObject other )
 	{
-		worldController.getPlayer().setAlive( false );
+		other.setAlive( false );
 	}
 	
 	// initAgility
@@ -67,15 +67,6 @@ public class AngryBall extends MapObject
 		//=================
 		if ( routine == Routine.ROAMING )
 		{
-			// Update timer + update mode
-			//===========================
-			if ( routineTimer < System.currentTimeMillis() )
-			{
-				routine = Routine.JUMPING;
-				routineTimer = System.currentTimeMillis() + 4000L;
-				agility.getVelocity().reset();
-			}
-			
 			// Move east
 			//==========
 			if ( direction == Direction.POSITIVE )
@@ -107,14 +98,6 @@ public class AngryBall extends MapObject
 		//==============
 		if ( routine == Routine.JUMPING )
 		{
-			// Update timer + update mode
-			//===========================
-			if ( routineTimer < System.currentTimeMillis() )
-			{
-				routine = Routine.ROAMING;
-				routineTimer = System.currentTimeMillis() + Randomizer.getLong( 3000L, 5000L );
-			}
-			
 			// Jump
 			//=====
 			if ( isOnGround() == true )
@@ -124,39 +107,75 @@ public class AngryBall extends MapObject
 		}
 	}
 	
-	// onPlayerCollision
-	//==================
+	// onContactBegin
+	//===============
 	@Override
-	public void onPlayerCollision()
+	public void onContactBegin( MapObject other )
 	{
-		worldController.getPlayer().setAlive( false );
+		other.setAlive( false );
 	}
 	
-	// updateFrame
+	// startTimers
 	//============
 	@Override
-	protected void updateFrame()
+	public void startTimers()
+	{
+		super.startTimers();
+		scheduleRoutine( 0L );
+	}
+	
+	// onRoutineTimer
+	//===============
+	@Override
+	protected void onRoutineTimer()
+	{
+		// Start jumping
+		//==============
+		if ( routine == Routine.ROAMING )
+		{
+			routine = Routine.JUMPING;
+			scheduleRoutine( 4000L );
+			agility.getVelocity().reset();
+		}
+		
+		// Start roaming
+		//==============
+		else
+		{
+			routine = Routine.ROAMING;
+			scheduleRoutine( Randomizer.getLong( 3000L, 5000L ) );
+			scheduleFrame( 0L );
+		}
+	}
+	
+	// onFrameTimer
+	//=============
+	@Override
+	protected void onFrameTimer()
 	{
 		// While roaming
 		//==============
 		if ( routine == Routine.ROAMING )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
-			{
-				// Update timer + frame
-				//=====================
-				frameTimer = System.currentTimeMillis() + 20L;
-				
-				if ( agility.getDirection() == Direction.POSITIVE ) currentFrame++;
-				if ( agility.getDirection() == Direction.NEGATIVE ) currentFrame--;
-				
-				// Limit frames
-				//=============
-				if ( currentFrame < 2 ) currentFrame = 7;
-				if ( currentFrame > 7 ) currentFrame = 2;
-			}
+			// Update timer + frame
+			//=====================
+			scheduleFrame( 20L );
+			
+			if ( agility.getDirection() == Direction.POSITIVE ) currentFrame++;
+			if ( agility.getDirection() == Direction.NEGATIVE ) currentFrame--;
+			
+			// Limit frames
+			//=============
+			if ( currentFrame < 2 ) currentFrame = 7;
+			if ( currentFrame > 7 ) currentFrame = 2;
 		}
-
+	}
+	
+	// updateFrame
+	//============
+	@Override
+	protected void updateFrame()
+	{
 		// While jumping
 		//==============
 		if ( routine == Routine.JUMPING )
@@ -22,6 +22,10 @@ public class Block extends MapObject
 	private static transient Sound[] sounds = new Sound[] { Resources.WORLD.sound_character_block1,
 	                                                        Resources.WORLD.sound_character_block2 };
 	
+	// Frames
+	//=======
+	private transient boolean isLookPending;
+	
 	// Constructor
 	//============
 	public Block( WorldController worldController )
@@ -41,17 +45,76 @@ public class Block extends MapObject
 		this.initFrames();
 	}
 	
-	// onPlayerCollision
-	//==================
+	// onContactBegin
+	//===============
 	@Override
-	public void onPlayerCollision()
+	public void onContactBegin( MapObject other )
 	{
 		if ( agility.isFalling() )
 		{
-			worldController.getPlayer().setAlive( false );
+			other.setAlive( false );
 		}
 	}
+	
+	// onContactPersist
+	//=================
+	@Override
+	public void onContactPersist( MapObject other )
+	{
+		this.onContactBegin( other );
+	}
+	
+	// resetTimers
+	//============
+	@Override
+	public void resetTimers()
+	{
+		super.resetTimers();
+		isLookPending = false;
+	}
+	
+	// startTimers
+	//============
+	@Override
+	public void startTimers()
+	{
+		super.startTimers();
+		scheduleFrame( 0L );
+	}
+	
+	// onFrameTimer
+	//=============
+	@Override
+	protected void onFrameTimer()
+	{
+		// Wait until the player leaves
+		//=============================
+		if ( currentFrame == 4 )
+		{
+			isLookPending = true;
+			return;
+		}
+		this.lookAround();
+	}
+	
+	// lookAround
+	//===========
+	private void lookAround()
+	{
+		// Look around
+		//============
+		long delay = Randomizer.getLong( 1500L, 3000L );
+		currentFrame = Randomizer.getInt( 0, 3 );
 		
+		// Blink frame
+		//============
+		if ( currentFrame == 3 )
+		{
+			delay = 50L;
+		}
+		scheduleFrame( delay );
+	}
+	
 	// updateFrame
 	//============
 	@Override
@@ -59,8 +122,10 @@ public class Block extends MapObject
 	{
 		// While player on top
 		//====================
-		for ( MapObject o : surroundingObjects )
+		for ( int i = 0; i < surroundingObjects.size(); i++ )
 		{
+			MapObject o = surroundingObjects.get( i );
+			
 			if ( o == worldController.getPlayer() && o.isOnGround() )
 			{
 				if ( o.getBounds().y == bounds.y + bounds.height &&
@@ -83,21 +148,12 @@ public class Block extends MapObject
 			}
 		}
 		
-		// Update frames
-		//==============
-		if ( frameTimer < System.currentTimeMillis() )
+		// Player left
+		//============
+		if ( isLookPending == true )
 		{
-			// Look around
-			//============
-			frameTimer = System.currentTimeMillis() + Randomizer.getLong( 1500L, 3000L );
-			currentFrame = Randomizer.getInt( 0, 3 );
-			
-			// Blink frame
-			//============
-			if ( currentFrame == 3 )
-			{
-				frameTimer = System.currentTimeMillis() + 50L;
-			}
+			isLookPending = false;
+			this.lookAround();
 		}
 		
 		// While falling / landing
@@ -111,7 +167,7 @@ public class Block extends MapObject
 			// Reset timer
 			//============
 			currentFrame = 0;
-			frameTimer = System.currentTimeMillis() + Randomizer.getLong( 1500L, 3000L );
+			scheduleFrame( Randomizer.getLong( 1500L, 3000L ) );
 		}
 	}
-}
+}
\ No newline at end of file
@@ -24,6 +24,10 @@ public class CartonGuy extends MapObject
 	                                                        Resources.WORLD.sound_character_cartonGuy3,
 	                                                        Resources.WORLD.sound_character_cartonGuy4 };
 	
+	// Routine
+	//========
+	private transient boolean isJumpDue;
+	
 	// Constructor
 	//============
 	public CartonGuy( WorldController worldController )
@@ -48,21 +52,15 @@ public class CartonGuy extends MapObject
 	@Override
 	public void act()
 	{
-		// Init first jump
-		//================
-		if ( routineTimer == 0L )
-		{
-			routineTimer = System.currentTimeMillis() + Randomizer.getLong( 4500L, 6000L );
-		}
-		
 		// Jump from time to time
 		//=======================
-		if ( routineTimer < System.currentTimeMillis() && isOnGround() == true )
+		if ( isJumpDue == true && isOnGround() == true )
 		{
 			// Jump
 			//=====
 			agility.jump();
-			routineTimer = System.currentTimeMillis() + Randomizer.getLong( 4500L, 6000L );
+			isJumpDue = false;
+			scheduleRoutine( Randomizer.getLong( 4500L, 6000L ) );
 			
 			// Play sound
 			//===========
@@ -94,12 +92,62 @@ public class CartonGuy extends MapObject
 		}
 	}
 	
-	// onPlayerCollision
-	//==================
+	// onContactBegin
+	//===============
+	@Override
+	public void onContactBegin( MapObject other )
+	{
+		other.setAlive( false );
+	}
+	
+	// resetTimers
+	//============
+	@Override
+	public void resetTimers()
+	{
+		super.resetTimers();
+		isJumpDue = false;
+	}
+	
+	// startTimers
+	//============
+	@Override
+	public void startTimers()
+	{
+		super.startTimers();
+		scheduleRoutine( Randomizer.getLong( 4500L, 6000L ) );
+		scheduleFrame( 0L );
+	}
+	
+	// onRoutineTimer
+	//===============
+	@Override
+	protected void onRoutineTimer()
+	{
+		// Jump as soon as on ground
+		//==========================
+		isJumpDue = true;
+	}
+	
+	// onFrameTimer
+	//=============
 	@Override
-	public void onPlayerCollision()
+	protected void onFrameTimer()
+	{
+		// Looking around (resumed after landing)
+		//=======================================
+		if ( isOnGround() )
+		{
+			this.lookAround();
+		}
+	}
+	
+	// lookAround
+	//===========
+	private void lookAround()
 	{
-		worldController.getPlayer().setAlive( false );
+		currentFrame = Randomizer.getInt( 0, 2 );
+		scheduleFrame( 400L );
 	}
 	
 	// updateFrame
@@ -111,17 +159,16 @@ public class CartonGuy extends MapObject
 		//================
 		if ( isOnGround() )
 		{
-			// Looking around
-			//===============
-			if ( frameTimer < System.currentTimeMillis() )
+			// After landing
+			//==============
+			if ( currentFrame > 3 )
 			{
-				currentFrame = Randomizer.getInt( 0, 2 );
-				frameTimer = System.currentTimeMillis() + 400L;
+				this.lookAround();
 			}
 			
 			// Before jumping
 			//===============
-			if ( routineTimer < System.currentTimeMillis() + 1000L )
+			if ( routineTimer < worldController.getTime() + 1000L )
 			{
 				currentFrame = 3;
 			}
@@ -129,8 +176,8 @@ public class CartonGuy extends MapObject
 		
 		// While not on ground
 		//====================
-		if ( agility.isJumping() ) { currentFrame = 4; frameTimer = 0; };
-		if ( agility.isFalling() ) { currentFrame = 5; frameTimer = 0; };
+		if ( agility.isJumping() ) currentFrame = 4;
+		if ( agility.isFalling() ) currentFrame = 5;
 	}
 	
 	// initAgility
@@ -70,8 +70,10 @@ public class Chaser extends MapObject
 		
 		// Follow player
 		//==============
-		for ( MapObject o : surroundingObjects )
+		for ( int i = 0; i < surroundingObjects.size(); i++ )
 		{
+			MapObject o = surroundingObjects.get( i );
+			
 			// Find player
 			//============
 			if ( o == worldController.getPlayer() && o.isOnGround() )
@@ -113,17 +115,7 @@ public class Chaser extends MapObject
 		if ( routine == Routine.CHASING )
 		{
 			routine = Routine.HALTING;
-			routineTimer = System.currentTimeMillis() + 2000L;
-		}
-
-		// Return to roaming
-		//==================
-		if ( routine == Routine.HALTING )
-		{
-			if ( routineTimer < System.currentTimeMillis() )
-			{
-				routine = Routine.ROAMING;
-			}
+			scheduleRoutine( 2000L );
 		}
 		
 		// Roam on platform
@@ -158,12 +150,40 @@ public class Chaser extends MapObject
 		}
 	}
 	
-	// onPlayerCollision
-	//==================
+	// startTimers
+	//============
+	@Override
+	public void startTimers()
+	{
+		super.startTimers();
+		
+		// Resume halting
+		//===============
+		if ( routine == Routine.HALTING )
+		{
+			scheduleRoutine( 2000L );
+		}
+	}
+	
+	// onRoutineTimer
+	//===============
+	@Override
+	protected void onRoutineTimer()
+	{
+		// Return to roaming
+		//==================
+		if ( routine == Routine.HALTING )
+		{
+			routine = Routine.ROAMING;
+		}
+	}
+	
+	// onContactBegin
+	//===============
 	@Override
-	public void onPlayerCollision()
+	public void onContactBegin( MapObject other )
 	{
-		worldController.getPlayer().setAlive( false );
+		other.setAlive( false );
 	}
 	
 	// updateFrame
@@ -61,9 +61,9 @@ public class Ghost extends MapObject
 	{
 		// Play sounds randomly
 		//=====================
-		if ( audioTimer < System.currentTimeMillis() )
+		if ( audioTimer < worldController.getTime() )
 		{
-			audioTimer = System.currentTimeMillis() + Randomizer.getLong( 7500L, 15000L );
+			audioTimer = worldController.getTime() + Randomizer.getLong( 7500L, 15000L );
 			worldController.getWorldAudio().addSound( sounds[Randomizer.getInt( 0, sounds.length - 1 )], this );
 		}
 		
@@ -99,12 +99,12 @@ public class Ghost extends MapObject
 		}
 	}
 	
-	// onPlayerCollision
-	//==================
+	// onContactBegin
+	//===============
 	@Override
-	public void onPlayerCollision()
+	public void onContactBegin( MapObject other )
 	{
-		worldController.getPlayer().setAlive( false );
+		other.setAlive( false );
 	}
 	
 	// updateFrame
@@ -118,6 +118,15 @@ public class Ghost extends MapObject
 		if ( agility.getDirection() == Direction.NEGATIVE ) currentFrame = 1;
 	}
 	
+	// resetTimers
+	//============
+	@Override
+	public void resetTimers()
+	{
+		super.resetTimers();
+		audioTimer = 0L;
+	}
+	
 	// initAgility
 	//============
 	@Override
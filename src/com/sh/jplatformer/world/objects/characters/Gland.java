@@ -25,6 +25,7 @@ public class Gland extends MapObject
 		NONE, CONTRACTING, EXPANDING
 	}
 	private Routine routine;
+	private transient boolean isSpitReady;
 	
 	// Audio
 	//======
@@ -72,24 +73,18 @@ public class Gland extends MapObject
 		//========
 		Map map = worldController.getMap();
 		
-		// Init first acid spit
-		//=====================
-		if ( routineTimer == 0L )
-		{
-			routineTimer = System.currentTimeMillis() + Randomizer.getLong( 4000L, 5500L );
-		}
-		
 		// Check timer + spit acid
 		//========================
-		if ( map.isBlocked( bounds.x + bounds.width / 2f,
-		                    bounds.y + bounds.height + 1f ) == true &&
-		                    routineTimer < System.currentTimeMillis() )
+		if ( isSpitReady == true && map.isBlocked( bounds.x + bounds.width / 2f,
+		                                           bounds.y + bounds.height + 1f ) == true )
 		{
 			// Add acid drop
 			//==============
 			routine = Routine.CONTRACTING;
-			routineTimer = System.currentTimeMillis() + Randomizer.getLong( 4000L, 5500L );
-			worldController.addMapObject( new AcidDrop( worldController ),
+			isSpitReady = false;
+			scheduleRoutine( Randomizer.getLong( 4000L, 5500L ) );
+			scheduleFrame( 0L );
+			worldController.addMapObject( worldController.obtainMapObject( AcidDrop.class ),
 			                              bounds.x + bounds.width / 2f,
 			                              bounds.y + bounds.height / 2f,
 			                              true );
@@ -105,59 +100,92 @@ public class Gland extends MapObject
 		agility.jump();
 	}
 	
-	// onPlayerCollision
-	//==================
+	// onContactBegin
+	//===============
 	@Override
-	public void onPlayerCollision()
+	public void onContactBegin( MapObject other )
 	{
-		worldController.getPlayer().setAlive( false );
+		other.setAlive( false );
 	}
 	
-	// updateFrame
+	// resetTimers
 	//============
 	@Override
-	protected void updateFrame()
+	public void resetTimers()
+	{
+		super.resetTimers();
+		isSpitReady = false;
+	}
+	
+	// startTimers
+	//============
+	@Override
+	public void startTimers()
+	{
+		super.startTimers();
+		scheduleRoutine( Randomizer.getLong( 4000L, 5500L ) );
+		
+		if ( routine != Routine.NONE )
+		{
+			scheduleFrame( 0L );
+		}
+	}
+	
+	// onRoutineTimer
+	//===============
+	@Override
+	protected void onRoutineTimer()
+	{
+		// Spit as soon as docked
+		//=======================
+		isSpitReady = true;
+	}
+	
+	// onFrameTimer
+	//=============
+	@Override
+	protected void onFrameTimer()
 	{
 		// While contracting
 		//==================
 		if ( routine == Routine.CONTRACTING )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
+			// Update timer + frame
+			//=====================
+			scheduleFrame( 20L );
+			currentFrame++;
+			
+			// Limit frames
+			//=============
+			if ( currentFrame < 0 ) currentFrame = 0;
+			if ( currentFrame > 7 )
 			{
-				// Update timer + frame
-				//=====================
-				frameTimer = System.currentTimeMillis() + 20L;
-				currentFrame++;
-				
-				// Limit frames
-				//=============
-				if ( currentFrame < 0 ) currentFrame = 0;
-				if ( currentFrame > 7 )
-				{
-					currentFrame = 7;
-					routine = Routine.EXPANDING;
-				}
+				currentFrame = 7;
+				routine = Routine.EXPANDING;
 			}
 		}
-
+		
 		// While expanding
 		//================
-		if ( routine == Routine.EXPANDING )
+		else if ( routine == Routine.EXPANDING )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
-			{
-				// Update timer + frame
-				//=====================
-				frameTimer = System.currentTimeMillis() + 20L;
-				currentFrame--;
-				
-				// Limit frames
-				//=============
-				if ( currentFrame > 7 ) currentFrame = 7;
-				if ( currentFrame < 0 ) routine = Routine.NONE;
-			}
+			// Update frame
+			//=============
+			currentFrame--;
+			
+			// Limit frames
+			//=============
+			if ( currentFrame > 7 ) currentFrame = 7;
+			if ( currentFrame < 0 ) routine = Routine.NONE;
+			else                    scheduleFrame( 20L );
 		}
-		
+	}
+	
+	// updateFrame
+	//============
+	@Override
+	protected void updateFrame()
+	{
 		// While resting
 		//==============
 		if ( routine == Routine.NONE )
@@ -165,4 +193,4 @@ public class Gland extends MapObject
 			currentFrame = 0;
 		}
 	}
-}
+}
\ No newline at end of file
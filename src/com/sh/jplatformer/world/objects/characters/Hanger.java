@@ -25,6 +25,7 @@ public class Hanger extends MapObject
 		ON_GROUND, HANGING, FALLING
 	}
 	private Routine routine;
+	private transient boolean isRoutineDue;
 	
 	// Audio
 	//======
@@ -65,14 +66,6 @@ public class Hanger extends MapObject
 		//========
 		Map map = worldController.getMap();
 		
-		// Init first jump
-		//================
-		if ( routineTimer == 0L || routine == null )
-		{
-			routine = Routine.ON_GROUND;
-			routineTimer = System.currentTimeMillis() + Randomizer.getLong( 4500L, 6000L );
-		}
-		
 		// Toggle blocking behavior
 		//=========================
 		if ( isOnGround() || routine == Routine.HANGING )
@@ -107,19 +100,17 @@ public class Hanger extends MapObject
 		{
 			// Init jump when ready
 			//=====================
-			if ( routineTimer < System.currentTimeMillis() )
+			if ( isRoutineDue == true && isOnGround() )
 			{
-				if ( isOnGround() )
-				{
-					// Jump
-					//=====
-					agility.jump();
-					routineTimer = System.currentTimeMillis() + Randomizer.getLong( 4500L, 6000L );
-					
-					// Play sound
-					//===========
-					worldController.getWorldAudio().addSound( sounds[Randomizer.getInt( 0, sounds.length - 1 )], this );
-				}
+				// Jump
+				//=====
+				agility.jump();
+				isRoutineDue = false;
+				scheduleRoutine( Randomizer.getLong( 4500L, 6000L ) );
+				
+				// Play sound
+				//===========
+				worldController.getWorldAudio().addSound( sounds[Randomizer.getInt( 0, sounds.length - 1 )], this );
 			}
 			
 			// Check roof collision
@@ -128,7 +119,8 @@ public class Hanger extends MapObject
 			     isOnGround() == false )
 			{
 				routine = Routine.HANGING;
-				routineTimer = System.currentTimeMillis() + 5000L;
+				isRoutineDue = false;
+				scheduleRoutine( 5000L );
 			}
 		}
 		
@@ -138,8 +130,9 @@ public class Hanger extends MapObject
 		{
 			// Initialize fall
 			//================
-			if ( routineTimer < System.currentTimeMillis() )
+			if ( isRoutineDue == true )
 			{
+				isRoutineDue = false;
 				routine = Routine.FALLING;
 				ignoreGravity = false;
 				worldController.getWorldAudio().addSound( sounds[Randomizer.getInt( 0, sounds.length - 1 )], this );
@@ -151,7 +144,9 @@ public class Hanger extends MapObject
 				if ( map.isBlocked( bounds.x + bounds.width / 2f,
 				                    bounds.y + bounds.height + 1f ) == false )
 				{
-					routineTimer = 0L;
+					routine = Routine.ON_GROUND;
+					scheduleRoutine( Randomizer.getLong( 4500L, 6000L ) );
+					scheduleFrame( 0L );
 				}
 				else
 				{
@@ -168,19 +163,73 @@ public class Hanger extends MapObject
 		if ( routine == Routine.FALLING )
 		{
 			if ( isOnGround() == true )
-			{	
+			{
 				routine = Routine.ON_GROUND;
-				routineTimer = System.currentTimeMillis() + Randomizer.getLong( 4500L, 6000L );
+				scheduleRoutine( Randomizer.getLong( 4500L, 6000L ) );
 			}
 		}
 	}
 	
-	// onPlayerCollision
-	//==================
+	// onContactBegin
+	//===============
 	@Override
-	public void onPlayerCollision()
+	public void onContactBegin( MapObject other )
 	{
-		worldController.getPlayer().setAlive( false );
+		other.setAlive( false );
+	}
+	
+	// resetTimers
+	//============
+	@Override
+	public void resetTimers()
+	{
+		super.resetTimers();
+		isRoutineDue = false;
+	}
+	
+	// startTimers
+	//============
+	@Override
+	public void startTimers()
+	{
+		super.startTimers();
+		
+		// Init first jump
+		//================
+		routine = Routine.ON_GROUND;
+		scheduleRoutine( Randomizer.getLong( 4500L, 6000L ) );
+		scheduleFrame( 0L );
+	}
+	
+	// onRoutineTimer
+	//===============
+	@Override
+	protected void onRoutineTimer()
+	{
+		// Update routine in act()
+		//========================
+		isRoutineDue = true;
+	}
+	
+	// onFrameTimer
+	//=============
+	@Override
+	protected void onFrameTimer()
+	{
+		// Looking around (resumed after landing)
+		//=======================================
+		if ( routine == Routine.ON_GROUND && agility.isJumping() == false && agility.isFalling() == false )
+		{
+			this.lookAround();
+		}
+	}
+	
+	// lookAround
+	//===========
+	private void lookAround()
+	{
+		currentFrame = Randomizer.getInt( 0, 2 );
+		scheduleFrame( 500L );
 	}
 	
 	// updateFrame
@@ -192,17 +241,16 @@ public class Hanger extends MapObject
 		//================
 		if ( routine == Routine.ON_GROUND )
 		{
-			// Looking around
-			//===============
-			if ( frameTimer < System.currentTimeMillis() )
+			// After landing
+			//==============
+			if ( currentFrame > 5 && agility.isJumping() == false && agility.isFalling() == false )
 			{
-				currentFrame = Randomizer.getInt( 0, 2 );
-				frameTimer = System.currentTimeMillis() + 500L;
+				this.lookAround();
 			}
 			
 			// Before jumping
 			//===============
-			if ( routineTimer < System.currentTimeMillis() + 1000L )
+			if ( routineTimer < worldController.getTime() + 1000L )
 			{
 				currentFrame = 3;
 			}
@@ -210,8 +258,8 @@ public class Hanger extends MapObject
 		
 		// While not on ground
 		//====================
-		if ( agility.isJumping() ) { currentFrame = 6; frameTimer = 0; };
-		if ( agility.isFalling() ) { currentFrame = 7; frameTimer = 0; };
+		if ( agility.isJumping() ) currentFrame = 6;
+		if ( agility.isFalling() ) currentFrame = 7;
 		
 		// While hanging
 		//==============
@@ -223,7 +271,7 @@ public class Hanger extends MapObject
 			
 			// Before falling
 			//===============
-			if ( routineTimer < System.currentTimeMillis() + 1000L )
+			if ( routineTimer < worldController.getTime() + 1000L )
 			{
 				currentFrame = 5;
 			}
@@ -127,7 +127,7 @@ public class Player extends MapObject
 	{
 		// Set values
 		//===========
-		deathAnimTimer = System.currentTimeMillis() + 1500L;
+		deathAnimTimer = worldController.getTime() + 1500L;
 		ignoreGravity  = true;
 		routine        = Routine.DEATH;
 		
@@ -139,7 +139,10 @@ public class Player extends MapObject
 		
 		// Play sound
 		//===========
-		Resources.UI.sound_game_lose.play();
+		if ( Resources.UI.sound_game_lose != null )
+		{
+			Resources.UI.sound_game_lose.play();
+		}
 	}
 	
 	// playDeathSequence
@@ -153,7 +156,7 @@ public class Player extends MapObject
 		
 		// Play sequence
 		//==============
-		if ( deathAnimTimer <= System.currentTimeMillis() )
+		if ( deathAnimTimer <= worldController.getTime() )
 		{
 			// Move sprite
 			//============
@@ -162,7 +165,7 @@ public class Player extends MapObject
 			
 			// Kill player
 			//============
-			if ( deathAnimTimer <= System.currentTimeMillis() - 1500L )
+			if ( deathAnimTimer <= worldController.getTime() - 1500L )
 			{
 				super.setAlive( false );
 			}
@@ -182,7 +185,7 @@ public class Player extends MapObject
 		
 		// Step sound condition
 		//=====================
-		boolean playSound = audioTimer < System.currentTimeMillis() &&
+		boolean playSound = audioTimer < worldController.getTime() &&
 		                    direction != Direction.NONE &&
 		                    isOnGround();
 		
@@ -193,7 +196,7 @@ public class Player extends MapObject
 			// Resets
 			//=======
 			justLanded = true;
-			audioTimer = System.currentTimeMillis() + 200L;
+			audioTimer = worldController.getTime() + 200L;
 			
 			// Pick and play audio file
 			//=========================
@@ -230,9 +233,9 @@ public class Player extends MapObject
 			{
 				// Update timer + frame
 				//=====================
-				if ( frameTimer < System.currentTimeMillis() )
+				if ( frameTimer < worldController.getTime() )
 				{
-					frameTimer = System.currentTimeMillis() + 30L;
+					frameTimer = worldController.getTime() + 30L;
 					currentFrame++;
 				}
 				
@@ -242,7 +245,7 @@ public class Player extends MapObject
 				{
 					if ( currentFrame > 21 || currentFrame < 8 )
 					{
-						frameTimer = System.currentTimeMillis() + 30L;
+						frameTimer = worldController.getTime() + 30L;
 						currentFrame = 8;
 					}
 				}
@@ -253,7 +256,7 @@ public class Player extends MapObject
 				{
 					if ( currentFrame > 35 || currentFrame < 22 )
 					{
-						frameTimer = System.currentTimeMillis() + 30L;
+						frameTimer = worldController.getTime() + 30L;
 						currentFrame = 22;
 					}
 				}
@@ -272,10 +275,10 @@ public class Player extends MapObject
 				
 				// Update frame
 				//=============
-				if ( frameTimer < System.currentTimeMillis() )
+				if ( frameTimer < worldController.getTime() )
 				{
 					currentFrame = Randomizer.getInt( 0, 2 );
-					frameTimer = System.currentTimeMillis() + Randomizer.getLong( 250L, 1500L );
+					frameTimer = worldController.getTime() + Randomizer.getLong( 250L, 1500L );
 				}
 			}
 		}
@@ -339,6 +342,16 @@ public class Player extends MapObject
 		}
 	}
 	
+	// resetTimers
+	//============
+	@Override
+	public void resetTimers()
+	{
+		super.resetTimers();
+		deathAnimTimer = 0L;
+		audioTimer     = 0L;
+	}
+	
 	// initAgility
 	//============
 	public void initAgility()
@@ -35,30 +35,36 @@ public class RocketGuy extends MapObject
 		this.initFrames();
 	}
 	
-	// onPlayerCollision
-	//==================
+	// onContactBegin
+	//===============
 	@Override
-	public void onPlayerCollision()
+	public void onContactBegin( MapObject other )
 	{
-		worldController.getPlayer().setAlive( false );
+		other.setAlive( false );
 	}
 	
-	// updateFrame
+	// startTimers
 	//============
 	@Override
-	protected void updateFrame()
+	public void startTimers()
+	{
+		super.startTimers();
+		scheduleFrame( 0L );
+	}
+	
+	// onFrameTimer
+	//=============
+	@Override
+	protected void onFrameTimer()
 	{
 		// Floating animation
 		//===================
-		if ( frameTimer < System.currentTimeMillis() )
+		scheduleFrame( 40L );
+		currentFrame++;
+		
+		if ( currentFrame > 7 )
 		{
-			frameTimer = System.currentTimeMillis() + 40L;
-			currentFrame++;
-			
-			if ( currentFrame > 7 )
-			{
-				currentFrame = 0;
-			}
+			currentFrame = 0;
 		}
 	}
 }
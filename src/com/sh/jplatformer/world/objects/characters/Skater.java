@@ -60,15 +60,6 @@ public class Skater extends MapObject
 		//=================
 		if ( routine == Routine.ROAMING )
 		{
-			// Check timer + update mode
-			//==========================
-			if ( routineTimer < System.currentTimeMillis() )
-			{
-				routine = Routine.RESTING;
-				routineTimer = System.currentTimeMillis() + 4000L;
-				agility.getVelocity().reset();
-			}
-			
 			// Move while on ground
 			//=====================
 			if ( isOnGround() == true && CollisionHelper.isOnCell( this ) )
@@ -100,24 +91,61 @@ public class Skater extends MapObject
 				}
 			}
 		}
+	}
+	
+	// onContactBegin
+	//===============
+	@Override
+	public void onContactBegin( MapObject other )
+	{
+		other.setAlive( false );
+	}
+	
+	// startTimers
+	//============
+	@Override
+	public void startTimers()
+	{
+		super.startTimers();
+		scheduleRoutine( 0L );
+	}
+	
+	// onRoutineTimer
+	//===============
+	@Override
+	protected void onRoutineTimer()
+	{
+		// Start resting
+		//==============
+		if ( routine == Routine.ROAMING )
+		{
+			routine = Routine.RESTING;
+			scheduleRoutine( 4000L );
+			scheduleFrame( 0L );
+			agility.getVelocity().reset();
+		}
+		
+		// Start roaming
+		//==============
 		else
 		{
-			// Check timer + update rest mode
-			//===============================
-			if ( routineTimer < System.currentTimeMillis() )
-			{
-				routine = Routine.ROAMING;
-				routineTimer = System.currentTimeMillis() + Randomizer.getLong( 4000L, 6000L );
-			}
+			routine = Routine.ROAMING;
+			scheduleRoutine( Randomizer.getLong( 4000L, 6000L ) );
 		}
 	}
 	
-	// onPlayerCollision
-	//==================
+	// onFrameTimer
+	//=============
 	@Override
-	public void onPlayerCollision()
+	protected void onFrameTimer()
 	{
-		worldController.getPlayer().setAlive( false );
+		// While resting
+		//==============
+		if ( routine == Routine.RESTING )
+		{
+			currentFrame = Randomizer.getInt( 3, 5 );
+			scheduleFrame( 300L );
+		}
 	}
 	
 	// updateFrame
@@ -132,17 +160,6 @@ public class Skater extends MapObject
 			if ( agility.getDirection() == Direction.POSITIVE ) currentFrame = 0;
 			if ( agility.getDirection() == Direction.NEGATIVE ) currentFrame = 1;
 		}
-		
-		// While resting
-		//==============
-		if ( routine == Routine.RESTING )
-		{
-			if ( frameTimer < System.currentTimeMillis() )
-			{
-				currentFrame = Randomizer.getInt( 3, 5 );
-				frameTimer = System.currentTimeMillis() + 300L;
-			}
-		}
 	}
 	
 	// initAgility
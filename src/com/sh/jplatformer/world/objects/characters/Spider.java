@@ -79,7 +79,7 @@ public class Spider extends MapObject
 			
 			if ( map.isBlocked( bounds.x + bounds.width / 2f, bounds.y + bounds.height + 1f ) )
 			{
-				routineTimer = System.currentTimeMillis() + 5000L;
+				scheduleRoutine( 5000L );
 				routine = Routine.HANGING_ON_ROOF;
 			}
 			
@@ -96,17 +96,6 @@ public class Spider extends MapObject
 			// Dock to roof
 			//=============
 			ignoreGravity = true;
-			
-			// Initiate fall
-			//==============
-			if ( routineTimer < System.currentTimeMillis() )
-			{
-				routine = Routine.FALLING;
-				fallOriginY = bounds.y;
-				ignoreGravity = false;
-				
-				worldController.getWorldAudio().addSound( Resources.WORLD.sound_character_spider, this );
-			}
 		}
 		
 		// While falling
@@ -119,7 +108,7 @@ public class Spider extends MapObject
 			{
 				// Update routine
 				//===============
-				routineTimer = System.currentTimeMillis() + 5000L;
+				scheduleRoutine( 5000L );
 				routine = Routine.HANGING_DOWN;
 				agility.resetJump();
 				
@@ -128,6 +117,7 @@ public class Spider extends MapObject
 				if ( bounds.y <= fallOriginY - fallHeight )
 				{
 					bounds.y = fallOriginY - fallHeight;
+					this.updateGrid();
 				}
 			}
 		}
@@ -139,42 +129,70 @@ public class Spider extends MapObject
 			// Defy gravity
 			//=============
 			ignoreGravity = true;
-			
-			// Initiate moving up
-			//===================
-			if ( routineTimer < System.currentTimeMillis() )
-			{
-				routine = Routine.CLIMBING;
-			}
 		}
 	}
 	
-	// onPlayerCollision
-	//==================
+	// onContactBegin
+	//===============
 	@Override
-	public void onPlayerCollision()
+	public void onContactBegin( MapObject other )
 	{
-		worldController.getPlayer().setAlive( false );
+		other.setAlive( false );
 	}
 	
-	// updateFrame
+	// startTimers
 	//============
 	@Override
-	protected void updateFrame()
+	public void startTimers()
+	{
+		super.startTimers();
+		scheduleFrame( 0L );
+		
+		if ( routine == Routine.HANGING_ON_ROOF || routine == Routine.HANGING_DOWN )
+		{
+			scheduleRoutine( 0L );
+		}
+	}
+	
+	// onRoutineTimer
+	//===============
+	@Override
+	protected void onRoutineTimer()
+	{
+		// Initiate fall
+		//==============
+		if ( routine == Routine.HANGING_ON_ROOF )
+		{
+			routine = Routine.FALLING;
+			fallOriginY = bounds.y;
+			ignoreGravity = false;
+			
+			worldController.getWorldAudio().addSound( Resources.WORLD.sound_character_spider, this );
+		}
+		
+		// Initiate moving up
+		//===================
+		else if ( routine == Routine.HANGING_DOWN )
+		{
+			routine = Routine.CLIMBING;
+		}
+	}
+	
+	// onFrameTimer
+	//=============
+	@Override
+	protected void onFrameTimer()
 	{
 		// While climbing
 		//===============
 		if ( routine == Routine.CLIMBING )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
+			scheduleFrame( 80L );
+			currentFrame++;
+			
+			if ( currentFrame > 4 )
 			{
-				frameTimer = System.currentTimeMillis() + 80L;
-				currentFrame++;
-				
-				if ( currentFrame > 4 )
-				{
-					currentFrame = 0;
-				}
+				currentFrame = 0;
 			}
 		}
 		
@@ -182,11 +200,8 @@ public class Spider extends MapObject
 		//==============
 		else
 		{
-			if ( frameTimer < System.currentTimeMillis() )
-			{
-				currentFrame = Randomizer.getInt( 5, 7 );
-				frameTimer = System.currentTimeMillis() + 300L;
-			}
+			currentFrame = Randomizer.getInt( 5, 7 );
+			scheduleFrame( 300L );
 		}
 	}
 	
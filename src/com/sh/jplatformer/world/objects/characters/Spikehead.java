@@ -52,37 +52,52 @@ public class Spikehead extends MapObject
 	{
 		// Play sounds randomly
 		//=====================
-		if ( audioTimer < System.currentTimeMillis() )
+		if ( audioTimer < worldController.getTime() )
 		{
-			audioTimer = System.currentTimeMillis() + Randomizer.getLong( 5000L, 10000L );
+			audioTimer = worldController.getTime() + Randomizer.getLong( 5000L, 10000L );
 			worldController.getWorldAudio().addSound( sounds[Randomizer.getInt( 0, sounds.length - 1 )], this );
 		}
 	}
 	
-	// onPlayerCollision
-	//==================
+	// onContactBegin
+	//===============
+	@Override
+	public void onContactBegin( MapObject other )
+	{
+		other.setAlive( false );
+	}
+	
+	// resetTimers
+	//============
 	@Override
-	public void onPlayerCollision()
+	public void resetTimers()
 	{
-		worldController.getPlayer().setAlive( false );
+		super.resetTimers();
+		audioTimer = 0L;
 	}
 	
-	// updateFrame
+	// startTimers
 	//============
 	@Override
-	protected void updateFrame()
+	public void startTimers()
+	{
+		super.startTimers();
+		scheduleFrame( 0L );
+	}
+	
+	// onFrameTimer
+	//=============
+	@Override
+	protected void onFrameTimer()
 	{
 		// Update frames
 		//==============
-		if ( frameTimer < System.currentTimeMillis() )
+		scheduleFrame( 75L );
+		currentFrame++;
+		
+		if ( currentFrame > 7 )
 		{
-			frameTimer = System.currentTimeMillis() + 75L;
-			currentFrame++;
-			
-			if ( currentFrame > 7 )
-			{
-				currentFrame = 0;
-			}
+			currentFrame = 0;
 		}
 	}
 }
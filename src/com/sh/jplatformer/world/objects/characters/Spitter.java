@@ -28,6 +28,7 @@ public class Spitter extends MapObject
 	}
 	private Routine routine;
 	private Direction direction;
+	private transient boolean isRoutineDue;
 	
 	// Audio
 	//======
@@ -77,13 +78,6 @@ public class Spitter extends MapObject
 			routine = Routine.ROAMING;
 		}
 		
-		// Init first jump
-		//================
-		if ( routineTimer == 0L )
-		{
-			routineTimer = System.currentTimeMillis() + Randomizer.getLong( 3500L, 5000L );
-		}
-		
 		// Get map
 		//========
 		Map map = worldController.getMap();
@@ -95,8 +89,10 @@ public class Spitter extends MapObject
 		{
 			// Check timer + update mode
 			//==========================
-			if ( routineTimer < System.currentTimeMillis() )
+			if ( isRoutineDue == true )
 			{
+				isRoutineDue = false;
+				
 				// Turn to spitting mode
 				//======================
 				if ( routine == Routine.ROAMING )
@@ -104,8 +100,8 @@ public class Spitter extends MapObject
 					// Spit acid
 					//==========
 					routine = Routine.SPITTING;
-					routineTimer = System.currentTimeMillis() + 200L;
-					worldController.addMapObject( new AcidDrop( worldController ),
+					scheduleRoutine( 200L );
+					worldController.addMapObject( worldController.obtainMapObject( AcidDrop.class ),
 					                              bounds.x + bounds.width / 2f,
 					                              bounds.y + bounds.height / 2f,
 					                              true );
@@ -119,8 +115,8 @@ public class Spitter extends MapObject
 				else if ( routine == Routine.SPITTING )
 				{
 					routine = Routine.ROAMING;
-					routineTimer = System.currentTimeMillis() + Randomizer.getLong( 3500L, 5000L );
-				}				
+					scheduleRoutine( Randomizer.getLong( 3500L, 5000L ) );
+				}
 			}
 			
 			// Move east
@@ -158,12 +154,40 @@ public class Spitter extends MapObject
 		agility.jump();
 	}
 	
-	// onPlayerCollision
-	//==================
+	// onContactBegin
+	//===============
+	@Override
+	public void onContactBegin( MapObject other )
+	{
+		other.setAlive( false );
+	}
+	
+	// resetTimers
+	//============
+	@Override
+	public void resetTimers()
+	{
+		super.resetTimers();
+		isRoutineDue = false;
+	}
+	
+	// startTimers
+	//============
+	@Override
+	public void startTimers()
+	{
+		super.startTimers();
+		scheduleRoutine( Randomizer.getLong( 3500L, 5000L ) );
+	}
+	
+	// onRoutineTimer
+	//===============
 	@Override
-	public void onPlayerCollision()
+	protected void onRoutineTimer()
 	{
-		worldController.getPlayer().setAlive( false );
+		// Update mode as soon as docked
+		//==============================
+		isRoutineDue = true;
 	}
 	
 	// updateFrame
@@ -91,8 +91,10 @@ public class SpringboardMachine extends MapObject
 		}
 		// Invoke jumps
 		//=============
-		for ( MapObject o : surroundingObjects )
+		for ( int i = 0; i < surroundingObjects.size(); i++ )
 		{
+			MapObject o = surroundingObjects.get( i );
+			
 			// Check y-position
 			//=================
 			if ( o.getBounds().y >= bounds.y + bounds.height / 2f &&
@@ -110,10 +112,17 @@ public class SpringboardMachine extends MapObject
 						// Invoke jump
 						//============
 						o.getBounds().y = bounds.y + bounds.height;
+						o.updateGrid();
 						o.getAgility().resetJump();
 						o.getAgility().jump();
 						o.getAgility().extendJump( 240f, true );
 						
+						// Start animation
+						//================
+						if ( routine == Routine.ROAMING )
+						{
+							scheduleFrame( 0L );
+						}
 						routine = Routine.CONTRACTING;
 						
 						// Play sound
@@ -125,59 +134,72 @@ public class SpringboardMachine extends MapObject
 		}
 	}
 	
-	// onPlayerCollision
-	//==================
+	// onContactBegin
+	//===============
 	@Override
-	public void onPlayerCollision()
+	public void onContactBegin( MapObject other )
 	{
-		worldController.getPlayer().setAlive( false );
+		other.setAlive( false );
 	}
 	
-	// updateFrame
+	// startTimers
 	//============
 	@Override
-	protected void updateFrame()
+	public void startTimers()
+	{
+		super.startTimers();
+		
+		if ( routine != Routine.ROAMING )
+		{
+			scheduleFrame( 0L );
+		}
+	}
+	
+	// onFrameTimer
+	//=============
+	@Override
+	protected void onFrameTimer()
 	{
 		// While contracting
 		//==================
 		if ( routine == Routine.CONTRACTING )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
+			// Update timer + frame
+			//=====================
+			scheduleFrame( 14L );
+			currentFrame++;
+			
+			// Limit frames
+			//=============
+			if ( currentFrame < 3 ) currentFrame = 3;
+			if ( currentFrame > 7 )
 			{
-				// Update timer + frame
-				//=====================
-				frameTimer = System.currentTimeMillis() + 14L;
-				currentFrame++;
-				
-				// Limit frames
-				//=============
-				if ( currentFrame < 3 ) currentFrame = 3;
-				if ( currentFrame > 7 )
-				{
-					currentFrame = 7;
-					routine = Routine.EXPANDING;
-				}
+				currentFrame = 7;
+				routine = Routine.EXPANDING;
 			}
 		}
-
+		
 		// While expanding
 		//================
-		if ( routine == Routine.EXPANDING )
+		else if ( routine == Routine.EXPANDING )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
-			{
-				// Update timer + frame
-				//=====================
-				frameTimer = System.currentTimeMillis() + 17L;
-				currentFrame--;
-				
-				// Limit frames
-				//=============
-				if ( currentFrame > 7 ) currentFrame = 7;
-				if ( currentFrame < 3 ) routine = Routine.ROAMING;
-			}
+			// Update frame
+			//=============
+			currentFrame--;
+			
+			// Limit frames
+			//=============
+			if ( currentFrame > 7 ) currentFrame = 7;
+			if ( currentFrame < 3 ) routine = Routine.ROAMING;
+			else                    scheduleFrame( 17L );
 		}
-		
+	}
+	
+	// updateFrame
+	//============
+	@Override
+	protected void updateFrame()
+	{
 		// While roaming
 		//==============
 		if ( routine == Routine.ROAMING )
@@ -41,10 +41,10 @@ public class Diamond extends MapObject
 		this.initFrames();
 	}
 	
-	// onPlayerCollision
-	//==================
+	// onContactBegin
+	//===============
 	@Override
-	public void onPlayerCollision()
+	public void onContactBegin( MapObject other )
 	{
 		// Set alive + add score
 		//======================
@@ -33,14 +33,22 @@ public class Box extends MapObject
 		this.initFrames();
 	}
 	
-	// onPlayerCollision
-	//==================
+	// onContactBegin
+	//===============
 	@Override
-	public void onPlayerCollision()
+	public void onContactBegin( MapObject other )
 	{
 		if ( agility.isFalling() )
 		{
-			worldController.getPlayer().setAlive( false );
+			other.setAlive( false );
 		}
 	}
+	
+	// onContactPersist
+	//=================
+	@Override
+	public void onContactPersist( MapObject other )
+	{
+		this.onContactBegin( other );
+	}
 }
\ No newline at end of file
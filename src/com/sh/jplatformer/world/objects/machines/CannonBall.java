@@ -25,6 +25,13 @@ public class CannonBall extends MapObject
 	}
 	private Routine routine;
 	
+	// Constructor
+	//============
+	public CannonBall( WorldController worldController )
+	{
+		this( worldController, Routine.EAST );
+	}
+	
 	// Constructor
 	//============
 	public CannonBall( WorldController worldController, Routine routine )
@@ -55,10 +62,6 @@ public class CannonBall extends MapObject
 	@Override
 	public void draw( SpriteBatch batch )
 	{
-		// Update alpha
-		//=============
-		updateAlpha();
-		
 		// Frame setup
 		//============
 		frames[currentFrame].setPosition( bounds.x + bounds.width / 2f - bounds.height,
@@ -92,12 +95,12 @@ public class CannonBall extends MapObject
 		}
 	}
 	
-	// onPlayerCollision
-	//==================
+	// onContactBegin
+	//===============
 	@Override
-	public void onPlayerCollision()
+	public void onContactBegin( MapObject other )
 	{
-		worldController.getPlayer().setAlive( false );
+		other.setAlive( false );
 	}
 	
 	// updateFrame
@@ -125,6 +128,13 @@ public class CannonBall extends MapObject
 		agility.getVelocity().setMaxPositive( 180f );
 	}
 	
+	// setRoutine
+	//===========
+	public void setRoutine( Routine routine )
+	{
+		this.routine = routine;
+	}
+	
 	// setPosition
 	//============
 	@Override
@@ -140,5 +150,6 @@ public class CannonBall extends MapObject
 			bounds.x = x;
 			bounds.y = y;
 		}
+		this.updateGrid();
 	}
 }
\ No newline at end of file
@@ -40,22 +40,45 @@ public class CannonDown extends MapObject
 		this.initFrames();
 	}
 	
-	// act
-	//====
+	// startTimers
+	//============
+	@Override
+	public void startTimers()
+	{
+		super.startTimers();
+		scheduleRoutine( 0L );
+	}
+	
+	// onPowerChanged
+	//===============
+	@Override
+	protected void onPowerChanged()
+	{
+		// Resume firing (not before the cannon is reloaded)
+		//==================================================
+		if ( isPowerOn == true && isRoutineScheduled() == false )
+		{
+			scheduleRoutine( Math.max( 0L, routineTimer - worldController.getTime() ) );
+		}
+	}
+	
+	// onRoutineTimer
+	//===============
 	@Override
-	public void act()
+	protected void onRoutineTimer()
 	{
 		// Fire cannon ball
 		//=================
-		if ( isPowerOn == true && routineTimer < System.currentTimeMillis() )
+		if ( isPowerOn == true )
 		{
 			// Reset timer
 			//============
-			routineTimer = System.currentTimeMillis() + 4000L;
+			scheduleRoutine( 4000L );
 			
 			// Create cannon ball
 			//===================
-			CannonBall cannonBall = new CannonBall( worldController, CannonBall.Routine.DOWN );
+			CannonBall cannonBall = worldController.obtainMapObject( CannonBall.class );
+			cannonBall.setRoutine( CannonBall.Routine.DOWN );
 			worldController.addMapObject( cannonBall,
 			                              bounds.x + bounds.width / 2f,
 			                              bounds.y - cannonBall.getBounds().height / 2f,
@@ -57,95 +57,124 @@ public class ElectricTrap extends MapObject
 		this.initFrames();
 	}
 	
-	// act
-	//====
+	// startTimers
+	//============
 	@Override
-	public void act()
+	public void startTimers()
 	{
-		// Init first energy
-		//==================
-		if ( routineTimer == 0L )
-		{
-			routineTimer = System.currentTimeMillis() + 4000L;
-		}
-		
-		// Play sounds randomly
-		//=====================
-		if ( isPowerOn == true && routine == Routine.ON )
+		super.startTimers();
+		onPowerChanged();
+	}
+	
+	// onPowerChanged
+	//===============
+	@Override
+	protected void onPowerChanged()
+	{
+		// Resume energy cycle
+		//====================
+		if ( isPowerOn == true )
 		{
-			if ( audioTimer < System.currentTimeMillis() )
+			if ( routineTimer == 0L )
 			{
-				audioTimer = System.currentTimeMillis() + Randomizer.getLong( 2000L, 8000L );
-				worldController.getWorldAudio().addSound( sounds[Randomizer.getInt( 0, sounds.length - 1 )], this );
+				scheduleRoutine( 4000L );
+			}
+			else if ( isRoutineScheduled() == false )
+			{
+				scheduleRoutine( Math.max( 0L, routineTimer - worldController.getTime() ) );
 			}
 		}
 		
+		// Turn off
+		//=========
+		else
+		{
+			routine = Routine.OFF;
+			currentFrame = 0;
+		}
+	}
+	
+	// onRoutineTimer
+	//===============
+	@Override
+	protected void onRoutineTimer()
+	{
 		// Switch routine mode
 		//====================
-		if ( isPowerOn == true && routineTimer < System.currentTimeMillis() )
+		if ( isPowerOn == true )
 		{
 			// Reset timer
 			//============
-			routineTimer = System.currentTimeMillis() + 4000L;
+			scheduleRoutine( 4000L );
 			
 			// Set routine mode
 			//=================
-			if ( routine == Routine.ON  )
+			if ( routine == Routine.ON )
 			{
 				routine = Routine.OFF;
+				currentFrame = 0;
 			}
 			else
 			{
 				routine = Routine.ON;
+				scheduleFrame( 0L );
 			}
 		}
-		
-		// Turn off
-		//=========
-		if ( isPowerOn == false )
-		{
-			routine = Routine.OFF;
-		}
 	}
 	
-	// onPlayerCollision
-	//==================
+	// onContactBegin
+	//===============
 	@Override
-	public void onPlayerCollision()
+	public void onContactBegin( MapObject other )
 	{
 		if ( routine == Routine.ON )
 		{
-			worldController.getPlayer().setAlive( false );
+			other.setAlive( false );
 		}
 	}
 	
-	// updateFrame
+	// onContactPersist
+	//=================
+	@Override
+	public void onContactPersist( MapObject other )
+	{
+		this.onContactBegin( other );
+	}
+	
+	// resetTimers
 	//============
 	@Override
-	protected void updateFrame()
+	public void resetTimers()
+	{
+		super.resetTimers();
+		audioTimer = 0L;
+	}
+	
+	// onFrameTimer
+	//=============
+	@Override
+	protected void onFrameTimer()
 	{
 		// When on
 		//========
 		if ( routine == Routine.ON )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
+			// Update timer + frame
+			//=====================
+			scheduleFrame( 50L );
+			currentFrame++;
+			
+			// Limit frames
+			//=============
+			if ( currentFrame > 7 ) currentFrame = 1;
+			
+			// Play sounds randomly
+			//=====================
+			if ( audioTimer < worldController.getTime() )
 			{
-				// Update timer + frame
-				//=====================
-				frameTimer = System.currentTimeMillis() + 50L;
-				currentFrame++;
-				
-				// Limit frames
-				//=============
-				if ( currentFrame > 7 ) currentFrame = 1;
+				audioTimer = worldController.getTime() + Randomizer.getLong( 2000L, 8000L );
+				worldController.getWorldAudio().addSound( sounds[Randomizer.getInt( 0, sounds.length - 1 )], this );
 			}
 		}
-		
-		// When off
-		//=========
-		if ( routine == Routine.OFF )
-		{
-			currentFrame = 0;
-		}
 	}
-}
\ No newline at end of file
+}
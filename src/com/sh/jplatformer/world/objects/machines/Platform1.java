@@ -47,55 +47,39 @@ public class Platform1 extends MapObject
 		this.initFrames();
 	}
 	
-	// act
-	//====
+	// startTimers
+	//============
 	@Override
-	public void act()
+	public void startTimers()
 	{
+		super.startTimers();
+		
 		// Init routine
 		//=============
 		if ( routine == null )
 		{
 			routine = Routine.OFF;
 		}
-		
-		// Act when enabled
-		//=================
+		onPowerChanged();
+	}
+	
+	// onPowerChanged
+	//===============
+	@Override
+	protected void onPowerChanged()
+	{
+		// Resume modes
+		//=============
 		if ( isPowerOn == true )
 		{
-			// Update modes
-			//=============
-			if ( routineTimer < System.currentTimeMillis() )
+			if ( isRoutineScheduled() == false )
 			{
-				switch ( routine )
-				{
-					case OFF:
-					{
-						// Turn to "on"
-						//=============
-						routine = Routine.ON;
-						routineTimer = System.currentTimeMillis() + 5000L;
-						break;
-					}
-					case ON:
-					{
-						// Turn to "transition"
-						//=====================
-						routine = Routine.TRANSITION;
-						routineTimer = System.currentTimeMillis() + 3000L;
-						break;
-					}
-					case TRANSITION:
-					{
-						// Turn to "off"
-						//==============
-						routine = Routine.OFF;
-						routineTimer = System.currentTimeMillis() + 5000L;
-						break;
-					}
-				}
+				scheduleRoutine( Math.max( 0L, routineTimer - worldController.getTime() ) );
 			}
 		}
+		
+		// Turn off
+		//=========
 		else
 		{
 			routine = Routine.OFF;
@@ -106,10 +90,57 @@ public class Platform1 extends MapObject
 		isBlockingSpace = !( routine == Routine.OFF );
 	}
 	
-	// updateFrame
+	// onRoutineTimer
+	//===============
+	@Override
+	protected void onRoutineTimer()
+	{
+		// Act when enabled
+		//=================
+		if ( isPowerOn == false )
+		{
+			return;
+		}
+		
+		// Update modes
+		//=============
+		switch ( routine )
+		{
+			case OFF:
+			{
+				// Turn to "on"
+				//=============
+				routine = Routine.ON;
+				scheduleRoutine( 5000L );
+				break;
+			}
+			case ON:
+			{
+				// Turn to "transition"
+				//=====================
+				routine = Routine.TRANSITION;
+				scheduleRoutine( 3000L );
+				break;
+			}
+			case TRANSITION:
+			{
+				// Turn to "off"
+				//==============
+				routine = Routine.OFF;
+				scheduleRoutine( 5000L );
+				break;
+			}
+		}
+		
+		// Update space blocking
+		//======================
+		isBlockingSpace = !( routine == Routine.OFF );
+	}
+	
+	// updateAlpha
 	//============
 	@Override
-	protected void updateAlpha()
+	public void updateAlpha()
 	{
 		// When on
 		//========
@@ -40,37 +40,31 @@ public class Platform2 extends MapObject
 		this.initFrames();
 	}
 	
-	// act
-	//====
+	// startTimers
+	//============
 	@Override
-	public void act()
+	public void startTimers()
 	{
-		// Set collision
-		//==============
-		isBlockingSpace = isPowerOn;
+		super.startTimers();
+		onPowerChanged();
 	}
 	
-	// updateFrame
-	//============
+	// onPowerChanged
+	//===============
 	@Override
-	protected void updateFrame()
+	protected void onPowerChanged()
 	{
-		// While on
-		//=========
+		// Set collision
+		//==============
+		isBlockingSpace = isPowerOn;
+		
+		// Start animation
+		//================
 		if ( isPowerOn == true )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
-			{
-				// Update timer + frame
-				//=====================
-				frameTimer = System.currentTimeMillis() + 50L;
-				currentFrame++;
-				
-				// Limit frames
-				//=============
-				if ( currentFrame > 6 ) currentFrame = 0;
-			}
+			scheduleFrame( Math.max( 0L, frameTimer - worldController.getTime() ) );
 		}
+		
 		// When off
 		//=========
 		else
@@ -78,4 +72,24 @@ public class Platform2 extends MapObject
 			currentFrame = 7;
 		}
 	}
-}
\ No newline at end of file
+	
+	// onFrameTimer
+	//=============
+	@Override
+	protected void onFrameTimer()
+	{
+		// While on
+		//=========
+		if ( isPowerOn == true )
+		{
+			// Update timer + frame
+			//=====================
+			scheduleFrame( 50L );
+			currentFrame++;
+			
+			// Limit frames
+			//=============
+			if ( currentFrame > 6 ) currentFrame = 0;
+		}
+	}
+}
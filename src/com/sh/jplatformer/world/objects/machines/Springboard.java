@@ -54,8 +54,10 @@ public class Springboard extends MapObject
 	{
 		// Invoke jumps
 		//=============
-		for ( MapObject o : surroundingObjects )
+		for ( int i = 0; i < surroundingObjects.size(); i++ )
 		{
+			MapObject o = surroundingObjects.get( i );
+			
 			// Check y-position
 			//=================
 			if ( o.getBounds().y >= bounds.y + bounds.height / 2f &&
@@ -73,9 +75,17 @@ public class Springboard extends MapObject
 						// Invoke jump
 						//============
 						o.getBounds().y = bounds.y + bounds.height;
+						o.updateGrid();
 						o.getAgility().resetJump();
 						o.getAgility().jump();
 						o.getAgility().extendJump( 400f, true );
+						
+						// Start animation
+						//================
+						if ( routine == Routine.NONE )
+						{
+							scheduleFrame( 0L );
+						}
 						routine = Routine.CONTRACTING;
 						
 						// Play sound
@@ -87,48 +97,56 @@ public class Springboard extends MapObject
 		}
 	}
 	
-	// updateFrame
+	// startTimers
 	//============
 	@Override
-	protected void updateFrame()
+	public void startTimers()
+	{
+		super.startTimers();
+		
+		if ( routine != Routine.NONE )
+		{
+			scheduleFrame( 0L );
+		}
+	}
+	
+	// onFrameTimer
+	//=============
+	@Override
+	protected void onFrameTimer()
 	{
 		// While contracting
 		//==================
 		if ( routine == Routine.CONTRACTING )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
+			currentFrame++;
+			
+			// Limit frames
+			//=============
+			if ( currentFrame > 7 )
 			{
-				// Update timer + frame
-				//=====================
-				frameTimer = System.currentTimeMillis() + 14L;
-				currentFrame++;
-				
-				// Limit frames
-				//=============
-				if ( currentFrame > 7 )
-				{
-					currentFrame = 7;
-					routine = Routine.EXPANDING;
-				}
+				currentFrame = 7;
+				routine = Routine.EXPANDING;
 			}
 		}
-
+		
 		// While expanding
 		//================
-		if ( routine == Routine.EXPANDING )
+		else if ( routine == Routine.EXPANDING )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
-			{
-				// Update timer + frame
-				//=====================
-				frameTimer = System.currentTimeMillis() + 14L;
-				currentFrame--;
-				
-				// Limit frames
-				//=============
-				if ( currentFrame < 0 ) currentFrame = 0;
-				if ( currentFrame < 1 ) routine = Routine.NONE;
-			}
+			currentFrame--;
+			
+			// Limit frames
+			//=============
+			if ( currentFrame < 0 ) currentFrame = 0;
+			if ( currentFrame < 1 ) routine = Routine.NONE;
+		}
+		
+		// Update timer
+		//=============
+		if ( routine != Routine.NONE )
+		{
+			scheduleFrame( 14L );
 		}
 	}
 }
\ No newline at end of file
@@ -58,13 +58,7 @@ public class Switch extends MapObject
 	{
 		// Switch related power states
 		//============================
-		for ( MapObject o : worldController.getMapObjects() )
-		{
-			if ( o.getPowerId() == this.getPowerId() )
-			{
-				o.setPowerOn( !o.isPowerOn() );
-			}
-		}
+		worldController.getPowerNetwork().toggle( powerId );
 		
 		// Popup message
 		//==============
@@ -85,104 +79,88 @@ public class Switch extends MapObject
 		return ( true );
 	}
 	
-	// updateFrame
+	// startTimers
 	//============
 	@Override
-	protected void updateFrame()
+	public void startTimers()
+	{
+		super.startTimers();
+		scheduleFrame( 0L );
+	}
+	
+	// onPowerChanged
+	//===============
+	@Override
+	protected void onPowerChanged()
+	{
+		// Set idle frame
+		//===============
+		if ( routine == Routine.NONE )
+		{
+			currentFrame = isPowerOn ? 4 : 0;
+		}
+	}
+	
+	// onFrameTimer
+	//=============
+	@Override
+	protected void onFrameTimer()
 	{
 		// Init routine
 		//=============
-		if ( routine == null )
+		if ( routine == null || routine == Routine.NONE )
 		{
 			routine = Routine.INCREASING;
 		}
 		
+		// Max / min frames
+		//=================
+		if ( isPowerOn == false )
+		{
+			maxFrame = 3;
+			minFrame = 0;
+		}
+		else
+		{
+			maxFrame = 7;
+			minFrame = 4;
+		}
+		
 		// Increase glow
 		//==============
 		if ( routine == Routine.INCREASING )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
+			currentFrame++;
+			scheduleFrame( 50L );
+			
+			// Limit frames
+			//=============
+			if ( currentFrame < minFrame ) currentFrame = minFrame;
+			if ( currentFrame > maxFrame )
 			{
-				// Update timer + frame
-				//=====================
-				frameTimer = System.currentTimeMillis() + 50L;
-				currentFrame++;
-				
-				// Max / min frames
-				//=================
-				if ( isPowerOn == false )
-				{
-					maxFrame = 3;
-					minFrame = 0;
-				}
-				else
-				{
-					maxFrame = 7;
-					minFrame = 4;
-				}
-				
-				// Limit frames
-				//=============
-				if ( currentFrame < minFrame ) currentFrame = minFrame;
-				if ( currentFrame > maxFrame )
-				{
-					currentFrame = maxFrame;
-					routine = Routine.DECREASING;
-				}
+				currentFrame = maxFrame;
+				routine = Routine.DECREASING;
 			}
 		}
-
+		
 		// Decrease glow
 		//==============
-		if ( routine == Routine.DECREASING )
+		else if ( routine == Routine.DECREASING )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
-			{
-				// Update timer + frame
-				//=====================
-				frameTimer = System.currentTimeMillis() + 50L;
-				currentFrame--;
-				
-				// Max / min frames
-				//=================
-				if ( isPowerOn == false )
-				{
-					maxFrame = 3;
-					minFrame = 0;
-				}
-				else
-				{
-					maxFrame = 7;
-					minFrame = 4;
-				}
-				
-				// Limit frames
-				//=============
-				if ( currentFrame > maxFrame ) currentFrame = maxFrame;
-				if ( currentFrame < minFrame )
-				{
-					currentFrame = minFrame;
-					frameTimer = System.currentTimeMillis() + 1000L;
-					routine = Routine.NONE;
-				}
-			}
-		}
-		
-		// Initiate glow animation
-		//========================
-		if ( routine == Routine.NONE )
-		{
-			// Set frames
-			//===========
-			if ( isPowerOn == false ) currentFrame = 0;
-			if ( isPowerOn == true )  currentFrame = 4;
+			currentFrame--;
+			scheduleFrame( 50L );
 			
-			// Init glow
-			//==========
-			if ( frameTimer < System.currentTimeMillis() )
+			// Limit frames
+			//=============
+			if ( currentFrame > maxFrame ) currentFrame = maxFrame;
+			if ( currentFrame < minFrame )
 			{
-				routine = Routine.INCREASING;
+				// Pause glow animation
+				//=====================
+				currentFrame = minFrame;
+				routine = Routine.NONE;
+				scheduleFrame( 1000L );
 			}
 		}
 	}
-}
\ No newline at end of file
+}
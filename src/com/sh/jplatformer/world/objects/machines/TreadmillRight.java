@@ -43,38 +43,32 @@ public class TreadmillRight extends MapObject
 		//====================
 		if ( isPowerOn == true )
 		{
-			for ( MapObject o : surroundingObjects )
+			for ( int i = 0; i < this.getRiderCount(); i++ )
 			{
-				// Check bounds
-				//=============
-				if ( o.isOnGround() == true && o.getBounds().y == bounds.y + bounds.height )
-				{
-					o.getAgility().addRepulsion( 3f, 0f, 7f );
-				}
+				this.getRider( i ).getAgility().addRepulsion( 3f, 0f, 7f );
 			}
 		}
 	}
 	
-	// updateFrame
+	// startTimers
 	//============
 	@Override
-	protected void updateFrame()
+	public void startTimers()
 	{
-		// When on
-		//========
+		super.startTimers();
+		onPowerChanged();
+	}
+	
+	// onPowerChanged
+	//===============
+	@Override
+	protected void onPowerChanged()
+	{
+		// Start animation
+		//================
 		if ( isPowerOn == true )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
-			{
-				// Update timer + frame
-				//=====================
-				frameTimer = System.currentTimeMillis() + 50L;
-				currentFrame++;
-				
-				// Limit frames
-				//=============
-				if ( currentFrame > 7 ) currentFrame = 2;
-			}
+			scheduleFrame( Math.max( 0L, frameTimer - worldController.getTime() ) );
 		}
 		
 		// When off
@@ -84,4 +78,24 @@ public class TreadmillRight extends MapObject
 			currentFrame = 1;
 		}
 	}
-}
\ No newline at end of file
+	
+	// onFrameTimer
+	//=============
+	@Override
+	protected void onFrameTimer()
+	{
+		// When on
+		//========
+		if ( isPowerOn == true )
+		{
+			// Update timer + frame
+			//=====================
+			scheduleFrame( 50L );
+			currentFrame++;
+			
+			// Limit frames
+			//=============
+			if ( currentFrame > 7 ) currentFrame = 2;
+		}
+	}
+}
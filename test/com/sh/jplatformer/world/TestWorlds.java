@@ -0,0 +1,81 @@
+package com.sh.jplatformer.world;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.sh.jplatformer.util.FileUtils;
+import com.sh.jplatformer.util.Randomizer;
+
+/**
+ * Loads the bundled worlds for the tests without a window, textures or audio, the same way as
+ * the headless simulation runner.
+ * @author Stefan Hsemann
+ */
+
+public class TestWorlds
+{
+	// init
+	//=====
+	/**
+	 * Loads the native libraries and sets up the file access of libGDX.
+	 */
+	public static void init()
+	{
+		GdxNativesLoader.load();
+		Gdx.files = new LwjglFiles();
+	}
+	
+	// list
+	//=====
+	/**
+	 * @return the world files in {@code WorldFile.FILE_DIR}, relative to the working directory and
+	 * sorted by name.
+	 */
+	public static File[] list()
+	{
+		File[] files = FileUtils.listFiles( WorldFile.FILE_DIR, WorldFile.FILE_EXTENSION );
+		
+		assertTrue( "No world files found in " + new File( WorldFile.FILE_DIR ).getAbsolutePath(), files != null && files.length > 0 );
+		Arrays.sort( files );
+		
+		return ( files );
+	}
+	
+	// load
+	//=====
+	/**
+	 * Loads a world file with a fixed random seed and starts the simulation.
+	 * @param file the world file.
+	 * @param isParallel {@code true} to enable the parallel update.
+	 * @return the {@code WorldController} of the world.
+	 */
+	public static WorldController load( File file, boolean isParallel )
+	{
+		WorldController worldController = new WorldController();
+		worldController.setParallel( isParallel );
+		Randomizer.setSeed( 0L );
+		
+		assertTrue( "Could not load " + file, WorldFile.loadWorld( file.getPath(), worldController ) );
+		worldController.setLive( true );
+		
+		return ( worldController );
+	}
+	
+	// update
+	//=======
+	/**
+	 * Advances a world by a number of simulation steps.
+	 */
+	public static void update( WorldController worldController, int steps )
+	{
+		for ( int i = 0; i < steps; i++ )
+		{
+			worldController.update( WorldController.STEP_TIME );
+		}
+	}
+}
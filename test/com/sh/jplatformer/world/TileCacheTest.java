@@ -0,0 +1,249 @@
+package com.sh.jplatformer.world;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.math.Rectangle;
+import com.sh.jplatformer.resources.World;
+import com.sh.jplatformer.world.map.Map;
+import com.sh.jplatformer.world.map.TileTable;
+
+/**
+ * Checks the vertices of the {@code TileCache} and the chunks it rebuilds after a brush stroke
+ * against the tiles of each bundled world. The cache is built with empty regions, so no textures
+ * are needed.
+ * @author Stefan Hsemann
+ */
+
+public class TileCacheTest
+{
+	// setUpClass
+	//===========
+	@BeforeClass
+	public static void setUpClass()
+	{
+		TestWorlds.init();
+	}
+	
+	// testVertices
+	//=============
+	/**
+	 * Builds all chunks and compares the number of vertices with the tiles and inner corners of
+	 * the map.
+	 */
+	@Test
+	public void testVertices()
+	{
+		for ( File file : TestWorlds.list() )
+		{
+			Map map = TestWorlds.load( file, false ).getMap();
+			TileCache tileCache = this.createTileCache( map );
+			this.validate( tileCache, map );
+			
+			assertEquals( file.getName(), this.getTileVertices( map ), tileCache.getVertexCount() );
+		}
+	}
+	
+	// testBrushStroke
+	//================
+	/**
+	 * Erases a brush stroke of 2 x 2 cells with {@code setCells}, right of a chunk border if
+	 * possible. No cell outside of the stroke and its border of one cell may change and exactly
+	 * the chunks with changed cells must be rebuilt. This includes the chunk left of the border,
+	 * which is only touched by the border. The tiles must match a full update of all tiles.
+	 */
+	@Test
+	public void testBrushStroke()
+	{
+		for ( File file : TestWorlds.list() )
+		{
+			WorldController worldController = TestWorlds.load( file, false );
+			Map map = worldController.getMap();
+			TileCache tileCache = this.createTileCache( map );
+			this.validate( tileCache, map );
+			
+			// Brush stroke
+			//=============
+			int[] stroke = this.findStroke( map );
+			int x1 = stroke[0];
+			int y1 = stroke[1];
+			int x2 = Math.min( x1 + 2, map.getColumns() );
+			int y2 = Math.min( y1 + 2, map.getRows() );
+			int[] before = this.getCells( map );
+			
+			worldController.setCells( new Rectangle( x1 * Map.CELL_SIZE, y1 * Map.CELL_SIZE, ( x2 - x1 ) * Map.CELL_SIZE, ( y2 - y1 ) * Map.CELL_SIZE ), Map.EMPTY );
+			int[] after = this.getCells( map );
+			
+			// Compare chunks
+			//===============
+			for ( int cr = 0; cr < map.getChunkRows(); cr++ )
+			{
+				for ( int cc = 0; cc < map.getChunkColumns(); cc++ )
+				{
+					// Changed cells
+					//==============
+					boolean isChanged = false;
+					
+					for ( int row = cr * Map.CHUNK_SIZE; row < Math.min( ( cr + 1 ) * Map.CHUNK_SIZE, map.getRows() ); row++ )
+					{
+						for ( int col = cc * Map.CHUNK_SIZE; col < Math.min( ( cc + 1 ) * Map.CHUNK_SIZE, map.getColumns() ); col++ )
+						{
+							if ( before[map.getIndex( col, row )] != after[map.getIndex( col, row )] )
+							{
+								isChanged = true;
+								
+								assertTrue( file.getName() + ": cell " + col + "," + row + " outside of the stroke at " + x1 + "," + y1 + " changed",
+								            col >= x1 - 1 && col <= x2 && row >= y1 - 1 && row <= y2 );
+							}
+						}
+					}
+					
+					// Rebuilt chunk
+					//==============
+					if ( map.isChunkEmpty( cc, cr ) )
+					{
+						continue;
+					}
+					int count = tileCache.getBuildCount();
+					tileCache.validate( map, cc, cr );
+					
+					assertEquals( file.getName() + ": chunk " + cc + "," + cr + " rebuilt", isChanged, tileCache.getBuildCount() > count );
+				}
+			}
+			assertEquals( file.getName(), this.getTileVertices( map ), tileCache.getVertexCount() );
+			
+			// Compare with full update
+			//=========================
+			worldController.updateTiles();
+			assertArrayEquals( file.getName(), after, this.getCells( map ) );
+		}
+	}
+	
+	// createTileCache
+	//================
+	/**
+	 * @return a {@code TileCache} with empty regions for all tile sets of the map.
+	 */
+	private TileCache createTileCache( Map map )
+	{
+		int tileSets = 1;
+		
+		for ( int row = 0; row < map.getRows(); row++ )
+		{
+			for ( int col = 0; col < map.getColumns(); col++ )
+			{
+				tileSets = Math.max( tileSets, map.getTileSetId( col, row ) + 1 );
+			}
+		}
+		Sprite[][] tiles = new Sprite[tileSets][World.TILES_PER_SET];
+		
+		for ( int i = 0; i < tileSets; i++ )
+		{
+			for ( int j = 0; j < World.TILES_PER_SET; j++ )
+			{
+				tiles[i][j] = new Sprite();
+			}
+		}
+		return ( new TileCache( tiles ) );
+	}
+	
+	// validate
+	//=========
+	private void validate( TileCache tileCache, Map map )
+	{
+		for ( int cr = 0; cr < map.getChunkRows(); cr++ )
+		{
+			for ( int cc = 0; cc < map.getChunkColumns(); cc++ )
+			{
+				if ( map.isChunkEmpty( cc, cr ) == false )
+				{
+					tileCache.validate( map, cc, cr );
+				}
+			}
+		}
+	}
+	
+	// getTileVertices
+	//================
+	/**
+	 * @return the number of vertices of all tiles and inner corners, four per sprite.
+	 */
+	private int getTileVertices( Map map )
+	{
+		int corners = TileTable.CORNER_TOP_LEFT | TileTable.CORNER_TOP_RIGHT | TileTable.CORNER_BOTTOM_LEFT | TileTable.CORNER_BOTTOM_RIGHT;
+		int count   = 0;
+		
+		for ( int row = 0; row < map.getRows(); row++ )
+		{
+			for ( int col = 0; col < map.getColumns(); col++ )
+			{
+				int index = map.getIndex( col, row );
+				
+				if ( map.getTileSetId( index ) >= 0 )
+				{
+					count += 4 + 4 * Integer.bitCount( map.getTileCorners( index ) & corners );
+				}
+			}
+		}
+		return ( count );
+	}
+	
+	// findStroke
+	//===========
+	/**
+	 * @return the first cell of a tile right of a chunk border with a tile left of the border, or
+	 * the first cell with a tile if there is none.
+	 */
+	private int[] findStroke( Map map )
+	{
+		for ( int col = Map.CHUNK_SIZE; col < map.getColumns(); col += Map.CHUNK_SIZE )
+		{
+			for ( int row = 0; row < map.getRows(); row++ )
+			{
+				if ( map.getTileSetId( col - 1, row ) >= 0 && map.getTileSetId( col, row ) >= 0 )
+				{
+					return ( new int[] { col, row } );
+				}
+			}
+		}
+		for ( int row = 0; row < map.getRows(); row++ )
+		{
+			for ( int col = 0; col < map.getColumns(); col++ )
+			{
+				if ( map.getTileSetId( col, row ) >= 0 )
+				{
+					return ( new int[] { col, row } );
+				}
+			}
+		}
+		return ( new int[] { 0, 0 } );
+	}
+	
+	// getCells
+	//=========
+	/**
+	 * @return the tile set ID, tile ID and inner corners of each cell packed into one value, by
+	 * cell index.
+	 */
+	private int[] getCells( Map map )
+	{
+		int[] cells = new int[map.getChunkColumns() * map.getChunkRows() * Map.CHUNK_SIZE * Map.CHUNK_SIZE];
+		
+		for ( int row = 0; row < map.getRows(); row++ )
+		{
+			for ( int col = 0; col < map.getColumns(); col++ )
+			{
+				int index = map.getIndex( col, row );
+				cells[index] = ( map.getTileSetId( index ) + 1 ) | ( map.getTileId( index ) << 8 ) | ( map.getTileCorners( index ) << 16 );
+			}
+		}
+		return ( cells );
+	}
+}
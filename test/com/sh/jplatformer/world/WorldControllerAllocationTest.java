@@ -0,0 +1,140 @@
+package com.sh.jplatformer.world;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sh.jplatformer.world.map.MapObjectPool;
+
+/**
+ * Checks that a warmed up world does not allocate memory in its simulation steps. Each bundled
+ * world is simulated for a number of steps, so its lists reach their working size, and then the
+ * allocations of each of the same number of further steps are measured on the current thread.
+ * Allocations of the parallel workers are not included. A step that misses an object pool is not
+ * counted, because the new object stays in the pool and the pool only grows until it holds the
+ * largest number of such objects alive at the same time.
+ * <p>
+ * The optimizing compiler of the virtual machine allocates on the current thread when it
+ * deoptimizes a method, so the test requires {@code -XX:TieredStopAtLevel=1}. The surefire
+ * configuration of the build passes this flag.
+ * @author Stefan Hsemann
+ */
+
+public class WorldControllerAllocationTest
+{
+	// Constants
+	//==========
+	private static final int STEPS = 3600;
+	
+	// Fields
+	//=======
+	private static com.sun.management.ThreadMXBean threadBean;
+	
+	// setUpClass
+	//===========
+	@BeforeClass
+	public static void setUpClass()
+	{
+		// Virtual machine
+		//================
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		
+		assertTrue( "The virtual machine does not count the allocations of a thread", bean instanceof com.sun.management.ThreadMXBean );
+		threadBean = (com.sun.management.ThreadMXBean) bean;
+		
+		assertTrue( "The virtual machine does not count the allocations of a thread", threadBean.isThreadAllocatedMemorySupported() );
+		threadBean.setThreadAllocatedMemoryEnabled( true );
+		
+		assertTrue( "The test has to run with -XX:TieredStopAtLevel=1",
+		            ManagementFactory.getRuntimeMXBean().getInputArguments().contains( "-XX:TieredStopAtLevel=1" ) );
+		
+		// Headless environment
+		//=====================
+		TestWorlds.init();
+	}
+	
+	// testSequentialSteps
+	//====================
+	@Test
+	public void testSequentialSteps()
+	{
+		for ( File file : TestWorlds.list() )
+		{
+			this.checkAllocations( file, false );
+		}
+	}
+	
+	// testParallelSteps
+	//==================
+	@Test
+	public void testParallelSteps()
+	{
+		for ( File file : TestWorlds.list() )
+		{
+			this.checkAllocations( file, true );
+		}
+	}
+	
+	// checkAllocations
+	//=================
+	/**
+	 * Warms up a world and fails if any of the following steps allocated.
+	 */
+	private void checkAllocations( File file, boolean isParallel )
+	{
+		// Warm up
+		//========
+		WorldController worldController = TestWorlds.load( file, isParallel );
+		TestWorlds.update( worldController, STEPS );
+		
+		// Measure steps
+		//==============
+		long overhead = -this.getAllocatedBytes() + this.getAllocatedBytes();
+		int allocatingSteps = 0;
+		long bytes = 0L;
+		
+		for ( int i = 0; i < STEPS; i++ )
+		{
+			long misses = this.getPoolMisses( worldController );
+			long startBytes = this.getAllocatedBytes();
+			worldController.update( WorldController.STEP_TIME );
+			long stepBytes = this.getAllocatedBytes() - startBytes - overhead;
+			
+			if ( stepBytes > 0L && this.getPoolMisses( worldController ) == misses )
+			{
+				allocatingSteps++;
+				bytes += stepBytes;
+			}
+		}
+		assertTrue( file.getName() + ( isParallel ? " (parallel)" : "" ) + ": " + allocatingSteps + " of " + STEPS + " steps allocated " + bytes + " bytes",
+		            allocatingSteps == 0 );
+	}
+	
+	// getPoolMisses
+	//==============
+	private long getPoolMisses( WorldController worldController )
+	{
+		long misses = 0L;
+		
+		for ( MapObjectPool<?> pool : worldController.getMapObjectPools().values() )
+		{
+			misses += pool.getMisses();
+		}
+		return ( misses );
+	}
+	
+	// getAllocatedBytes
+	//==================
+	/**
+	 * @return the number of bytes allocated by the current thread so far.
+	 */
+	private long getAllocatedBytes()
+	{
+		return ( threadBean.getThreadAllocatedBytes( Thread.currentThread().getId() ) );
+	}
+}
@@ -0,0 +1,75 @@
+package com.sh.jplatformer.world.map.collision;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.sh.jplatformer.world.TestWorlds;
+import com.sh.jplatformer.world.WorldController;
+import com.sh.jplatformer.world.map.Map;
+import com.sh.jplatformer.world.map.MapObject;
+import com.sh.jplatformer.world.map.collision.Collision.CollisionType;
+import com.sh.jplatformer.world.objects.machines.Box;
+import com.sh.jplatformer.world.objects.machines.SpikesUp;
+
+/**
+ * Checks the swept movement of the {@code CollisionHelper} against blocking objects.
+ * @author Stefan Hsemann
+ */
+
+public class CollisionHelperTest
+{
+	// setUpClass
+	//===========
+	@BeforeClass
+	public static void setUpClass()
+	{
+		TestWorlds.init();
+	}
+	
+	// testLongFallOntoObject
+	//=======================
+	/**
+	 * Drops a box onto spikes from far above in a single movement that would end below the
+	 * spikes. The spikes are outside of the scan area of the box, which has not been scanned at
+	 * all, so only the swept area can find them. The box must land on top of the spikes.
+	 */
+	@Test
+	public void testLongFallOntoObject()
+	{
+		// Free area
+		//==========
+		WorldController worldController = TestWorlds.load( TestWorlds.list()[0], false );
+		Map map = worldController.getMap();
+		Rectangle area = new Rectangle( Map.CELL_SIZE * 2f, map.getMapBounds().height - Map.CELL_SIZE * 12f, Map.CELL_SIZE * 4f, Map.CELL_SIZE * 10f );
+		
+		assertTrue( "The test area is below the water", area.y > map.getWaterHeight() );
+		worldController.setCells( area, Map.EMPTY );
+		assertTrue( "The test area contains objects", worldController.getMapObjectGrid().query( area, new ArrayList<MapObject>() ).isEmpty() );
+		
+		// Objects
+		//========
+		SpikesUp spikes = new SpikesUp( worldController );
+		Box box = new Box( worldController );
+		worldController.addMapObject( spikes, area.x, area.y, false );
+		worldController.addMapObject( box, area.x, area.y + area.height - box.getBounds().height, false );
+		
+		// Fall through spikes
+		//====================
+		float top  = spikes.getBounds().y + spikes.getBounds().height;
+		float fall = box.getBounds().y - spikes.getBounds().y + Map.CELL_SIZE;
+		
+		assertTrue( "The spikes are within the scan area of the box", box.getScanArea().overlaps( spikes.getBounds() ) == false );
+		CollisionHelper.move( box, 0f, -fall );
+		
+		assertEquals( top, box.getBounds().y, 0f );
+		assertEquals( CollisionType.BOTTOM, box.getLastCollision().y );
+		assertSame( spikes, box.getCarrier() );
+	}
+}